@@ -20,6 +20,7 @@ import static tech.pegasys.eth2signer.dsl.utils.WaitUtils.waitFor;
 import tech.pegasys.eth2signer.dsl.signer.runner.Eth2SignerRunner;
 import tech.pegasys.eth2signer.dsl.tls.ClientTlsConfig;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import io.restassured.specification.RequestSpecification;
@@ -36,6 +37,7 @@ public class Signer {
   private final Vertx vertx;
   private final String urlFormatting;
   private final Optional<ClientTlsConfig> clientTlsConfig;
+  private final Duration startupTimeout;
 
   public Signer(final SignerConfiguration signerConfig, final ClientTlsConfig clientTlsConfig) {
     this.runner = Eth2SignerRunner.createRunner(signerConfig);
@@ -43,6 +45,7 @@ public class Signer {
     this.urlFormatting =
         signerConfig.getServerTlsOptions().isPresent() ? "https://%s:%s" : "http://%s:%s";
     this.clientTlsConfig = Optional.ofNullable(clientTlsConfig);
+    this.startupTimeout = signerConfig.getStartupTimeout();
     vertx = Vertx.vertx();
   }
 
@@ -73,7 +76,8 @@ public class Signer {
 
   public void awaitStartupCompletion() {
     LOG.info("Waiting for Signer to become responsive...");
-    final int secondsToWait = Boolean.getBoolean("debugSubProcess") ? 3600 : 30;
+    final int secondsToWait =
+        Boolean.getBoolean("debugSubProcess") ? 3600 : (int) startupTimeout.toSeconds();
     waitFor(secondsToWait, () -> assertThat(getUpcheckStatus()).isEqualTo(200));
     LOG.info("Signer is now responsive");
   }
@@ -16,6 +16,7 @@ import tech.pegasys.eth2signer.core.config.TlsOptions;
 import tech.pegasys.eth2signer.dsl.tls.TlsCertificateDefinition;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +33,9 @@ public class SignerConfiguration {
   private Optional<TlsOptions> serverTlsOptions;
   private Optional<TlsCertificateDefinition> overriddenCaTrustStore;
   private final int metricsPort;
+  private final Optional<Long> keyCacheLimit;
+  private final String loggingLevel;
+  private final Duration startupTimeout;
 
   public SignerConfiguration(
       final String hostname,
@@ -42,7 +46,10 @@ public class SignerConfiguration {
       final List<String> metricsHostAllowList,
       final boolean metricsEnabled,
       final Optional<TlsOptions> serverTlsOptions,
-      final Optional<TlsCertificateDefinition> overriddenCaTrustStore) {
+      final Optional<TlsCertificateDefinition> overriddenCaTrustStore,
+      final Optional<Long> keyCacheLimit,
+      final String loggingLevel,
+      final Duration startupTimeout) {
     this.hostname = hostname;
     this.httpRpcPort = httpRpcPort;
     this.httpHostAllowList = httpHostAllowList;
@@ -52,6 +59,9 @@ public class SignerConfiguration {
     this.metricsEnabled = metricsEnabled;
     this.serverTlsOptions = serverTlsOptions;
     this.overriddenCaTrustStore = overriddenCaTrustStore;
+    this.keyCacheLimit = keyCacheLimit;
+    this.loggingLevel = loggingLevel;
+    this.startupTimeout = startupTimeout;
   }
 
   public String hostname() {
@@ -97,4 +107,16 @@ public class SignerConfiguration {
   public boolean isMetricsDynamicPortAllocation() {
     return metricsPort == UNASSIGNED_PORT;
   }
+
+  public Optional<Long> getKeyCacheLimit() {
+    return keyCacheLimit;
+  }
+
+  public String getLoggingLevel() {
+    return loggingLevel;
+  }
+
+  public Duration getStartupTimeout() {
+    return startupTimeout;
+  }
 }
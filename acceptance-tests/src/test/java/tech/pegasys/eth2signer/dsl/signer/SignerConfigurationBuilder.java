@@ -18,6 +18,7 @@ import tech.pegasys.eth2signer.core.config.TlsOptions;
 import tech.pegasys.eth2signer.dsl.tls.TlsCertificateDefinition;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +34,9 @@ public class SignerConfigurationBuilder {
   private List<String> httpHostAllowList = emptyList();
   private TlsOptions serverTlsOptions;
   private TlsCertificateDefinition overriddenCaTrustStore;
+  private Long keyCacheLimit;
+  private String loggingLevel = "TRACE";
+  private Duration startupTimeout = Duration.ofSeconds(30);
 
   public SignerConfigurationBuilder withHttpPort(final int port) {
     httpRpcPort = port;
@@ -69,6 +73,21 @@ public class SignerConfigurationBuilder {
     return this;
   }
 
+  public SignerConfigurationBuilder withKeyCacheLimit(final long keyCacheLimit) {
+    this.keyCacheLimit = keyCacheLimit;
+    return this;
+  }
+
+  public SignerConfigurationBuilder withLoggingLevel(final String loggingLevel) {
+    this.loggingLevel = loggingLevel;
+    return this;
+  }
+
+  public SignerConfigurationBuilder withStartupTimeout(final Duration startupTimeout) {
+    this.startupTimeout = startupTimeout;
+    return this;
+  }
+
   public void withOverriddenCA(final TlsCertificateDefinition keystore) {
     this.overriddenCaTrustStore = keystore;
   }
@@ -83,6 +102,9 @@ public class SignerConfigurationBuilder {
         metricsHostAllowList,
         metricsEnabled,
         Optional.ofNullable(serverTlsOptions),
-        Optional.ofNullable(overriddenCaTrustStore));
+        Optional.ofNullable(overriddenCaTrustStore),
+        Optional.ofNullable(keyCacheLimit),
+        loggingLevel,
+        startupTimeout);
   }
 }
@@ -92,11 +92,9 @@ public abstract class Eth2SignerRunner {
   public abstract boolean isRunning();
 
   private List<String> createCmdLineParams() {
-    final String loggingLevel = "TRACE";
-
     final List<String> params = new ArrayList<>();
     params.add("--logging");
-    params.add(loggingLevel);
+    params.add(signerConfig.getLoggingLevel());
     params.add("--http-listen-host");
     params.add(signerConfig.hostname());
     params.add("--http-listen-port");
@@ -107,6 +105,10 @@ public abstract class Eth2SignerRunner {
     }
     params.add("--key-store-path");
     params.add(signerConfig.getKeyStorePath().toString());
+    if (signerConfig.getKeyCacheLimit().isPresent()) {
+      params.add("--key-cache-limit");
+      params.add(String.valueOf(signerConfig.getKeyCacheLimit().get()));
+    }
     if (signerConfig.isMetricsEnabled()) {
       params.add("--metrics-enabled");
       params.add("--metrics-port");
@@ -170,7 +172,8 @@ public abstract class Eth2SignerRunner {
   }
 
   private void awaitPortsFile(final Path dataDir) {
-    final int secondsToWait = Boolean.getBoolean("debugSubProcess") ? 3600 : 30;
+    final long secondsToWait =
+        Boolean.getBoolean("debugSubProcess") ? 3600 : signerConfig.getStartupTimeout().toSeconds();
     final File file = new File(dataDir.toFile(), PORTS_FILENAME);
     Awaitility.waitAtMost(secondsToWait, TimeUnit.SECONDS)
         .until(
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.dsl.workload;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Generates the signing requests a validator client makes for a set of validators over a number of
+ * slots. Each validator attests once per epoch, in a slot chosen by its index, so every slot has a
+ * burst of attestations a third of the way in. A share of each slot's attesters also aggregate two
+ * thirds of the way in, and a block proposal falls to one of the validators with the probability
+ * of their share of the network. Requests within a burst are spread by the validator clients'
+ * differing clocks and network delays.
+ */
+public class DutyScheduleWorkload {
+
+  private static final int SLOTS_PER_EPOCH = 32;
+
+  private final List<String> publicKeys;
+  private Duration slotDuration = Duration.ofSeconds(12);
+  private Duration burstSpread = Duration.ofMillis(200);
+  private double aggregatorFraction = 1.0 / 8;
+  private int networkValidatorCount = 100_000;
+  private long seed = 0;
+
+  public DutyScheduleWorkload(final List<String> publicKeys) {
+    this.publicKeys = publicKeys;
+  }
+
+  public DutyScheduleWorkload withSlotDuration(final Duration slotDuration) {
+    this.slotDuration = slotDuration;
+    return this;
+  }
+
+  public DutyScheduleWorkload withBurstSpread(final Duration burstSpread) {
+    this.burstSpread = burstSpread;
+    return this;
+  }
+
+  public DutyScheduleWorkload withAggregatorFraction(final double aggregatorFraction) {
+    this.aggregatorFraction = aggregatorFraction;
+    return this;
+  }
+
+  public DutyScheduleWorkload withNetworkValidatorCount(final int networkValidatorCount) {
+    this.networkValidatorCount = networkValidatorCount;
+    return this;
+  }
+
+  public DutyScheduleWorkload withSeed(final long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  /** Returns the duties of the given number of slots, ordered by their offset. */
+  public List<SigningDuty> generate(final int slots) {
+    final Random random = new Random(seed);
+    final double proposalProbability =
+        Math.min(1.0, publicKeys.size() / (double) networkValidatorCount);
+    final List<SigningDuty> duties = new ArrayList<>();
+
+    for (int slot = 0; slot < slots; slot++) {
+      if (random.nextDouble() < proposalProbability) {
+        final String proposer = publicKeys.get(random.nextInt(publicKeys.size()));
+        duties.add(duty(random, slot, DutyType.BLOCK_PROPOSAL, proposer));
+      }
+
+      final int firstAttester = slot % SLOTS_PER_EPOCH;
+      for (int i = firstAttester; i < publicKeys.size(); i += SLOTS_PER_EPOCH) {
+        final String attester = publicKeys.get(i);
+        duties.add(duty(random, slot, DutyType.ATTESTATION, attester));
+        if (random.nextDouble() < aggregatorFraction) {
+          duties.add(duty(random, slot, DutyType.AGGREGATION, attester));
+        }
+      }
+    }
+
+    duties.sort(Comparator.comparingLong(SigningDuty::getOffsetMillis));
+    return duties;
+  }
+
+  private SigningDuty duty(
+      final Random random, final int slot, final DutyType type, final String publicKey) {
+    final long slotStart = slot * slotDuration.toMillis();
+    final long dutyStart = slotStart + (long) (type.getSlotFraction() * slotDuration.toMillis());
+    final long jitter = burstSpread.isZero() ? 0 : random.nextInt((int) burstSpread.toMillis());
+    final byte[] signingRoot = new byte[32];
+    random.nextBytes(signingRoot);
+    return new SigningDuty(dutyStart + jitter, type, publicKey, Bytes.wrap(signingRoot));
+  }
+}
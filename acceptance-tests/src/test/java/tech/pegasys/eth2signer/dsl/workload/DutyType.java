@@ -0,0 +1,30 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.dsl.workload;
+
+/** The validator duties which need a signature, and when in a slot they become due. */
+public enum DutyType {
+  BLOCK_PROPOSAL(0),
+  ATTESTATION(1.0 / 3),
+  AGGREGATION(2.0 / 3);
+
+  private final double slotFraction;
+
+  DutyType(final double slotFraction) {
+    this.slotFraction = slotFraction;
+  }
+
+  public double getSlotFraction() {
+    return slotFraction;
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.dsl.workload;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Reads and writes a recorded sequence of signing requests, one per line as {@code
+ * offsetMillis,dutyType,publicKey,data}. Blank lines and lines starting with {@code #} are ignored.
+ */
+public class RequestTrace {
+
+  private static final String COMMENT = "#";
+  private static final String SEPARATOR = ",";
+
+  public static List<SigningDuty> read(final Path traceFile) {
+    try (final Stream<String> lines = Files.lines(traceFile)) {
+      return lines
+          .map(String::trim)
+          .filter(line -> !line.isEmpty() && !line.startsWith(COMMENT))
+          .map(RequestTrace::parse)
+          .sorted(Comparator.comparingLong(SigningDuty::getOffsetMillis))
+          .collect(Collectors.toList());
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to read request trace " + traceFile, e);
+    }
+  }
+
+  public static void write(final Path traceFile, final List<SigningDuty> duties) {
+    try (final BufferedWriter writer = Files.newBufferedWriter(traceFile)) {
+      writer.write(COMMENT + " offsetMillis,dutyType,publicKey,data");
+      writer.newLine();
+      for (final SigningDuty duty : duties) {
+        writer.write(
+            String.join(
+                SEPARATOR,
+                String.valueOf(duty.getOffsetMillis()),
+                duty.getType().name(),
+                duty.getPublicKey(),
+                duty.getData().toHexString()));
+        writer.newLine();
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to write request trace " + traceFile, e);
+    }
+  }
+
+  private static SigningDuty parse(final String line) {
+    final String[] fields = line.split(SEPARATOR);
+    if (fields.length != 4) {
+      throw new IllegalArgumentException("Invalid request trace line: " + line);
+    }
+    return new SigningDuty(
+        Long.parseLong(fields[0]),
+        DutyType.valueOf(fields[1]),
+        fields[2],
+        Bytes.fromHexString(fields[3]));
+  }
+}
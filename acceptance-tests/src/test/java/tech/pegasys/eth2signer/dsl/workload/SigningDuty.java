@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.dsl.workload;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/** A signing request of a workload, sent at an offset from the start of the workload. */
+public class SigningDuty {
+
+  private final long offsetMillis;
+  private final DutyType type;
+  private final String publicKey;
+  private final Bytes data;
+
+  public SigningDuty(
+      final long offsetMillis, final DutyType type, final String publicKey, final Bytes data) {
+    this.offsetMillis = offsetMillis;
+    this.type = type;
+    this.publicKey = publicKey;
+    this.data = data;
+  }
+
+  public long getOffsetMillis() {
+    return offsetMillis;
+  }
+
+  public DutyType getType() {
+    return type;
+  }
+
+  public String getPublicKey() {
+    return publicKey;
+  }
+
+  public Bytes getData() {
+    return data;
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.dsl.workload;
+
+import tech.pegasys.eth2signer.core.bench.BenchResult;
+import tech.pegasys.eth2signer.core.bench.LoadGenerator;
+import tech.pegasys.eth2signer.core.bench.LoadRequest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Sends each duty to the signer when it falls due, regardless of how many requests are still
+ * outstanding, and measures its latency from that time. Results are labelled by duty type, see
+ * {@link BenchResult#forLabel}.
+ */
+public class WorkloadReplayer {
+
+  private static final String SIGN_PATH = "/signer/sign/";
+
+  private final String signerUrl;
+  private final int maxConnections;
+
+  public WorkloadReplayer(final String signerUrl, final int maxConnections) {
+    this.signerUrl = signerUrl;
+    this.maxConnections = maxConnections;
+  }
+
+  public BenchResult replay(final List<SigningDuty> duties)
+      throws InterruptedException, ExecutionException {
+    final URI signerUri = URI.create(signerUrl);
+    final Iterator<SigningDuty> remaining = duties.iterator();
+    return new LoadGenerator(signerUri.getHost(), signerUri.getPort(), maxConnections, true)
+        .run(
+            () ->
+                remaining.hasNext() ? Optional.of(toRequest(remaining.next())) : Optional.empty());
+  }
+
+  private static LoadRequest toRequest(final SigningDuty duty) {
+    final JsonObject body = new JsonObject().put("data", duty.getData().toHexString());
+    return new LoadRequest(
+        Duration.ofMillis(duty.getOffsetMillis()).toNanos(),
+        duty.getType().name(),
+        HttpMethod.POST,
+        SIGN_PATH + duty.getPublicKey(),
+        body.toBuffer(),
+        200);
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.tests;
+
+import static io.restassured.RestAssured.given;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.text.IsEqualIgnoringCase.equalToIgnoringCase;
+
+import tech.pegasys.eth2signer.dsl.signer.SignerConfigurationBuilder;
+import tech.pegasys.eth2signer.dsl.utils.MetadataFileHelpers;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.bls.BLSSignature;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.restassured.http.ContentType;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CommitteeSignAcceptanceTest extends AcceptanceTestBase {
+
+  private static final Bytes DATA = Bytes.wrap("Hello, world!".getBytes(UTF_8));
+  private static final String SIGN_COMMITTEE_ENDPOINT = "/signer/committee/sign";
+  private static final String SIGN_AND_AGGREGATE_ENDPOINT = "/signer/committee/aggregate";
+  private static final String AGGREGATE_ENDPOINT = "/signer/aggregate";
+  private static final int COMMITTEE_SIZE = 16;
+
+  private static final MetadataFileHelpers metadataFileHelpers = new MetadataFileHelpers();
+
+  @TempDir Path testDirectory;
+
+  @Test
+  public void signaturesAreReturnedInOrderOfPublicKeys() {
+    final List<BLSKeyPair> keyPairs = createKeyPairs();
+    final BLSKeyPair unknownKeyPair = BLSKeyPair.random(COMMITTEE_SIZE);
+    startSigner(new SignerConfigurationBuilder().withKeyStoreDirectory(testDirectory).build());
+
+    final List<BLSKeyPair> committee = new ArrayList<>(keyPairs);
+    committee.add(COMMITTEE_SIZE / 2, unknownKeyPair);
+    final List<String> signatures =
+        given()
+            .baseUri(signer.getUrl())
+            .filter(getOpenApiValidationFilter())
+            .contentType(ContentType.JSON)
+            .body(committeeRequest(committee))
+            .post(SIGN_COMMITTEE_ENDPOINT)
+            .then()
+            .statusCode(200)
+            .contentType(ContentType.JSON)
+            .extract()
+            .jsonPath()
+            .getList("", String.class);
+
+    assertThat(signatures).hasSize(committee.size());
+    for (int i = 0; i < committee.size(); i++) {
+      final BLSKeyPair keyPair = committee.get(i);
+      if (keyPair == unknownKeyPair) {
+        assertThat(signatures.get(i)).isNull();
+      } else {
+        assertThat(signatures.get(i))
+            .isEqualToIgnoringCase(BLS.sign(keyPair.getSecretKey(), DATA).toString());
+      }
+    }
+  }
+
+  @Test
+  public void committeeSignaturesAreAggregated() {
+    final List<BLSKeyPair> keyPairs = createKeyPairs();
+    startSigner(new SignerConfigurationBuilder().withKeyStoreDirectory(testDirectory).build());
+
+    given()
+        .baseUri(signer.getUrl())
+        .filter(getOpenApiValidationFilter())
+        .contentType(ContentType.JSON)
+        .body(committeeRequest(keyPairs))
+        .post(SIGN_AND_AGGREGATE_ENDPOINT)
+        .then()
+        .statusCode(200)
+        .contentType(ContentType.TEXT)
+        .body(equalToIgnoringCase(expectedAggregate(keyPairs).toString()));
+  }
+
+  @Test
+  public void receiveA404IfAnyCommitteeKeyDoesNotExist() {
+    final List<BLSKeyPair> committee = new ArrayList<>(createKeyPairs());
+    committee.add(BLSKeyPair.random(COMMITTEE_SIZE));
+    startSigner(new SignerConfigurationBuilder().withKeyStoreDirectory(testDirectory).build());
+
+    given()
+        .baseUri(signer.getUrl())
+        .filter(getOpenApiValidationFilter())
+        .contentType(ContentType.JSON)
+        .body(committeeRequest(committee))
+        .post(SIGN_AND_AGGREGATE_ENDPOINT)
+        .then()
+        .statusCode(404);
+  }
+
+  @Test
+  public void suppliedSignaturesAreAggregated() {
+    final List<BLSKeyPair> keyPairs =
+        IntStream.range(0, COMMITTEE_SIZE)
+            .mapToObj(BLSKeyPair::random)
+            .collect(Collectors.toList());
+    final JsonArray signatures = new JsonArray();
+    keyPairs.forEach(keyPair -> signatures.add(BLS.sign(keyPair.getSecretKey(), DATA).toString()));
+    startSigner(new SignerConfigurationBuilder().build());
+
+    given()
+        .baseUri(signer.getUrl())
+        .filter(getOpenApiValidationFilter())
+        .contentType(ContentType.JSON)
+        .body(new JsonObject().put("signatures", signatures).toString())
+        .post(AGGREGATE_ENDPOINT)
+        .then()
+        .statusCode(200)
+        .contentType(ContentType.TEXT)
+        .body(equalToIgnoringCase(expectedAggregate(keyPairs).toString()));
+  }
+
+  @Test
+  public void receiveA400IfSuppliedSignatureIsInvalid() {
+    startSigner(new SignerConfigurationBuilder().build());
+
+    given()
+        .baseUri(signer.getUrl())
+        .filter(getOpenApiValidationFilter())
+        .contentType(ContentType.JSON)
+        .body(new JsonObject().put("signatures", new JsonArray().add("0x1234")).toString())
+        .post(AGGREGATE_ENDPOINT)
+        .then()
+        .statusCode(400);
+  }
+
+  @Test
+  public void receiveA400IfNoPublicKeysAreSupplied() {
+    startSigner(new SignerConfigurationBuilder().build());
+
+    // without client-side openapi validator
+    given()
+        .baseUri(signer.getUrl())
+        .contentType(ContentType.JSON)
+        .body(committeeRequest(List.of()))
+        .post(SIGN_COMMITTEE_ENDPOINT)
+        .then()
+        .statusCode(400);
+  }
+
+  private String committeeRequest(final List<BLSKeyPair> keyPairs) {
+    final JsonArray publicKeys = new JsonArray();
+    keyPairs.forEach(keyPair -> publicKeys.add(keyPair.getPublicKey().toString()));
+    return new JsonObject()
+        .put("data", DATA.toHexString())
+        .put("publicKeys", publicKeys)
+        .toString();
+  }
+
+  private List<BLSKeyPair> createKeyPairs() {
+    return IntStream.range(0, COMMITTEE_SIZE)
+        .mapToObj(BLSKeyPair::random)
+        .peek(this::createKeyFile)
+        .collect(Collectors.toList());
+  }
+
+  private BLSSignature expectedAggregate(final List<BLSKeyPair> keyPairs) {
+    return BLS.aggregate(
+        keyPairs.stream()
+            .map(keyPair -> BLS.sign(keyPair.getSecretKey(), DATA))
+            .collect(Collectors.toList()));
+  }
+
+  private void createKeyFile(final BLSKeyPair keyPair) {
+    final String configFilename = keyPair.getPublicKey().toString().substring(2);
+    metadataFileHelpers.createUnencryptedYamlFileAt(
+        testDirectory.resolve(configFilename + ".yaml"),
+        keyPair.getSecretKey().getSecretKey().toBytes().toHexString());
+  }
+}
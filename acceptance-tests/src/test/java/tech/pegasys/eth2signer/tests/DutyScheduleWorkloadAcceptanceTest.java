@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.eth2signer.core.bench.BenchResult;
+import tech.pegasys.eth2signer.core.bench.BenchResultPrinter;
+import tech.pegasys.eth2signer.dsl.signer.SignerConfigurationBuilder;
+import tech.pegasys.eth2signer.dsl.utils.MetadataFileHelpers;
+import tech.pegasys.eth2signer.dsl.workload.DutyScheduleWorkload;
+import tech.pegasys.eth2signer.dsl.workload.DutyType;
+import tech.pegasys.eth2signer.dsl.workload.RequestTrace;
+import tech.pegasys.eth2signer.dsl.workload.SigningDuty;
+import tech.pegasys.eth2signer.dsl.workload.WorkloadReplayer;
+import tech.pegasys.teku.bls.BLSKeyPair;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DutyScheduleWorkloadAcceptanceTest extends AcceptanceTestBase {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int VALIDATOR_COUNT = 256;
+  private static final Duration ATTESTATION_BUDGET = Duration.ofMillis(500);
+
+  private final MetadataFileHelpers metadataFileHelpers = new MetadataFileHelpers();
+  private List<String> publicKeys;
+
+  @TempDir Path testDirectory;
+
+  @BeforeEach
+  void setup() {
+    publicKeys =
+        IntStream.range(0, VALIDATOR_COUNT)
+            .mapToObj(BLSKeyPair::random)
+            .map(this::createKeyFile)
+            .collect(Collectors.toList());
+
+    final SignerConfigurationBuilder builder = new SignerConfigurationBuilder();
+    builder.withKeyStoreDirectory(testDirectory);
+    startSigner(builder.build());
+  }
+
+  @Test
+  void attestationsAreSignedWithinBudgetUnderSlotAlignedBursts() throws Exception {
+    final List<SigningDuty> duties =
+        new DutyScheduleWorkload(publicKeys).withSlotDuration(Duration.ofSeconds(2)).generate(4);
+
+    final BenchResult result = new WorkloadReplayer(signer.getUrl(), 32).replay(duties);
+    LOG.info("Duty schedule workload results:\n{}", describe(result));
+
+    final BenchResult attestations = result.forLabel(DutyType.ATTESTATION.name());
+    assertThat(attestations.getSuccessCount() + attestations.getErrorCount())
+        .isEqualTo(4 * VALIDATOR_COUNT / 32);
+    assertThat(attestations.getFractionWithin(ATTESTATION_BUDGET)).isGreaterThanOrEqualTo(0.99);
+  }
+
+  @Test
+  void recordedTraceIsReplayed() throws Exception {
+    final List<SigningDuty> duties =
+        new DutyScheduleWorkload(publicKeys)
+            .withSlotDuration(Duration.ofSeconds(1))
+            .withNetworkValidatorCount(VALIDATOR_COUNT)
+            .generate(2);
+    final Path traceFile = testDirectory.resolve("trace.csv");
+    RequestTrace.write(traceFile, duties);
+
+    final BenchResult result =
+        new WorkloadReplayer(signer.getUrl(), 32).replay(RequestTrace.read(traceFile));
+
+    for (final DutyType type : DutyType.values()) {
+      final long expectedCount = duties.stream().filter(duty -> duty.getType() == type).count();
+      assertThat(result.forLabel(type.name()).getSuccessCount()).isEqualTo(expectedCount);
+      assertThat(result.forLabel(type.name()).getErrorCount()).isZero();
+    }
+  }
+
+  private String describe(final BenchResult result) {
+    final StringWriter description = new StringWriter();
+    final PrintWriter out = new PrintWriter(description);
+    for (final DutyType type : DutyType.values()) {
+      out.printf("%s:%n", type);
+      BenchResultPrinter.print(out, result.forLabel(type.name()));
+    }
+    out.flush();
+    return description.toString();
+  }
+
+  private String createKeyFile(final BLSKeyPair keyPair) {
+    final String publicKey = keyPair.getPublicKey().toString();
+    final Path keyConfigFile = testDirectory.resolve(publicKey.substring(2) + ".yaml");
+    metadataFileHelpers.createUnencryptedYamlFileAt(
+        keyConfigFile, keyPair.getSecretKey().getSecretKey().toBytes().toHexString());
+    return publicKey;
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.tests;
+
+import static io.restassured.RestAssured.given;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.eth2signer.dsl.signer.SignerConfigurationBuilder;
+import tech.pegasys.eth2signer.dsl.utils.MetadataFileHelpers;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSKeyPair;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.WebSocket;
+import io.vertx.core.json.JsonObject;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SignWebSocketAcceptanceTest extends AcceptanceTestBase {
+
+  private static final Bytes DATA = Bytes.wrap("Hello, world!".getBytes(UTF_8));
+  private static final String SIGN_WEBSOCKET_ENDPOINT = "/signer/ws";
+
+  private static final MetadataFileHelpers metadataFileHelpers = new MetadataFileHelpers();
+
+  private final Vertx vertx = Vertx.vertx();
+
+  @TempDir Path testDirectory;
+
+  @AfterEach
+  void closeVertx() {
+    vertx.close();
+  }
+
+  @Test
+  public void dataIsSignedOverWebSocket() throws Exception {
+    final BLSKeyPair keyPair = BLSKeyPair.random(1);
+    createKeyFile(keyPair);
+    startSigner(new SignerConfigurationBuilder().withKeyStoreDirectory(testDirectory).build());
+
+    final JsonObject request =
+        new JsonObject()
+            .put("id", 7)
+            .put("publicKey", keyPair.getPublicKey().toString())
+            .put("data", DATA.toHexString());
+    final JsonObject response = sendOverWebSocket(request);
+
+    assertThat(response.getInteger("id")).isEqualTo(7);
+    assertThat(response.getString("signature"))
+        .isEqualToIgnoringCase(BLS.sign(keyPair.getSecretKey(), DATA).toString());
+  }
+
+  @Test
+  public void unknownKeyIsAnsweredWithNotFound() throws Exception {
+    startSigner(new SignerConfigurationBuilder().withKeyStoreDirectory(testDirectory).build());
+
+    final JsonObject request =
+        new JsonObject()
+            .put("id", 1)
+            .put("publicKey", BLSKeyPair.random(2).getPublicKey().toString())
+            .put("data", DATA.toHexString());
+    final JsonObject response = sendOverWebSocket(request);
+
+    assertThat(response.getInteger("id")).isEqualTo(1);
+    assertThat(response.getJsonObject("error").getInteger("code")).isEqualTo(404);
+  }
+
+  @Test
+  public void receiveA400ForPlainRequestToWebSocketEndpoint() {
+    startSigner(new SignerConfigurationBuilder().build());
+
+    given().baseUri(signer.getUrl()).get(SIGN_WEBSOCKET_ENDPOINT).then().statusCode(400);
+  }
+
+  private JsonObject sendOverWebSocket(final JsonObject request) throws Exception {
+    final URI signerUri = URI.create(signer.getUrl());
+    final HttpClient client = vertx.createHttpClient();
+    final CompletableFuture<JsonObject> response = new CompletableFuture<>();
+    client.webSocket(
+        signerUri.getPort(),
+        signerUri.getHost(),
+        SIGN_WEBSOCKET_ENDPOINT,
+        connected -> {
+          if (connected.failed()) {
+            response.completeExceptionally(connected.cause());
+            return;
+          }
+          final WebSocket webSocket = connected.result();
+          webSocket.textMessageHandler(message -> response.complete(new JsonObject(message)));
+          webSocket.writeTextMessage(request.encode());
+        });
+    try {
+      return response.get(30, TimeUnit.SECONDS);
+    } finally {
+      client.close();
+    }
+  }
+
+  private void createKeyFile(final BLSKeyPair keyPair) {
+    final String configFilename = keyPair.getPublicKey().toString().substring(2);
+    metadataFileHelpers.createUnencryptedYamlFileAt(
+        testDirectory.resolve(configFilename + ".yaml"),
+        keyPair.getSecretKey().getSecretKey().toBytes().toHexString());
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.tests.performance;
+
+import static io.restassured.RestAssured.given;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.eth2signer.dsl.signer.SignerConfigurationBuilder;
+import tech.pegasys.eth2signer.dsl.utils.MetadataFileHelpers;
+import tech.pegasys.eth2signer.tests.AcceptanceTestBase;
+import tech.pegasys.teku.bls.BLSKeyPair;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.restassured.http.ContentType;
+import io.vertx.core.json.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Guards startup time, memory, key listing and cache miss signing latency against a signer loaded
+ * with a production sized key set. Excluded from the regular acceptance run, use the
+ * performanceTest task. Key count and budgets may be overridden with system properties.
+ */
+@Tag("performance")
+public class LargeKeySetPerformanceAcceptanceTest extends AcceptanceTestBase {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final String SIGN_ENDPOINT = "/signer/sign/{publicKey}";
+  private static final String PUBLIC_KEYS_ENDPOINT = "/signer/publicKeys";
+  private static final String HEAP_USED_METRIC = "jvm_memory_bytes_used{area=\"heap\",}";
+  private static final Bytes DATA = Bytes.wrap("Hello, world!".getBytes(UTF_8));
+
+  private static final int KEY_COUNT = Integer.getInteger("acctests.performance.keyCount", 10_000);
+  private static final Duration STARTUP_BUDGET =
+      Duration.ofSeconds(Long.getLong("acctests.performance.startupBudgetSeconds", 120));
+  private static final long HEAP_BUDGET_BYTES =
+      Long.getLong("acctests.performance.heapBudgetMegabytes", 1024) * 1024 * 1024;
+  private static final Duration PUBLIC_KEYS_BUDGET =
+      Duration.ofMillis(Long.getLong("acctests.performance.publicKeysBudgetMillis", 1000));
+  private static final Duration CACHE_MISS_BUDGET =
+      Duration.ofMillis(Long.getLong("acctests.performance.cacheMissBudgetMillis", 250));
+  private static final int KEY_CACHE_LIMIT = 100;
+  private static final int CACHE_MISS_SAMPLES = 200;
+
+  private static final MetadataFileHelpers metadataFileHelpers = new MetadataFileHelpers();
+  private static List<String> publicKeys;
+
+  @TempDir static Path keyStoreDirectory;
+
+  @BeforeAll
+  static void createKeys() {
+    final long start = System.nanoTime();
+    publicKeys =
+        IntStream.range(0, KEY_COUNT)
+            .parallel()
+            .mapToObj(BLSKeyPair::random)
+            .map(LargeKeySetPerformanceAcceptanceTest::createKeyFile)
+            .collect(Collectors.toList());
+    LOG.info("Created {} key files in {}", KEY_COUNT, Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  @Test
+  void startsWithinBudgetAndHeapRemainsBounded() {
+    final long start = System.nanoTime();
+    startSigner(configurationBuilder().withMetricsEnabled(true).build());
+    final Duration startupTime = Duration.ofNanos(System.nanoTime() - start);
+    LOG.info("Signer with {} keys started in {}", KEY_COUNT, startupTime);
+
+    final long heapUsed = heapUsedBytes();
+    LOG.info("Signer with {} keys uses {} bytes of heap", KEY_COUNT, heapUsed);
+
+    assertThat(startupTime).isLessThanOrEqualTo(STARTUP_BUDGET);
+    assertThat(heapUsed).isLessThanOrEqualTo(HEAP_BUDGET_BYTES);
+  }
+
+  @Test
+  void publicKeysAreListedWithinBudget() {
+    startSigner(configurationBuilder().build());
+
+    // the first request pays for route and JIT warm up so is excluded
+    assertThat(listPublicKeys()).hasSize(KEY_COUNT);
+    final long start = System.nanoTime();
+    final List<String> listedKeys = listPublicKeys();
+    final Duration listTime = Duration.ofNanos(System.nanoTime() - start);
+    LOG.info("Listed {} public keys in {}", listedKeys.size(), listTime);
+
+    assertThat(listedKeys).hasSize(KEY_COUNT);
+    assertThat(listTime).isLessThanOrEqualTo(PUBLIC_KEYS_BUDGET);
+  }
+
+  @Test
+  void cacheMissSigningIsWithinBudget() {
+    startSigner(configurationBuilder().withKeyCacheLimit(KEY_CACHE_LIMIT).build());
+
+    // keys are spread across the whole set so almost every request misses the small cache
+    final int stride = Math.max(1, KEY_COUNT / CACHE_MISS_SAMPLES);
+    final List<Long> latencies = new ArrayList<>();
+    for (int i = 0; i < KEY_COUNT && latencies.size() < CACHE_MISS_SAMPLES; i += stride) {
+      final long start = System.nanoTime();
+      sign(publicKeys.get(i));
+      latencies.add(System.nanoTime() - start);
+    }
+
+    final long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+    final Duration p95 = Duration.ofNanos(sorted[(int) Math.ceil(sorted.length * 0.95) - 1]);
+    LOG.info(
+        "Cache miss signing over {} requests: p50 {}, p95 {}, max {}",
+        sorted.length,
+        Duration.ofNanos(sorted[sorted.length / 2]),
+        p95,
+        Duration.ofNanos(sorted[sorted.length - 1]));
+
+    assertThat(p95).isLessThanOrEqualTo(CACHE_MISS_BUDGET);
+  }
+
+  private SignerConfigurationBuilder configurationBuilder() {
+    return new SignerConfigurationBuilder()
+        .withKeyStoreDirectory(keyStoreDirectory)
+        .withLoggingLevel("INFO")
+        .withStartupTimeout(STARTUP_BUDGET.multipliedBy(2));
+  }
+
+  private List<String> listPublicKeys() {
+    return given()
+        .baseUri(signer.getUrl())
+        .get(PUBLIC_KEYS_ENDPOINT)
+        .then()
+        .statusCode(200)
+        .extract()
+        .jsonPath()
+        .getList("", String.class);
+  }
+
+  private void sign(final String publicKey) {
+    given()
+        .baseUri(signer.getUrl())
+        .contentType(ContentType.JSON)
+        .pathParam("publicKey", publicKey)
+        .body(new JsonObject().put("data", DATA.toHexString()).toString())
+        .post(SIGN_ENDPOINT)
+        .then()
+        .statusCode(200);
+  }
+
+  private long heapUsedBytes() {
+    final String metrics =
+        given()
+            .baseUri(signer.getMetricsUrl())
+            .get("/metrics")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString();
+    return Arrays.stream(metrics.split("\n"))
+        .filter(line -> line.startsWith(HEAP_USED_METRIC))
+        .map(line -> line.substring(HEAP_USED_METRIC.length()).trim())
+        .mapToLong(value -> (long) Double.parseDouble(value))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("Metric not found: " + HEAP_USED_METRIC));
+  }
+
+  private static String createKeyFile(final BLSKeyPair keyPair) {
+    final String publicKey = keyPair.getPublicKey().toString();
+    final Path keyConfigFile = keyStoreDirectory.resolve(publicKey.substring(2) + ".yaml");
+    metadataFileHelpers.createUnencryptedYamlFileAt(
+        keyConfigFile, keyPair.getSecretKey().getSecretKey().toBytes().toHexString());
+    return publicKey;
+  }
+}
@@ -15,14 +15,20 @@ package tech.pegasys.eth2signer.commandline;
 import static tech.pegasys.eth2signer.commandline.DefaultCommandValues.CONFIG_FILE_OPTION_NAME;
 import static tech.pegasys.eth2signer.commandline.DefaultCommandValues.MANDATORY_FILE_FORMAT_HELP;
 import static tech.pegasys.eth2signer.commandline.DefaultCommandValues.MANDATORY_HOST_FORMAT_HELP;
+import static tech.pegasys.eth2signer.commandline.DefaultCommandValues.MANDATORY_PATH_FORMAT_HELP;
 import static tech.pegasys.eth2signer.commandline.DefaultCommandValues.MANDATORY_PORT_FORMAT_HELP;
 import static tech.pegasys.eth2signer.core.metrics.Eth2SignerMetricCategory.DEFAULT_METRIC_CATEGORIES;
 
 import tech.pegasys.eth2signer.commandline.config.AllowListHostsProperty;
+import tech.pegasys.eth2signer.commandline.config.PicoCliHttpServerTuningOptions;
 import tech.pegasys.eth2signer.commandline.config.PicoCliTlsServerOptions;
 import tech.pegasys.eth2signer.commandline.convertor.MetricCategoryConverter;
+import tech.pegasys.eth2signer.commandline.subcommands.BenchCommand;
+import tech.pegasys.eth2signer.commandline.subcommands.ReplayCommand;
+import tech.pegasys.eth2signer.commandline.subcommands.SlashingProtectionCommand;
 import tech.pegasys.eth2signer.core.Runner;
 import tech.pegasys.eth2signer.core.config.Config;
+import tech.pegasys.eth2signer.core.config.HttpServerTuningOptions;
 import tech.pegasys.eth2signer.core.config.TlsOptions;
 import tech.pegasys.eth2signer.core.metrics.Eth2SignerMetricCategory;
 
@@ -43,7 +49,11 @@ import picocli.CommandLine;
 import picocli.CommandLine.ArgGroup;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.HelpCommand;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Spec;
 import picocli.CommandLine.TypeConversionException;
 
 @SuppressWarnings("FieldCanBeLocal") // because Picocli injected fields report false positives
@@ -61,11 +71,20 @@ import picocli.CommandLine.TypeConversionException;
     descriptionHeading = "%nDescription:%n%n",
     optionListHeading = "%nOptions:%n",
     footerHeading = "%n",
-    subcommands = {HelpCommand.class},
+    subcommands = {
+      HelpCommand.class,
+      BenchCommand.class,
+      ReplayCommand.class,
+      SlashingProtectionCommand.class
+    },
     footer = "Eth2Signer is licensed under the Apache License 2.0")
 public class Eth2SignerCommand implements Config, Runnable {
 
   private static final Logger LOG = LogManager.getLogger();
+  // the largest value of the unsigned 32 bit SETTINGS_MAX_CONCURRENT_STREAMS setting
+  private static final long MAX_HTTP2_STREAMS = 0xFFFFFFFFL;
+
+  @Spec private CommandSpec spec;
 
   @SuppressWarnings("UnusedVariable")
   @CommandLine.Option(
@@ -118,6 +137,24 @@ public class Eth2SignerCommand implements Config, Runnable {
       arity = "1")
   private final Integer httpListenPort = 9000;
 
+  @Option(
+      names = {"--http-listen-tcp-enabled"},
+      description =
+          "Set to false to disable the TCP listener and only accept requests on the unix socket "
+              + "(default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Boolean httpListenTcpEnabled = true;
+
+  @Option(
+      names = {"--http-listen-unix-socket"},
+      description =
+          "Path of a unix domain socket for HTTP to listen on, in addition to the TCP port. "
+              + "Only the signer's user may connect to it, and TLS is not applied. "
+              + "Requires the native epoll transport, available on Linux (default: none)",
+      paramLabel = MANDATORY_PATH_FORMAT_HELP,
+      arity = "1")
+  private Path httpListenUnixSocketPath;
+
   @Option(
       names = {"--http-host-allowlist"},
       paramLabel = "<hostname>[,<hostname>...]... or * or all",
@@ -126,6 +163,8 @@ public class Eth2SignerCommand implements Config, Runnable {
       defaultValue = "localhost,127.0.0.1")
   private final AllowListHostsProperty httpHostAllowList = new AllowListHostsProperty();
 
+  @Mixin private PicoCliHttpServerTuningOptions httpServerTuningOptions;
+
   @Option(
       names = {"--metrics-enabled"},
       description = "Set to start the metrics exporter (default: ${DEFAULT-VALUE})")
@@ -164,6 +203,101 @@ public class Eth2SignerCommand implements Config, Runnable {
       defaultValue = "localhost,127.0.0.1")
   private final AllowListHostsProperty metricsHostAllowList = new AllowListHostsProperty();
 
+  @Option(
+      names = {"--admin-endpoints-enabled"},
+      description =
+          "Set to serve the /admin endpoints, such as flight recording, on a separate admin "
+              + "listener (default: ${DEFAULT-VALUE})")
+  private final Boolean adminEndpointsEnabled = false;
+
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"}) // PicoCLI requires non-final Strings.
+  @Option(
+      names = {"--admin-listen-host"},
+      paramLabel = MANDATORY_HOST_FORMAT_HELP,
+      description = "Host for the admin endpoints to listen on (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private String adminListenHost = InetAddress.getLoopbackAddress().getHostAddress();
+
+  @Option(
+      names = {"--admin-listen-port"},
+      paramLabel = MANDATORY_PORT_FORMAT_HELP,
+      description = "Port for the admin endpoints to listen on (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer adminListenPort = 9002;
+
+  @Option(
+      names = {"--admin-host-allowlist"},
+      paramLabel = "<hostname>[,<hostname>...]... or * or all",
+      description =
+          "Comma separated list of hostnames to allow for admin access, or * to accept any host (default: ${DEFAULT-VALUE})",
+      defaultValue = "localhost,127.0.0.1")
+  private final AllowListHostsProperty adminHostAllowList = new AllowListHostsProperty();
+
+  @Option(
+      names = {"--request-recording-enabled"},
+      description =
+          "Set to record the route, public key, payload size and latency of every request to a "
+              + "binary log in the data path, for use with the replay command "
+              + "(default: ${DEFAULT-VALUE})")
+  private final Boolean requestRecordingEnabled = false;
+
+  @Option(
+      names = {"--request-recording-payloads-enabled"},
+      description =
+          "Set to also record request payloads, otherwise replay sends random data of the "
+              + "recorded size (default: ${DEFAULT-VALUE})")
+  private final Boolean requestRecordingPayloadsEnabled = false;
+
+  @Option(
+      names = {"--slashing-protection-enabled"},
+      description =
+          "Set to refuse signing typed blocks and attestations which could be slashed, recording "
+              + "the signing history of each validator in the data path. Untyped data, which cannot "
+              + "be checked, is then refused (default: ${DEFAULT-VALUE})")
+  private final Boolean slashingProtectionEnabled = false;
+
+  @Option(
+      names = {"--slashing-protection-commit-window"},
+      description =
+          "Microseconds to gather signing history records into a group sharing one fsync, 0 to "
+              + "group only the records queued while the previous fsync ran "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP,
+      arity = "1")
+  private final Long slashingProtectionCommitWindowMicros = 0L;
+
+  @Option(
+      names = {"--slashing-protection-commit-batch-size"},
+      description =
+          "Number of signing history records after which a group is committed without waiting "
+              + "for the commit window to pass (default: ${DEFAULT-VALUE})",
+      paramLabel = "<INTEGER>",
+      arity = "1")
+  private final Integer slashingProtectionCommitBatchSize = 1024;
+
+  @Option(
+      names = {"--signature-self-check-enabled"},
+      description =
+          "Set to verify each produced signature before it is returned, withholding any which "
+              + "fail (default: ${DEFAULT-VALUE})")
+  private final Boolean signatureSelfCheckEnabled = false;
+
+  @Option(
+      names = {"--signature-self-check-latency-budget"},
+      description =
+          "Microseconds a signature may be held for verification, within which signatures are "
+              + "gathered into batches verified together (default: ${DEFAULT-VALUE})",
+      paramLabel = DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP,
+      arity = "1")
+  private final Long signatureSelfCheckLatencyBudgetMicros = 2000L;
+
+  @Option(
+      names = {"--signer-warm-up-enabled"},
+      description =
+          "Set to accept requests to load signers ahead of their expected use "
+              + "(default: ${DEFAULT-VALUE})")
+  private final Boolean signerWarmUpEnabled = false;
+
   @ArgGroup(exclusive = false)
   private PicoCliTlsServerOptions picoCliTlsServerOptions;
 
@@ -182,6 +316,21 @@ public class Eth2SignerCommand implements Config, Runnable {
     return httpListenPort;
   }
 
+  @Override
+  public Boolean isHttpListenTcpEnabled() {
+    return httpListenTcpEnabled;
+  }
+
+  @Override
+  public Optional<Path> getHttpListenUnixSocketPath() {
+    return Optional.ofNullable(httpListenUnixSocketPath);
+  }
+
+  @Override
+  public HttpServerTuningOptions getHttpServerTuningOptions() {
+    return httpServerTuningOptions;
+  }
+
   @Override
   public AllowListHostsProperty getHttpHostAllowList() {
     return httpHostAllowList;
@@ -227,6 +376,66 @@ public class Eth2SignerCommand implements Config, Runnable {
     return keyCacheLimit;
   }
 
+  @Override
+  public Boolean isAdminEndpointsEnabled() {
+    return adminEndpointsEnabled;
+  }
+
+  @Override
+  public String getAdminListenHost() {
+    return adminListenHost;
+  }
+
+  @Override
+  public Integer getAdminListenPort() {
+    return adminListenPort;
+  }
+
+  @Override
+  public List<String> getAdminHostAllowList() {
+    return adminHostAllowList;
+  }
+
+  @Override
+  public Boolean isRequestRecordingEnabled() {
+    return requestRecordingEnabled;
+  }
+
+  @Override
+  public Boolean isRequestRecordingPayloadsEnabled() {
+    return requestRecordingPayloadsEnabled;
+  }
+
+  @Override
+  public Boolean isSlashingProtectionEnabled() {
+    return slashingProtectionEnabled;
+  }
+
+  @Override
+  public Long getSlashingProtectionCommitWindowMicros() {
+    return slashingProtectionCommitWindowMicros;
+  }
+
+  @Override
+  public Integer getSlashingProtectionCommitBatchSize() {
+    return slashingProtectionCommitBatchSize;
+  }
+
+  @Override
+  public Boolean isSignatureSelfCheckEnabled() {
+    return signatureSelfCheckEnabled;
+  }
+
+  @Override
+  public Long getSignatureSelfCheckLatencyBudgetMicros() {
+    return signatureSelfCheckLatencyBudgetMicros;
+  }
+
+  @Override
+  public Boolean isSignerWarmUpEnabled() {
+    return signerWarmUpEnabled;
+  }
+
   @Override
   public Optional<TlsOptions> getTlsOptions() {
     return Optional.ofNullable(picoCliTlsServerOptions);
@@ -242,12 +451,27 @@ public class Eth2SignerCommand implements Config, Runnable {
         .add("logLevel", logLevel)
         .add("httpListenHost", httpListenHost)
         .add("httpListenPort", httpListenPort)
+        .add("httpListenTcpEnabled", httpListenTcpEnabled)
+        .add("httpListenUnixSocketPath", httpListenUnixSocketPath)
         .add("httpHostAllowList", httpHostAllowList)
+        .add("httpServerTuningOptions", httpServerTuningOptions)
         .add("metricsEnabled", metricsEnabled)
         .add("metricsHost", metricsHost)
         .add("metricsPort", metricsPort)
         .add("metricCategories", metricCategories)
         .add("metricsHostAllowList", metricsHostAllowList)
+        .add("adminEndpointsEnabled", adminEndpointsEnabled)
+        .add("adminListenHost", adminListenHost)
+        .add("adminListenPort", adminListenPort)
+        .add("adminHostAllowList", adminHostAllowList)
+        .add("requestRecordingEnabled", requestRecordingEnabled)
+        .add("requestRecordingPayloadsEnabled", requestRecordingPayloadsEnabled)
+        .add("slashingProtectionEnabled", slashingProtectionEnabled)
+        .add("slashingProtectionCommitWindowMicros", slashingProtectionCommitWindowMicros)
+        .add("slashingProtectionCommitBatchSize", slashingProtectionCommitBatchSize)
+        .add("signatureSelfCheckEnabled", signatureSelfCheckEnabled)
+        .add("signatureSelfCheckLatencyBudgetMicros", signatureSelfCheckLatencyBudgetMicros)
+        .add("signerWarmUpEnabled", signerWarmUpEnabled)
         .add("picoCliTlsServerOptions", picoCliTlsServerOptions)
         .toString();
   }
@@ -255,10 +479,46 @@ public class Eth2SignerCommand implements Config, Runnable {
   @Override
   public void run() {
     LOG.debug("Commandline has been parsed with: " + toString());
+    validateArgs();
     final Runner runner = new Runner(this);
     runner.run();
   }
 
+  void validateArgs() {
+    if (!httpListenTcpEnabled && httpListenUnixSocketPath == null) {
+      throw new ParameterException(
+          spec.commandLine(),
+          "--http-listen-unix-socket must be specified when the TCP listener is disabled");
+    }
+    final long http2MaxConcurrentStreams = httpServerTuningOptions.getHttp2MaxConcurrentStreams();
+    if (http2MaxConcurrentStreams < 1 || http2MaxConcurrentStreams > MAX_HTTP2_STREAMS) {
+      throw new ParameterException(
+          spec.commandLine(),
+          "--http2-max-concurrent-streams must be between 1 and " + MAX_HTTP2_STREAMS);
+    }
+    if (requestRecordingEnabled && dataPath == null) {
+      throw new ParameterException(
+          spec.commandLine(), "--data-path must be specified when request recording is enabled");
+    }
+    if (slashingProtectionEnabled && dataPath == null) {
+      throw new ParameterException(
+          spec.commandLine(),
+          "--data-path must be specified when slashing protection is enabled");
+    }
+    if (slashingProtectionCommitWindowMicros < 0) {
+      throw new ParameterException(
+          spec.commandLine(), "--slashing-protection-commit-window must not be negative");
+    }
+    if (slashingProtectionCommitBatchSize < 1) {
+      throw new ParameterException(
+          spec.commandLine(), "--slashing-protection-commit-batch-size must be positive");
+    }
+    if (signatureSelfCheckLatencyBudgetMicros < 0) {
+      throw new ParameterException(
+          spec.commandLine(), "--signature-self-check-latency-budget must not be negative");
+    }
+  }
+
   public static class Eth2SignerMetricCategoryConverter extends MetricCategoryConverter {
 
     public Eth2SignerMetricCategoryConverter() {
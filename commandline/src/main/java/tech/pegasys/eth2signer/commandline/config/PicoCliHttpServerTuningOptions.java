@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.commandline.config;
+
+import tech.pegasys.eth2signer.core.config.HttpServerTuningOptions;
+
+import com.google.common.base.MoreObjects;
+import picocli.CommandLine.Option;
+
+public class PicoCliHttpServerTuningOptions implements HttpServerTuningOptions {
+
+  private static final String INTEGER_FORMAT_HELP = "<INTEGER>";
+
+  @Option(
+      names = "--http-native-transport-enabled",
+      description =
+          "Set to use the native epoll transport when it is available, falling back to NIO "
+              + "otherwise (default: ${DEFAULT-VALUE})")
+  private Boolean nativeTransportEnabled = false;
+
+  @Option(
+      names = "--http-tcp-no-delay-enabled",
+      description =
+          "Set to false to disable TCP_NODELAY on HTTP connections (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private Boolean tcpNoDelay = true;
+
+  @Option(
+      names = "--http-tcp-quick-ack-enabled",
+      description =
+          "Set to enable TCP_QUICKACK on HTTP connections, requires the native transport "
+              + "(default: ${DEFAULT-VALUE})")
+  private Boolean tcpQuickAck = false;
+
+  @Option(
+      names = "--http-accept-backlog",
+      description =
+          "Maximum length of the queue of pending HTTP connections, -1 for the operating system "
+              + "default (default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer acceptBacklog = -1;
+
+  @Option(
+      names = "--http-idle-timeout",
+      description =
+          "Seconds after which an idle HTTP connection is closed, 0 to keep idle connections open "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer idleTimeoutSeconds = 0;
+
+  @Option(
+      names = "--http-send-buffer-size",
+      description =
+          "TCP send buffer size in bytes, -1 for the operating system default "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer sendBufferSize = -1;
+
+  @Option(
+      names = "--http-receive-buffer-size",
+      description =
+          "TCP receive buffer size in bytes, -1 for the operating system default "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer receiveBufferSize = -1;
+
+  @Option(
+      names = "--http2-enabled",
+      description =
+          "Set to accept HTTP/2 connections, negotiated with ALPN when TLS is enabled or as "
+              + "cleartext h2c otherwise (default: ${DEFAULT-VALUE})")
+  private Boolean http2Enabled = false;
+
+  @Option(
+      names = "--http2-max-concurrent-streams",
+      description =
+          "Maximum number of concurrent requests a client may multiplex over a single HTTP/2 "
+              + "connection (default: ${DEFAULT-VALUE})",
+      paramLabel = "<LONG>",
+      arity = "1")
+  private Long http2MaxConcurrentStreams = 100L;
+
+  @Override
+  public Boolean isNativeTransportEnabled() {
+    return nativeTransportEnabled;
+  }
+
+  @Override
+  public Boolean isTcpNoDelay() {
+    return tcpNoDelay;
+  }
+
+  @Override
+  public Boolean isTcpQuickAck() {
+    return tcpQuickAck;
+  }
+
+  @Override
+  public Integer getAcceptBacklog() {
+    return acceptBacklog;
+  }
+
+  @Override
+  public Integer getIdleTimeoutSeconds() {
+    return idleTimeoutSeconds;
+  }
+
+  @Override
+  public Integer getSendBufferSize() {
+    return sendBufferSize;
+  }
+
+  @Override
+  public Integer getReceiveBufferSize() {
+    return receiveBufferSize;
+  }
+
+  @Override
+  public Boolean isHttp2Enabled() {
+    return http2Enabled;
+  }
+
+  @Override
+  public Long getHttp2MaxConcurrentStreams() {
+    return http2MaxConcurrentStreams;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("nativeTransportEnabled", nativeTransportEnabled)
+        .add("tcpNoDelay", tcpNoDelay)
+        .add("tcpQuickAck", tcpQuickAck)
+        .add("acceptBacklog", acceptBacklog)
+        .add("idleTimeoutSeconds", idleTimeoutSeconds)
+        .add("sendBufferSize", sendBufferSize)
+        .add("receiveBufferSize", receiveBufferSize)
+        .add("http2Enabled", http2Enabled)
+        .add("http2MaxConcurrentStreams", http2MaxConcurrentStreams)
+        .toString();
+  }
+}
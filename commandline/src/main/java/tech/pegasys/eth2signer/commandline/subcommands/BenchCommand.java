@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.commandline.subcommands;
+
+import tech.pegasys.eth2signer.commandline.Eth2SignerCommand;
+import tech.pegasys.eth2signer.core.InitializationException;
+import tech.pegasys.eth2signer.core.Runner;
+import tech.pegasys.eth2signer.core.bench.BenchKeyGenerator;
+import tech.pegasys.eth2signer.core.bench.BenchKeyType;
+import tech.pegasys.eth2signer.core.bench.BenchResult;
+import tech.pegasys.eth2signer.core.bench.BenchResultPrinter;
+import tech.pegasys.eth2signer.core.bench.LoadGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.ParentCommand;
+import picocli.CommandLine.Spec;
+
+@Command(
+    name = BenchCommand.COMMAND_NAME,
+    description =
+        "Generates throwaway keys, starts Eth2Signer with them and measures signing throughput "
+            + "and latency. Server tuning and cache options of the main command apply.",
+    mixinStandardHelpOptions = true)
+public class BenchCommand implements Callable<Integer> {
+
+  public static final String COMMAND_NAME = "bench";
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  @ParentCommand private Eth2SignerCommand parentCommand;
+
+  @Spec private CommandSpec spec;
+
+  @Option(
+      names = {"--key-count"},
+      description = "Number of keys to generate (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private int keyCount = 100;
+
+  @Option(
+      names = {"--key-type"},
+      description =
+          "Type of key to generate, one of ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private BenchKeyType keyType = BenchKeyType.FILE_RAW;
+
+  @Option(
+      names = {"--concurrency"},
+      description =
+          "Number of connections, and of requests in flight when no rate is set "
+              + "(default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private int concurrency = 64;
+
+  @Option(
+      names = {"--rate"},
+      description =
+          "Target signing requests per second, 0 to send as fast as the connections allow "
+              + "(default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private long rate = 0;
+
+  @Option(
+      names = {"--warmup"},
+      description = "Seconds of load before measuring starts (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private int warmupSeconds = 5;
+
+  @Option(
+      names = {"--duration"},
+      description = "Seconds of load to measure (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private int durationSeconds = 30;
+
+  @Override
+  public Integer call() throws Exception {
+    validateOptions();
+    final Path workDirectory = Files.createTempDirectory("eth2signer-bench");
+    try {
+      final Path keysDirectory = Files.createDirectory(workDirectory.resolve("keys"));
+      LOG.info("Generating {} {} keys in {}", keyCount, keyType, keysDirectory);
+      final List<String> publicKeys =
+          new BenchKeyGenerator(keysDirectory, keyType).generate(keyCount);
+
+      final Runner runner =
+          new Runner(new BenchConfig(parentCommand, keysDirectory, workDirectory));
+      runner.run();
+      try {
+        final BenchResult result =
+            new LoadGenerator(
+                    InetAddress.getLoopbackAddress().getHostAddress(),
+                    readHttpPort(workDirectory),
+                    concurrency,
+                    rate > 0)
+                .run(
+                    LoadGenerator.signingRequests(publicKeys, rate),
+                    Duration.ofSeconds(warmupSeconds),
+                    Duration.ofSeconds(durationSeconds));
+        printResult(result);
+      } finally {
+        runner.stop();
+      }
+    } finally {
+      MoreFiles.deleteRecursively(workDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+    return 0;
+  }
+
+  private void validateOptions() {
+    if (keyCount < 1) {
+      throw new ParameterException(spec.commandLine(), "--key-count must be positive");
+    }
+    if (concurrency < 1) {
+      throw new ParameterException(spec.commandLine(), "--concurrency must be positive");
+    }
+    if (rate < 0) {
+      throw new ParameterException(spec.commandLine(), "--rate must not be negative");
+    }
+    if (warmupSeconds < 0) {
+      throw new ParameterException(spec.commandLine(), "--warmup must not be negative");
+    }
+    if (durationSeconds < 1) {
+      throw new ParameterException(spec.commandLine(), "--duration must be positive");
+    }
+  }
+
+  private int readHttpPort(final Path dataPath) throws IOException {
+    final Properties ports = new Properties();
+    final Path portsFile = dataPath.resolve("eth2signer.ports");
+    try (final InputStream inputStream = Files.newInputStream(portsFile)) {
+      ports.load(inputStream);
+    } catch (final NoSuchFileException e) {
+      throw new InitializationException("Eth2Signer failed to start, see log for details");
+    }
+    return Integer.parseInt(ports.getProperty("http-port"));
+  }
+
+  private void printResult(final BenchResult result) {
+    final PrintWriter out = spec.commandLine().getOut();
+    out.printf(
+        "Keys: %d %s, concurrency: %d, rate: %s%n",
+        keyCount, keyType, concurrency, rate == 0 ? "unlimited" : rate + "/s");
+    BenchResultPrinter.print(out, result);
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.commandline.subcommands;
+
+import tech.pegasys.eth2signer.core.config.Config;
+import tech.pegasys.eth2signer.core.config.HttpServerTuningOptions;
+import tech.pegasys.eth2signer.core.config.TlsOptions;
+
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.logging.log4j.Level;
+import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
+
+/**
+ * The configuration of the signer started by the bench command. Tuning, cache and metrics settings
+ * come from the main command so their effect can be measured, while the listener is a plain http
+ * port on the loopback interface chosen by the operating system.
+ */
+class BenchConfig implements Config {
+
+  private final Config config;
+  private final Path keyConfigPath;
+  private final Path dataPath;
+
+  BenchConfig(final Config config, final Path keyConfigPath, final Path dataPath) {
+    this.config = config;
+    this.keyConfigPath = keyConfigPath;
+    this.dataPath = dataPath;
+  }
+
+  @Override
+  public Level getLogLevel() {
+    return config.getLogLevel();
+  }
+
+  @Override
+  public String getHttpListenHost() {
+    return InetAddress.getLoopbackAddress().getHostAddress();
+  }
+
+  @Override
+  public Integer getHttpListenPort() {
+    return 0;
+  }
+
+  @Override
+  public Boolean isHttpListenTcpEnabled() {
+    return true;
+  }
+
+  @Override
+  public Optional<Path> getHttpListenUnixSocketPath() {
+    return Optional.empty();
+  }
+
+  @Override
+  public HttpServerTuningOptions getHttpServerTuningOptions() {
+    return config.getHttpServerTuningOptions();
+  }
+
+  @Override
+  public List<String> getHttpHostAllowList() {
+    return List.of("*");
+  }
+
+  @Override
+  public Path getDataPath() {
+    return dataPath;
+  }
+
+  @Override
+  public Path getKeyConfigPath() {
+    return keyConfigPath;
+  }
+
+  @Override
+  public Boolean isMetricsEnabled() {
+    return config.isMetricsEnabled();
+  }
+
+  @Override
+  public Integer getMetricsPort() {
+    return config.getMetricsPort();
+  }
+
+  @Override
+  public String getMetricsNetworkInterface() {
+    return config.getMetricsNetworkInterface();
+  }
+
+  @Override
+  public Set<MetricCategory> getMetricCategories() {
+    return config.getMetricCategories();
+  }
+
+  @Override
+  public List<String> getMetricsHostAllowList() {
+    return config.getMetricsHostAllowList();
+  }
+
+  @Override
+  public Long getKeyCacheLimit() {
+    return config.getKeyCacheLimit();
+  }
+
+  @Override
+  public Boolean isAdminEndpointsEnabled() {
+    return false;
+  }
+
+  @Override
+  public String getAdminListenHost() {
+    return config.getAdminListenHost();
+  }
+
+  @Override
+  public Integer getAdminListenPort() {
+    return config.getAdminListenPort();
+  }
+
+  @Override
+  public List<String> getAdminHostAllowList() {
+    return config.getAdminHostAllowList();
+  }
+
+  @Override
+  public Boolean isRequestRecordingEnabled() {
+    return false;
+  }
+
+  @Override
+  public Boolean isRequestRecordingPayloadsEnabled() {
+    return false;
+  }
+
+  @Override
+  public Boolean isSlashingProtectionEnabled() {
+    return false;
+  }
+
+  @Override
+  public Long getSlashingProtectionCommitWindowMicros() {
+    return config.getSlashingProtectionCommitWindowMicros();
+  }
+
+  @Override
+  public Integer getSlashingProtectionCommitBatchSize() {
+    return config.getSlashingProtectionCommitBatchSize();
+  }
+
+  @Override
+  public Boolean isSignatureSelfCheckEnabled() {
+    return config.isSignatureSelfCheckEnabled();
+  }
+
+  @Override
+  public Long getSignatureSelfCheckLatencyBudgetMicros() {
+    return config.getSignatureSelfCheckLatencyBudgetMicros();
+  }
+
+  @Override
+  public Boolean isSignerWarmUpEnabled() {
+    return config.isSignerWarmUpEnabled();
+  }
+
+  @Override
+  public Optional<TlsOptions> getTlsOptions() {
+    return Optional.empty();
+  }
+}
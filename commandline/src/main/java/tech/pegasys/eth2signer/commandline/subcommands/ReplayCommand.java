@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.commandline.subcommands;
+
+import static tech.pegasys.eth2signer.commandline.DefaultCommandValues.MANDATORY_FILE_FORMAT_HELP;
+import static tech.pegasys.eth2signer.commandline.DefaultCommandValues.MANDATORY_HOST_FORMAT_HELP;
+import static tech.pegasys.eth2signer.commandline.DefaultCommandValues.MANDATORY_PORT_FORMAT_HELP;
+
+import tech.pegasys.eth2signer.core.bench.BenchResult;
+import tech.pegasys.eth2signer.core.bench.BenchResultPrinter;
+import tech.pegasys.eth2signer.core.recording.RequestLogReader;
+import tech.pegasys.eth2signer.core.recording.RequestRecord;
+import tech.pegasys.eth2signer.core.recording.RequestReplayer;
+
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Spec;
+
+@Command(
+    name = ReplayCommand.COMMAND_NAME,
+    description =
+        "Replays a request log recorded with --request-recording-enabled against a running "
+            + "Eth2Signer holding the same keys, and reports latency.",
+    mixinStandardHelpOptions = true)
+public class ReplayCommand implements Callable<Integer> {
+
+  public static final String COMMAND_NAME = "replay";
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  @Spec private CommandSpec spec;
+
+  @Option(
+      names = {"--request-log"},
+      description = "The request log to replay",
+      paramLabel = MANDATORY_FILE_FORMAT_HELP,
+      required = true,
+      arity = "1")
+  private Path requestLog;
+
+  @Option(
+      names = {"--target-host"},
+      description = "Host of the Eth2Signer to replay against (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_HOST_FORMAT_HELP,
+      arity = "1")
+  private String targetHost = "127.0.0.1";
+
+  @Option(
+      names = {"--target-port"},
+      description = "Port of the Eth2Signer to replay against (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_PORT_FORMAT_HELP,
+      arity = "1")
+  private int targetPort = 9000;
+
+  @Option(
+      names = {"--speed"},
+      description =
+          "Multiple of the recorded request rate to replay at, 0 to send as fast as the "
+              + "connections allow (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private double speed = 1.0;
+
+  @Option(
+      names = {"--max-connections"},
+      description = "Maximum number of connections to the target (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private int maxConnections = 64;
+
+  @Override
+  public Integer call() throws Exception {
+    if (maxConnections < 1) {
+      throw new ParameterException(spec.commandLine(), "--max-connections must be positive");
+    }
+    if (speed < 0) {
+      throw new ParameterException(spec.commandLine(), "--speed must not be negative");
+    }
+    final List<RequestRecord> records = RequestLogReader.readAll(requestLog);
+    LOG.info("Read {} recorded requests from {}", records.size(), requestLog);
+
+    final BenchResult result =
+        new RequestReplayer(targetHost, targetPort, maxConnections, speed).replay(records);
+    printResult(result);
+    return result.getErrorCount() == 0 ? 0 : 1;
+  }
+
+  private void printResult(final BenchResult result) {
+    final PrintWriter out = spec.commandLine().getOut();
+    // a replayed request succeeds when its status matches the recorded one
+    out.printf("Speed: %s%n", speed > 0 ? speed + "x" : "unlimited");
+    BenchResultPrinter.print(out, result);
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.commandline.subcommands;
+
+import tech.pegasys.eth2signer.commandline.Eth2SignerCommand;
+import tech.pegasys.eth2signer.core.slashingprotection.SlashingProtection;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.ParentCommand;
+import picocli.CommandLine.Spec;
+
+@Command(
+    name = SlashingProtectionCommand.COMMAND_NAME,
+    description =
+        "Imports and exports the slashing protection history held in the data path, in the "
+            + "EIP-3076 interchange format. Eth2Signer must not be running against the data path.",
+    subcommands = {SlashingProtectionImportCommand.class, SlashingProtectionExportCommand.class},
+    mixinStandardHelpOptions = true)
+public class SlashingProtectionCommand implements Runnable {
+
+  public static final String COMMAND_NAME = "slashing-protection";
+
+  @ParentCommand private Eth2SignerCommand parentCommand;
+
+  @Spec private CommandSpec spec;
+
+  @Override
+  public void run() {
+    spec.commandLine().usage(spec.commandLine().getOut());
+  }
+
+  SlashingProtection loadSlashingProtection(final CommandSpec subcommandSpec) {
+    return SlashingProtection.load(
+        dataPath(subcommandSpec),
+        Duration.ZERO,
+        parentCommand.getSlashingProtectionCommitBatchSize(),
+        new NoOpMetricsSystem());
+  }
+
+  SlashingProtection loadSlashingProtectionReadOnly(final CommandSpec subcommandSpec) {
+    return SlashingProtection.loadReadOnly(dataPath(subcommandSpec), new NoOpMetricsSystem());
+  }
+
+  private Path dataPath(final CommandSpec subcommandSpec) {
+    if (parentCommand.getDataPath() == null) {
+      throw new ParameterException(
+          subcommandSpec.commandLine(), "--data-path must be specified for slashing protection");
+    }
+    return parentCommand.getDataPath();
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.commandline.subcommands;
+
+import static tech.pegasys.eth2signer.commandline.DefaultCommandValues.MANDATORY_FILE_FORMAT_HELP;
+
+import tech.pegasys.eth2signer.core.slashingprotection.InterchangeExporter;
+import tech.pegasys.eth2signer.core.slashingprotection.SlashingProtection;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+import org.apache.tuweni.bytes.Bytes32;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParentCommand;
+import picocli.CommandLine.Spec;
+
+@Command(
+    name = SlashingProtectionExportCommand.COMMAND_NAME,
+    description = "Exports the slashing protection watermarks as an EIP-3076 interchange file.",
+    mixinStandardHelpOptions = true)
+public class SlashingProtectionExportCommand implements Callable<Integer> {
+
+  public static final String COMMAND_NAME = "export";
+
+  @ParentCommand private SlashingProtectionCommand parentCommand;
+
+  @Spec private CommandSpec spec;
+
+  @Option(
+      names = {"--to"},
+      description = "The interchange file to write",
+      paramLabel = MANDATORY_FILE_FORMAT_HELP,
+      required = true,
+      arity = "1")
+  private Path to;
+
+  @Option(
+      names = {"--genesis-validators-root"},
+      description = "The genesis validators root of the chain, written to the file metadata",
+      required = true,
+      arity = "1")
+  private String genesisValidatorsRoot;
+
+  @Override
+  public Integer call() throws Exception {
+    final Bytes32 root = Bytes32.fromHexStringStrict(genesisValidatorsRoot);
+    final SlashingProtection slashingProtection =
+        parentCommand.loadSlashingProtectionReadOnly(spec);
+    try (final OutputStream output = new BufferedOutputStream(Files.newOutputStream(to))) {
+      final int exported = new InterchangeExporter(slashingProtection).exportTo(output, root);
+      spec.commandLine().getOut().printf("Exported %d validators to %s%n", exported, to);
+      return 0;
+    } finally {
+      slashingProtection.close();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.commandline.subcommands;
+
+import static tech.pegasys.eth2signer.commandline.DefaultCommandValues.MANDATORY_FILE_FORMAT_HELP;
+
+import tech.pegasys.eth2signer.core.slashingprotection.InterchangeImporter;
+import tech.pegasys.eth2signer.core.slashingprotection.SlashingProtection;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+import org.apache.tuweni.bytes.Bytes32;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.ParentCommand;
+import picocli.CommandLine.Spec;
+
+@Command(
+    name = SlashingProtectionImportCommand.COMMAND_NAME,
+    description =
+        "Imports an EIP-3076 interchange file, raising the slashing protection watermarks of "
+            + "its validators.",
+    mixinStandardHelpOptions = true)
+public class SlashingProtectionImportCommand implements Callable<Integer> {
+
+  public static final String COMMAND_NAME = "import";
+
+  @ParentCommand private SlashingProtectionCommand parentCommand;
+
+  @Spec private CommandSpec spec;
+
+  @Option(
+      names = {"--from"},
+      description = "The interchange file to import",
+      paramLabel = MANDATORY_FILE_FORMAT_HELP,
+      required = true,
+      arity = "1")
+  private Path from;
+
+  @Option(
+      names = {"--genesis-validators-root"},
+      description = "If set, the genesis validators root the interchange file must match",
+      arity = "1")
+  private String genesisValidatorsRoot;
+
+  @Option(
+      names = {"--parallelism"},
+      description =
+          "Number of threads verifying validators (default: number of available processors)",
+      arity = "1")
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+
+  @Override
+  public Integer call() throws Exception {
+    if (parallelism < 1) {
+      throw new ParameterException(spec.commandLine(), "--parallelism must be positive");
+    }
+    final Optional<Bytes32> expectedGenesisValidatorsRoot = parseGenesisValidatorsRoot();
+    final SlashingProtection slashingProtection = parentCommand.loadSlashingProtection(spec);
+    try (final InputStream input = new BufferedInputStream(Files.newInputStream(from))) {
+      final int imported =
+          new InterchangeImporter(slashingProtection, expectedGenesisValidatorsRoot, parallelism)
+              .importFrom(input);
+      spec.commandLine().getOut().printf("Imported %d validators from %s%n", imported, from);
+      return 0;
+    } catch (final IllegalArgumentException e) {
+      spec.commandLine().getErr().printf("Invalid interchange file %s: %s%n", from, e.getMessage());
+      return 1;
+    } finally {
+      slashingProtection.close();
+    }
+  }
+
+  private Optional<Bytes32> parseGenesisValidatorsRoot() {
+    if (genesisValidatorsRoot == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(Bytes32.fromHexStringStrict(genesisValidatorsRoot));
+    } catch (final IllegalArgumentException e) {
+      throw new ParameterException(
+          spec.commandLine(), "--genesis-validators-root must be a 32 byte hex value");
+    }
+  }
+}
@@ -19,6 +19,7 @@ import static tech.pegasys.eth2signer.CmdlineHelpers.validBaseCommandOptions;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.net.InetAddress;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.function.Supplier;
 
@@ -87,6 +88,123 @@ class CommandlineParserTest {
         InetAddress.getLoopbackAddress().getHostAddress());
   }
 
+  @Test
+  void httpServerTuningOptionsDefaultToOperatingSystemSettings() {
+    final int result = parser.parseCommandLine(validBaseCommandOptions().split(" "));
+
+    assertThat(result).isZero();
+    assertThat(config.getHttpServerTuningOptions().isNativeTransportEnabled()).isFalse();
+    assertThat(config.getHttpServerTuningOptions().isTcpNoDelay()).isTrue();
+    assertThat(config.getHttpServerTuningOptions().getAcceptBacklog()).isEqualTo(-1);
+    assertThat(config.getHttpServerTuningOptions().getIdleTimeoutSeconds()).isZero();
+    assertThat(config.getHttpServerTuningOptions().isHttp2Enabled()).isFalse();
+    assertThat(config.getHttpServerTuningOptions().getHttp2MaxConcurrentStreams()).isEqualTo(100);
+  }
+
+  @Test
+  void httpServerTuningOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--http-native-transport-enabled --http-tcp-no-delay-enabled=false "
+            + "--http-tcp-quick-ack-enabled "
+            + "--http-accept-backlog=4096 --http-idle-timeout=30 --http-send-buffer-size=65536";
+    final int result = parser.parseCommandLine(cmdLine.split(" "));
+
+    assertThat(result).isZero();
+    assertThat(config.getHttpServerTuningOptions().isNativeTransportEnabled()).isTrue();
+    assertThat(config.getHttpServerTuningOptions().isTcpNoDelay()).isFalse();
+    assertThat(config.getHttpServerTuningOptions().isTcpQuickAck()).isTrue();
+    assertThat(config.getHttpServerTuningOptions().getAcceptBacklog()).isEqualTo(4096);
+    assertThat(config.getHttpServerTuningOptions().getIdleTimeoutSeconds()).isEqualTo(30);
+    assertThat(config.getHttpServerTuningOptions().getSendBufferSize()).isEqualTo(65536);
+    assertThat(config.getHttpServerTuningOptions().getReceiveBufferSize()).isEqualTo(-1);
+  }
+
+  @Test
+  void http2OptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions() + "--http2-enabled --http2-max-concurrent-streams=250";
+    final int result = parser.parseCommandLine(cmdLine.split(" "));
+
+    assertThat(result).isZero();
+    assertThat(config.getHttpServerTuningOptions().isHttp2Enabled()).isTrue();
+    assertThat(config.getHttpServerTuningOptions().getHttp2MaxConcurrentStreams()).isEqualTo(250);
+  }
+
+  @Test
+  void http2MaxConcurrentStreamsOutsideSettingRangeIsRejected() {
+    assertHttp2MaxConcurrentStreamsRejected("0");
+    assertHttp2MaxConcurrentStreamsRejected("4294967296");
+  }
+
+  private void assertHttp2MaxConcurrentStreamsRejected(final String maxConcurrentStreams) {
+    final String cmdLine =
+        validBaseCommandOptions() + "--http2-max-concurrent-streams=" + maxConcurrentStreams;
+    final int result = parser.parseCommandLine(cmdLine.split(" "));
+
+    assertThat(result).isNotZero();
+    assertThat(commandError.toString())
+        .contains("--http2-max-concurrent-streams must be between 1 and 4294967295");
+  }
+
+  @Test
+  void httpListenerDefaultsToTcpOnly() {
+    final int result = parser.parseCommandLine(validBaseCommandOptions().split(" "));
+
+    assertThat(result).isZero();
+    assertThat(config.isHttpListenTcpEnabled()).isTrue();
+    assertThat(config.getHttpListenUnixSocketPath()).isEmpty();
+  }
+
+  @Test
+  void unixSocketListenerOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--http-listen-tcp-enabled=false --http-listen-unix-socket=/run/eth2signer.sock";
+    final int result = parser.parseCommandLine(cmdLine.split(" "));
+
+    assertThat(result).isZero();
+    assertThat(config.isHttpListenTcpEnabled()).isFalse();
+    assertThat(config.getHttpListenUnixSocketPath()).contains(Path.of("/run/eth2signer.sock"));
+  }
+
+  @Test
+  void disablingTcpListenerWithoutUnixSocketIsRejected() {
+    final String cmdLine = validBaseCommandOptions() + "--http-listen-tcp-enabled=false";
+    final int result = parser.parseCommandLine(cmdLine.split(" "));
+
+    assertThat(result).isNotZero();
+    assertThat(commandError.toString())
+        .contains("--http-listen-unix-socket must be specified when the TCP listener is disabled");
+  }
+
+  @Test
+  void adminListenerDefaultsToLoopback() {
+    final int result = parser.parseCommandLine(validBaseCommandOptions().split(" "));
+
+    assertThat(result).isZero();
+    assertThat(config.isAdminEndpointsEnabled()).isFalse();
+    assertThat(config.getAdminListenHost())
+        .isEqualTo(InetAddress.getLoopbackAddress().getHostAddress());
+    assertThat(config.getAdminListenPort()).isEqualTo(9002);
+    assertThat(config.getAdminHostAllowList()).containsExactly("localhost", "127.0.0.1");
+  }
+
+  @Test
+  void adminListenerOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--admin-endpoints-enabled --admin-listen-host=10.0.0.2 --admin-listen-port=9100 "
+            + "--admin-host-allowlist=ops.example.com";
+    final int result = parser.parseCommandLine(cmdLine.split(" "));
+
+    assertThat(result).isZero();
+    assertThat(config.isAdminEndpointsEnabled()).isTrue();
+    assertThat(config.getAdminListenHost()).isEqualTo("10.0.0.2");
+    assertThat(config.getAdminListenPort()).isEqualTo(9100);
+    assertThat(config.getAdminHostAllowList()).containsExactly("ops.example.com");
+  }
+
   @Test
   void unknownCommandLineOptionDisplaysErrorMessage() {
     final int result = parser.parseCommandLine("--nonExistentOption=9");
@@ -94,6 +212,36 @@ class CommandlineParserTest {
     assertThat(commandOutput.toString()).containsOnlyOnce(defaultUsageText);
   }
 
+  @Test
+  void benchWithoutKeysIsRejected() {
+    assertBenchOptionRejected("--key-count=0", "--key-count must be positive");
+  }
+
+  @Test
+  void benchWithoutConcurrencyIsRejected() {
+    assertBenchOptionRejected("--concurrency=0", "--concurrency must be positive");
+    assertBenchOptionRejected("--concurrency=-1", "--concurrency must be positive");
+  }
+
+  @Test
+  void benchWithNegativeRateOrWarmupIsRejected() {
+    assertBenchOptionRejected("--rate=-1", "--rate must not be negative");
+    assertBenchOptionRejected("--warmup=-1", "--warmup must not be negative");
+  }
+
+  @Test
+  void benchWithoutDurationIsRejected() {
+    assertBenchOptionRejected("--duration=0", "--duration must be positive");
+  }
+
+  private void assertBenchOptionRejected(final String option, final String expectedError) {
+    final String cmdLine = validBaseCommandOptions() + "bench " + option;
+    final int result = parser.parseCommandLine(cmdLine.split(" "));
+
+    assertThat(result).isNotZero();
+    assertThat(commandError.toString()).contains(expectedError);
+  }
+
   private <T> void missingOptionalParameterIsValidAndMeetsDefault(
       final String paramToRemove, final Supplier<T> actualValueGetter, final T expectedValue) {
 
@@ -15,5 +15,7 @@ package tech.pegasys.eth2signer.commandline;
 public class MockEth2SignerCommand extends Eth2SignerCommand {
 
   @Override
-  public void run() {}
+  public void run() {
+    validateArgs();
+  }
 }
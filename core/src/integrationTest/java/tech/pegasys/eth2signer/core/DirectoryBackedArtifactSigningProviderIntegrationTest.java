@@ -70,7 +70,7 @@ public class DirectoryBackedArtifactSigningProviderIntegrationTest {
     final SignerParser signerParser = new YamlSignerParser(artifactSignerFactory);
     signerProvider =
         new DirectoryBackedArtifactSignerProvider(
-            configsDirectory, FILE_EXTENSION, signerParser, 0);
+            configsDirectory, FILE_EXTENSION, signerParser, 0, new NoOpMetricsSystem());
 
     logAppender.start();
     logger.addAppender(logAppender);
@@ -14,17 +14,36 @@ package tech.pegasys.eth2signer.core;
 
 import tech.pegasys.eth2signer.core.config.ClientAuthConstraints;
 import tech.pegasys.eth2signer.core.config.Config;
+import tech.pegasys.eth2signer.core.config.HttpServerTuningOptions;
 import tech.pegasys.eth2signer.core.config.TlsOptions;
+import tech.pegasys.eth2signer.core.eth2.DomainTable;
+import tech.pegasys.eth2signer.core.eth2.Eth2SigningType;
 import tech.pegasys.eth2signer.core.http.HostAllowListHandler;
+import tech.pegasys.eth2signer.core.http.RequestDeadlineHandler;
+import tech.pegasys.eth2signer.core.http.handlers.AggregateSignaturesHandler;
+import tech.pegasys.eth2signer.core.http.handlers.Eth2SigningTypeHandler;
+import tech.pegasys.eth2signer.core.http.handlers.FlightRecorderHandler;
 import tech.pegasys.eth2signer.core.http.handlers.GetPublicKeysHandler;
+import tech.pegasys.eth2signer.core.http.handlers.LatencyHandler;
 import tech.pegasys.eth2signer.core.http.handlers.LogErrorHandler;
+import tech.pegasys.eth2signer.core.http.handlers.SignCommitteeHandler;
 import tech.pegasys.eth2signer.core.http.handlers.SignForPublicKeyHandler;
+import tech.pegasys.eth2signer.core.http.handlers.SignWebSocketHandler;
 import tech.pegasys.eth2signer.core.http.handlers.UpcheckHandler;
+import tech.pegasys.eth2signer.core.http.handlers.VerifyHandler;
+import tech.pegasys.eth2signer.core.http.handlers.WarmUpHandler;
+import tech.pegasys.eth2signer.core.metrics.EventLoopLagProbe;
+import tech.pegasys.eth2signer.core.metrics.LatencyHistograms;
 import tech.pegasys.eth2signer.core.metrics.MetricsEndpoint;
+import tech.pegasys.eth2signer.core.metrics.RouteTemplates;
 import tech.pegasys.eth2signer.core.metrics.VertxMetricsAdapterFactory;
 import tech.pegasys.eth2signer.core.multikey.DirectoryBackedArtifactSignerProvider;
+import tech.pegasys.eth2signer.core.multikey.SignerWarmUp;
 import tech.pegasys.eth2signer.core.multikey.metadata.ArtifactSignerFactory;
 import tech.pegasys.eth2signer.core.multikey.metadata.parser.YamlSignerParser;
+import tech.pegasys.eth2signer.core.recording.RequestRecorder;
+import tech.pegasys.eth2signer.core.signing.SignatureSelfCheck;
+import tech.pegasys.eth2signer.core.slashingprotection.SlashingProtection;
 import tech.pegasys.eth2signer.core.util.FileUtil;
 import tech.pegasys.signers.hashicorp.HashicorpConnectionFactory;
 
@@ -33,24 +52,42 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
 import io.vertx.core.http.ClientAuth;
+import io.vertx.core.http.Http2Settings;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.metrics.MetricsOptions;
 import io.vertx.core.net.PfxOptions;
+import io.vertx.core.net.SocketAddress;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.api.contract.openapi3.OpenAPI3RouterFactory;
 import io.vertx.ext.web.handler.ResponseContentTypeHandler;
@@ -74,9 +111,36 @@ public class Runner implements Runnable {
   private static final String UPCHECK_OPERATION_ID = "upcheck";
   private static final String GET_PUBLIC_KEYS_OPERATION_ID = "getPublicKeys";
   private static final String SIGN_FOR_PUBLIC_KEY_OPERATION_ID = "signForPublicKey";
+  private static final String SIGN_COMMITTEE_OPERATION_ID = "signCommittee";
+  private static final String SIGN_AND_AGGREGATE_COMMITTEE_OPERATION_ID =
+      "signAndAggregateCommittee";
+  private static final String AGGREGATE_SIGNATURES_OPERATION_ID = "aggregateSignatures";
+  private static final String VERIFY_SIGNATURES_OPERATION_ID = "verifySignatures";
+  private static final String WARM_UP_OPERATION_ID = "warmUp";
+  private static final Map<String, Eth2SigningType> TYPED_SIGNING_OPERATION_IDS =
+      Map.of(
+          "signBlock", Eth2SigningType.BLOCK,
+          "signAttestation", Eth2SigningType.ATTESTATION,
+          "signAggregateAndProof", Eth2SigningType.AGGREGATE_AND_PROOF,
+          "signRandaoReveal", Eth2SigningType.RANDAO_REVEAL,
+          "signVoluntaryExit", Eth2SigningType.VOLUNTARY_EXIT);
   private static final String SWAGGER_ENDPOINT = "/swagger-ui";
+  private static final String SIGN_WEBSOCKET_ENDPOINT = "/signer/ws";
+  private static final String ADMIN_RECORDINGS_ENDPOINT = "/admin/recordings";
+  private static final String ADMIN_RECORDING_ENDPOINT =
+      ADMIN_RECORDINGS_ENDPOINT + "/:" + FlightRecorderHandler.RECORDING_ID_PARAM;
+  private static final String ADMIN_LATENCY_ENDPOINT = "/admin/latency";
+  private static final Duration EVENT_LOOP_PROBE_INTERVAL = Duration.ofSeconds(1);
 
   private final Config config;
+  private final LatencyHistograms latencyHistograms = new LatencyHistograms();
+  private Vertx vertx;
+  private MetricsEndpoint metricsEndpoint;
+  private EventLoopLagProbe eventLoopLagProbe;
+  private RequestRecorder requestRecorder;
+  private SlashingProtection slashingProtection;
+  private SignatureSelfCheck signatureSelfCheck;
+  private SignerWarmUp signerWarmUp;
 
   public Runner(final Config config) {
     this.config = config;
@@ -88,7 +152,7 @@ public class Runner implements Runnable {
     System.out.println("Setting logging level to " + config.getLogLevel().name());
     Configurator.setAllLevels("", config.getLogLevel());
 
-    final MetricsEndpoint metricsEndpoint =
+    metricsEndpoint =
         new MetricsEndpoint(
             config.isMetricsEnabled(),
             config.getMetricsPort(),
@@ -97,43 +161,207 @@ public class Runner implements Runnable {
             config.getMetricsHostAllowList());
 
     final MetricsSystem metricsSystem = metricsEndpoint.getMetricsSystem();
+    final RouteTemplates routeTemplates = createRouteTemplates();
     final MetricsOptions metricsOptions =
         new MetricsOptions()
             .setEnabled(true)
-            .setFactory(new VertxMetricsAdapterFactory(metricsSystem));
-    final VertxOptions vertxOptions = new VertxOptions().setMetricsOptions(metricsOptions);
-    final Vertx vertx = Vertx.vertx(vertxOptions);
+            .setFactory(new VertxMetricsAdapterFactory(metricsSystem, routeTemplates));
+    final VertxOptions vertxOptions =
+        new VertxOptions()
+            .setMetricsOptions(metricsOptions)
+            .setPreferNativeTransport(
+                config.getHttpServerTuningOptions().isNativeTransportEnabled()
+                    || config.getHttpListenUnixSocketPath().isPresent());
+    vertx = Vertx.vertx(vertxOptions);
+    logTransport(vertx);
+    eventLoopLagProbe =
+        new EventLoopLagProbe(
+            metricsSystem,
+            vertx,
+            EVENT_LOOP_PROBE_INTERVAL,
+            Duration.ofNanos(
+                vertxOptions
+                    .getMaxEventLoopExecuteTimeUnit()
+                    .toNanos(vertxOptions.getMaxEventLoopExecuteTime())));
 
     try {
       metricsEndpoint.start(vertx);
-
+      eventLoopLagProbe.start();
+      latencyHistograms.start();
+
+      // fails if the data path is locked, before any key is loaded
+      if (config.isSlashingProtectionEnabled()) {
+        slashingProtection =
+            SlashingProtection.load(
+                config.getDataPath(),
+                Duration.of(config.getSlashingProtectionCommitWindowMicros(), ChronoUnit.MICROS),
+                config.getSlashingProtectionCommitBatchSize(),
+                metricsSystem);
+      }
       final DirectoryBackedArtifactSignerProvider signerProvider =
           createSignerProvider(metricsSystem, vertx);
       signerProvider.cacheAllSigners();
-
+      if (config.isSignerWarmUpEnabled()) {
+        signerWarmUp = new SignerWarmUp(signerProvider, Clock.systemUTC(), metricsSystem);
+        signerWarmUp.start();
+      }
+      if (config.isSignatureSelfCheckEnabled()) {
+        signatureSelfCheck =
+            new SignatureSelfCheck(
+                Duration.of(config.getSignatureSelfCheckLatencyBudgetMicros(), ChronoUnit.MICROS),
+                metricsSystem);
+        signatureSelfCheck.start();
+      }
+
+      final RequestDeadlineHandler requestDeadlineHandler =
+          new RequestDeadlineHandler(metricsSystem, Clock.systemUTC());
+      final DomainTable domainTable = new DomainTable(metricsSystem);
+      // shared by the HTTP and WebSocket signing endpoints
+      final SignForPublicKeyHandler signForPublicKeyHandler =
+          new SignForPublicKeyHandler(
+              signerProvider,
+              requestDeadlineHandler,
+              metricsSystem,
+              latencyHistograms,
+              Optional.ofNullable(slashingProtection),
+              Optional.ofNullable(signatureSelfCheck),
+              domainTable);
       final OpenAPI3RouterFactory openApiRouterFactory =
-          createOpenApiRouterFactory(vertx, signerProvider);
+          createOpenApiRouterFactory(
+              vertx, signerProvider, signForPublicKeyHandler, requestDeadlineHandler, domainTable);
+      if (config.isRequestRecordingEnabled()) {
+        // mounted first so recorded latency covers every other handler
+        requestRecorder =
+            new RequestRecorder(
+                config.getDataPath(),
+                routeTemplates,
+                config.isRequestRecordingPayloadsEnabled(),
+                metricsSystem);
+        openApiRouterFactory.addGlobalHandler(requestRecorder);
+      }
       registerHttpHostAllowListHandler(openApiRouterFactory);
       final Router router = openApiRouterFactory.getRouter();
       registerOpenApiSpecRoute(router); // serve static openapi spec
-
-      final HttpServer httpServer = createServerAndWait(vertx, router);
-      LOG.info("Server is up, and listening on {}", httpServer.actualPort());
-
-      persistPortInformation(httpServer.actualPort(), metricsEndpoint.getPort());
+      registerSignWebSocketRoute(router, signForPublicKeyHandler, requestDeadlineHandler);
+
+      Optional<Integer> httpPort = Optional.empty();
+      if (config.isHttpListenTcpEnabled()) {
+        final HttpServer httpServer = createServerAndWait(vertx, router);
+        LOG.info("Server is up, and listening on {}", httpServer.actualPort());
+        httpPort = Optional.of(httpServer.actualPort());
+      }
+
+      final Optional<Path> unixSocketPath = config.getHttpListenUnixSocketPath();
+      if (unixSocketPath.isPresent()) {
+        createUnixSocketServerAndWait(vertx, router, unixSocketPath.get());
+        LOG.info("Server is up, and listening on unix socket {}", unixSocketPath.get());
+      }
+
+      Optional<Integer> adminPort = Optional.empty();
+      if (config.isAdminEndpointsEnabled()) {
+        final HttpServer adminServer = createAdminServerAndWait(vertx, createAdminRouter(vertx));
+        LOG.info("Admin endpoints are up, and listening on {}", adminServer.actualPort());
+        adminPort = Optional.of(adminServer.actualPort());
+      }
+
+      persistPortInformation(httpPort, metricsEndpoint.getPort(), adminPort);
     } catch (final Throwable e) {
-      vertx.close();
-      metricsEndpoint.stop();
+      stop();
       LOG.error("Failed to create Http Server", e);
     }
   }
 
+  /**
+   * Closes the http servers, metrics endpoint, request log, slashing protection log, signature self
+   * check and signer warm up started by {@link #run()}.
+   */
+  public void stop() {
+    if (vertx == null) {
+      return;
+    }
+    if (eventLoopLagProbe != null) {
+      eventLoopLagProbe.stop();
+    }
+    latencyHistograms.stop();
+    vertx.close();
+    metricsEndpoint.stop();
+    if (requestRecorder != null) {
+      requestRecorder.close();
+    }
+    if (slashingProtection != null) {
+      slashingProtection.close();
+    }
+    if (signatureSelfCheck != null) {
+      signatureSelfCheck.close();
+    }
+    if (signerWarmUp != null) {
+      signerWarmUp.stop();
+    }
+  }
+
+  private RouteTemplates createRouteTemplates() {
+    final RouteTemplates routeTemplates =
+        new RouteTemplates()
+            .add(SWAGGER_ENDPOINT, HttpMethod.GET)
+            .add(SWAGGER_ENDPOINT + "/eth2signer.yaml", HttpMethod.GET)
+            .add(SIGN_WEBSOCKET_ENDPOINT, HttpMethod.GET);
+    if (config.isAdminEndpointsEnabled()) {
+      routeTemplates
+          .add(ADMIN_RECORDINGS_ENDPOINT, HttpMethod.GET)
+          .add(ADMIN_RECORDINGS_ENDPOINT, HttpMethod.POST)
+          .add(ADMIN_RECORDINGS_ENDPOINT + "/{id}/stop", HttpMethod.POST)
+          .add(ADMIN_RECORDINGS_ENDPOINT + "/{id}", HttpMethod.GET)
+          .add(ADMIN_RECORDINGS_ENDPOINT + "/{id}", HttpMethod.DELETE)
+          .add(ADMIN_LATENCY_ENDPOINT, HttpMethod.GET)
+          .add(ADMIN_LATENCY_ENDPOINT + "/{operation}", HttpMethod.GET);
+    }
+    try {
+      addOpenApiRouteTemplates(routeTemplates);
+    } catch (final IOException e) {
+      throw new InitializationException("Unable to read route templates from openapi spec", e);
+    }
+    return routeTemplates;
+  }
+
+  private static void addOpenApiRouteTemplates(final RouteTemplates routeTemplates)
+      throws IOException {
+    final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+    final JsonNode paths =
+        yamlMapper.readTree(Resources.getResource(OPENAPI_SPEC_RESOURCE)).get("paths");
+    final Iterator<Entry<String, JsonNode>> pathItems = paths.fields();
+    while (pathItems.hasNext()) {
+      final Entry<String, JsonNode> pathItem = pathItems.next();
+      final Iterator<String> fieldNames = pathItem.getValue().fieldNames();
+      while (fieldNames.hasNext()) {
+        final String fieldName = fieldNames.next().toUpperCase(Locale.US);
+        // a path item holds its operations keyed by http method, alongside other properties
+        Arrays.stream(HttpMethod.values())
+            .filter(method -> method.name().equals(fieldName))
+            .forEach(method -> routeTemplates.add(pathItem.getKey(), method));
+      }
+    }
+  }
+
+  private void logTransport(final Vertx vertx) {
+    if (vertx.isNativeTransportEnabled()) {
+      LOG.info("Using native transport");
+    } else if (config.getHttpServerTuningOptions().isNativeTransportEnabled()) {
+      LOG.warn("Native transport was requested but is not available, using NIO transport");
+    } else {
+      LOG.info("Using NIO transport");
+    }
+  }
+
   private void registerHttpHostAllowListHandler(final OpenAPI3RouterFactory openApiRouterFactory) {
     openApiRouterFactory.addGlobalHandler(new HostAllowListHandler(config.getHttpHostAllowList()));
   }
 
   private OpenAPI3RouterFactory createOpenApiRouterFactory(
-      final Vertx vertx, final DirectoryBackedArtifactSignerProvider signerProvider)
+      final Vertx vertx,
+      final DirectoryBackedArtifactSignerProvider signerProvider,
+      final SignForPublicKeyHandler signForPublicKeyHandler,
+      final RequestDeadlineHandler requestDeadlineHandler,
+      final DomainTable domainTable)
       throws InterruptedException, ExecutionException {
     final LogErrorHandler errorHandler = new LogErrorHandler();
     final OpenAPI3RouterFactory openAPI3RouterFactory = getOpenAPI3RouterFactory(vertx);
@@ -149,11 +377,79 @@ public class Runner implements Runnable {
     openAPI3RouterFactory.addFailureHandlerByOperationId(
         GET_PUBLIC_KEYS_OPERATION_ID, errorHandler);
 
+    // deadlines only apply to signing operations, so a malformed deadline header cannot fail an
+    // upcheck or key listing
+    openAPI3RouterFactory.addHandlerByOperationId(
+        SIGN_FOR_PUBLIC_KEY_OPERATION_ID, requestDeadlineHandler);
     openAPI3RouterFactory.addHandlerByOperationId(
-        SIGN_FOR_PUBLIC_KEY_OPERATION_ID, new SignForPublicKeyHandler(signerProvider));
+        SIGN_FOR_PUBLIC_KEY_OPERATION_ID, signForPublicKeyHandler);
     openAPI3RouterFactory.addFailureHandlerByOperationId(
         SIGN_FOR_PUBLIC_KEY_OPERATION_ID, errorHandler);
 
+    // typed requests share the signing handler, which computes their signing root
+    for (final Entry<String, Eth2SigningType> typedOperation :
+        TYPED_SIGNING_OPERATION_IDS.entrySet()) {
+      openAPI3RouterFactory.addHandlerByOperationId(
+          typedOperation.getKey(), requestDeadlineHandler);
+      openAPI3RouterFactory.addHandlerByOperationId(
+          typedOperation.getKey(), new Eth2SigningTypeHandler(typedOperation.getValue()));
+      openAPI3RouterFactory.addHandlerByOperationId(
+          typedOperation.getKey(), signForPublicKeyHandler);
+      openAPI3RouterFactory.addFailureHandlerByOperationId(typedOperation.getKey(), errorHandler);
+    }
+
+    openAPI3RouterFactory.addHandlerByOperationId(
+        SIGN_COMMITTEE_OPERATION_ID, requestDeadlineHandler);
+    openAPI3RouterFactory.addHandlerByOperationId(
+        SIGN_COMMITTEE_OPERATION_ID,
+        new SignCommitteeHandler(
+            signerProvider,
+            requestDeadlineHandler,
+            latencyHistograms,
+            Optional.ofNullable(signatureSelfCheck),
+            Optional.ofNullable(slashingProtection),
+            domainTable,
+            false));
+    openAPI3RouterFactory.addFailureHandlerByOperationId(SIGN_COMMITTEE_OPERATION_ID, errorHandler);
+
+    openAPI3RouterFactory.addHandlerByOperationId(
+        SIGN_AND_AGGREGATE_COMMITTEE_OPERATION_ID, requestDeadlineHandler);
+    openAPI3RouterFactory.addHandlerByOperationId(
+        SIGN_AND_AGGREGATE_COMMITTEE_OPERATION_ID,
+        new SignCommitteeHandler(
+            signerProvider,
+            requestDeadlineHandler,
+            latencyHistograms,
+            Optional.ofNullable(signatureSelfCheck),
+            Optional.ofNullable(slashingProtection),
+            domainTable,
+            true));
+    openAPI3RouterFactory.addFailureHandlerByOperationId(
+        SIGN_AND_AGGREGATE_COMMITTEE_OPERATION_ID, errorHandler);
+
+    openAPI3RouterFactory.addHandlerByOperationId(
+        AGGREGATE_SIGNATURES_OPERATION_ID, requestDeadlineHandler);
+    openAPI3RouterFactory.addHandlerByOperationId(
+        AGGREGATE_SIGNATURES_OPERATION_ID,
+        new AggregateSignaturesHandler(requestDeadlineHandler, latencyHistograms));
+    openAPI3RouterFactory.addFailureHandlerByOperationId(
+        AGGREGATE_SIGNATURES_OPERATION_ID, errorHandler);
+
+    openAPI3RouterFactory.addHandlerByOperationId(
+        VERIFY_SIGNATURES_OPERATION_ID, requestDeadlineHandler);
+    openAPI3RouterFactory.addHandlerByOperationId(
+        VERIFY_SIGNATURES_OPERATION_ID,
+        new VerifyHandler(requestDeadlineHandler, latencyHistograms));
+    openAPI3RouterFactory.addFailureHandlerByOperationId(
+        VERIFY_SIGNATURES_OPERATION_ID, errorHandler);
+
+    // left without a handler when disabled, so the router answers 501
+    if (signerWarmUp != null) {
+      openAPI3RouterFactory.addHandlerByOperationId(
+          WARM_UP_OPERATION_ID, new WarmUpHandler(signerWarmUp));
+      openAPI3RouterFactory.addFailureHandlerByOperationId(WARM_UP_OPERATION_ID, errorHandler);
+    }
+
     return openAPI3RouterFactory;
   }
 
@@ -183,7 +479,8 @@ public class Runner implements Runnable {
         config.getKeyConfigPath(),
         "yaml",
         new YamlSignerParser(artifactSignerFactory),
-        config.getKeyCacheLimit());
+        config.getKeyCacheLimit(),
+        metricsSystem);
   }
 
   private void registerOpenApiSpecRoute(final Router router) throws IOException {
@@ -205,6 +502,51 @@ public class Runner implements Runnable {
         .handler(routingContext -> routingContext.response().end(indexHtml));
   }
 
+  private void registerSignWebSocketRoute(
+      final Router router,
+      final SignForPublicKeyHandler signForPublicKeyHandler,
+      final RequestDeadlineHandler requestDeadlineHandler) {
+    // the global host allowlist handler is mounted ahead of every route, including this one
+    router
+        .route(HttpMethod.GET, SIGN_WEBSOCKET_ENDPOINT)
+        .handler(new SignWebSocketHandler(signForPublicKeyHandler, requestDeadlineHandler));
+  }
+
+  // served apart from the signing endpoints, so recordings and latency data are not exposed on
+  // an interface opened to validator clients
+  private Router createAdminRouter(final Vertx vertx) {
+    final Router router = Router.router(vertx);
+    router.route().handler(new HostAllowListHandler(config.getAdminHostAllowList()));
+
+    final FlightRecorderHandler flightRecorderHandler = new FlightRecorderHandler();
+    router.get(ADMIN_RECORDINGS_ENDPOINT).handler(flightRecorderHandler::listRecordings);
+    router.post(ADMIN_RECORDINGS_ENDPOINT).handler(flightRecorderHandler::startRecording);
+    router.post(ADMIN_RECORDING_ENDPOINT + "/stop").handler(flightRecorderHandler::stopRecording);
+    router.get(ADMIN_RECORDING_ENDPOINT).handler(flightRecorderHandler::downloadRecording);
+    router.delete(ADMIN_RECORDING_ENDPOINT).handler(flightRecorderHandler::closeRecording);
+
+    final LatencyHandler latencyHandler = new LatencyHandler(latencyHistograms);
+    router.get(ADMIN_LATENCY_ENDPOINT).handler(latencyHandler::getLatency);
+    router
+        .get(ADMIN_LATENCY_ENDPOINT + "/:" + LatencyHandler.OPERATION_PARAM)
+        .handler(latencyHandler::getDistribution);
+    return router;
+  }
+
+  private HttpServer createAdminServerAndWait(
+      final Vertx vertx, final Handler<HttpServerRequest> requestHandler)
+      throws ExecutionException, InterruptedException {
+    final HttpServerOptions serverOptions =
+        new HttpServerOptions()
+            .setPort(config.getAdminListenPort())
+            .setHost(config.getAdminListenHost())
+            .setReuseAddress(true);
+    final HttpServer httpServer = vertx.createHttpServer(serverOptions);
+    return listenAndWait(
+        httpServer.requestHandler(requestHandler),
+        SocketAddress.inetSocketAddress(config.getAdminListenPort(), config.getAdminListenHost()));
+  }
+
   private HttpServer createServerAndWait(
       final Vertx vertx, final Handler<HttpServerRequest> requestHandler)
       throws ExecutionException, InterruptedException {
@@ -214,24 +556,109 @@ public class Runner implements Runnable {
             .setHost(config.getHttpListenHost())
             .setReuseAddress(true)
             .setReusePort(true);
-    final HttpServerOptions tlsServerOptions = applyConfigTlsSettingsTo(serverOptions);
+    final HttpServerOptions tunedServerOptions = applyConfigTuningSettingsTo(serverOptions);
+    final HttpServerOptions tlsServerOptions = applyConfigTlsSettingsTo(tunedServerOptions);
     final HttpServer httpServer = vertx.createHttpServer(tlsServerOptions);
+    return listenAndWait(
+        httpServer.requestHandler(requestHandler),
+        SocketAddress.inetSocketAddress(config.getHttpListenPort(), config.getHttpListenHost()));
+  }
+
+  // Co-located clients are authorised by the file permissions of the socket, which is restricted
+  // to the signer's user as soon as it is bound, so TLS is not applied
+  private HttpServer createUnixSocketServerAndWait(
+      final Vertx vertx, final Handler<HttpServerRequest> requestHandler, final Path socketPath)
+      throws ExecutionException, InterruptedException {
+    if (!vertx.isNativeTransportEnabled()) {
+      throw new InitializationException(
+          "Listening on a unix socket requires the native transport, which is unavailable");
+    }
+    removeStaleUnixSocket(socketPath);
+
+    socketPath.toFile().deleteOnExit();
+
+    final HttpServerOptions serverOptions = applyConfigTuningSettingsTo(new HttpServerOptions());
+    final HttpServer httpServer = vertx.createHttpServer(serverOptions);
+    final HttpServer listening =
+        listenAndWait(
+            httpServer.requestHandler(requestHandler),
+            SocketAddress.domainSocketAddress(socketPath.toAbsolutePath().toString()));
+    restrictUnixSocketToOwner(socketPath);
+    return listening;
+  }
+
+  // the socket is otherwise created with the process umask, which may let any local user connect
+  @VisibleForTesting
+  static void restrictUnixSocketToOwner(final Path socketPath) {
+    try {
+      Files.setPosixFilePermissions(socketPath, PosixFilePermissions.fromString("rw-------"));
+    } catch (final IOException | UnsupportedOperationException e) {
+      throw new InitializationException(
+          "Unable to restrict unix socket " + socketPath + " to its owner", e);
+    }
+  }
+
+  @VisibleForTesting
+  static void removeStaleUnixSocket(final Path socketPath) {
+    if (Files.isRegularFile(socketPath) || Files.isDirectory(socketPath)) {
+      throw new InitializationException(
+          "Unix socket path " + socketPath + " exists and is not a socket");
+    }
+    try {
+      if (Files.deleteIfExists(socketPath)) {
+        LOG.info("Removed stale unix socket {}", socketPath);
+      }
+    } catch (final IOException e) {
+      throw new InitializationException("Unable to remove stale unix socket " + socketPath, e);
+    }
+  }
+
+  private HttpServer listenAndWait(final HttpServer httpServer, final SocketAddress address)
+      throws ExecutionException, InterruptedException {
     final CompletableFuture<Void> serverRunningFuture = new CompletableFuture<>();
-    httpServer
-        .requestHandler(requestHandler)
-        .listen(
-            result -> {
-              if (result.succeeded()) {
-                serverRunningFuture.complete(null);
-              } else {
-                serverRunningFuture.completeExceptionally(result.cause());
-              }
-            });
+    httpServer.listen(
+        address,
+        result -> {
+          if (result.succeeded()) {
+            serverRunningFuture.complete(null);
+          } else {
+            serverRunningFuture.completeExceptionally(result.cause());
+          }
+        });
     serverRunningFuture.get();
 
     return httpServer;
   }
 
+  private HttpServerOptions applyConfigTuningSettingsTo(final HttpServerOptions input) {
+    final HttpServerTuningOptions tuningOptions = config.getHttpServerTuningOptions();
+    final HttpServerOptions result = new HttpServerOptions(input);
+
+    result.setTcpNoDelay(tuningOptions.isTcpNoDelay());
+    result.setTcpQuickAck(tuningOptions.isTcpQuickAck());
+    result.setAcceptBacklog(tuningOptions.getAcceptBacklog());
+    if (tuningOptions.getIdleTimeoutSeconds() > 0) {
+      result.setIdleTimeout(tuningOptions.getIdleTimeoutSeconds());
+      result.setIdleTimeoutUnit(TimeUnit.SECONDS);
+    }
+    // values less than 1 leave the operating system defaults in place
+    if (tuningOptions.getSendBufferSize() > 0) {
+      result.setSendBufferSize(tuningOptions.getSendBufferSize());
+    }
+    if (tuningOptions.getReceiveBufferSize() > 0) {
+      result.setReceiveBufferSize(tuningOptions.getReceiveBufferSize());
+    }
+
+    result.setHttp2ClearTextEnabled(tuningOptions.isHttp2Enabled());
+    if (tuningOptions.isHttp2Enabled()) {
+      result.setInitialSettings(
+          new Http2Settings()
+              .setMaxConcurrentStreams(tuningOptions.getHttp2MaxConcurrentStreams()));
+    }
+
+    return result;
+  }
+
   private HttpServerOptions applyConfigTlsSettingsTo(final HttpServerOptions input) {
 
     if (config.getTlsOptions().isEmpty()) {
@@ -240,6 +667,8 @@ public class Runner implements Runnable {
 
     HttpServerOptions result = new HttpServerOptions(input);
     result.setSsl(true);
+    // ALPN negotiates HTTP/2 where the client supports it, falling back to HTTP/1.1
+    result.setUseAlpn(config.getHttpServerTuningOptions().isHttp2Enabled());
     final TlsOptions tlsConfig = config.getTlsOptions().get();
 
     result = applyTlsKeyStore(result, tlsConfig);
@@ -293,7 +722,10 @@ public class Runner implements Runnable {
     return result;
   }
 
-  private void persistPortInformation(final int httpPort, final Optional<Integer> metricsPort) {
+  private void persistPortInformation(
+      final Optional<Integer> httpPort,
+      final Optional<Integer> metricsPort,
+      final Optional<Integer> adminPort) {
     if (config.getDataPath() == null) {
       return;
     }
@@ -302,8 +734,9 @@ public class Runner implements Runnable {
     portsFile.deleteOnExit();
 
     final Properties properties = new Properties();
-    properties.setProperty("http-port", String.valueOf(httpPort));
+    httpPort.ifPresent(port -> properties.setProperty("http-port", String.valueOf(port)));
     metricsPort.ifPresent(port -> properties.setProperty("metrics-port", String.valueOf(port)));
+    adminPort.ifPresent(port -> properties.setProperty("admin-port", String.valueOf(port)));
 
     LOG.info(
         "Writing eth2signer.ports file: {}, with contents: {}",
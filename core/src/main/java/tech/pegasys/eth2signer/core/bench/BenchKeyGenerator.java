@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.bench;
+
+import static tech.pegasys.signers.bls.keystore.model.Pbkdf2PseudoRandomFunction.HMAC_SHA256;
+
+import tech.pegasys.signers.bls.keystore.KeyStore;
+import tech.pegasys.signers.bls.keystore.KeyStoreLoader;
+import tech.pegasys.signers.bls.keystore.model.Cipher;
+import tech.pegasys.signers.bls.keystore.model.CipherFunction;
+import tech.pegasys.signers.bls.keystore.model.KdfParam;
+import tech.pegasys.signers.bls.keystore.model.KeyStoreData;
+import tech.pegasys.signers.bls.keystore.model.Pbkdf2Param;
+import tech.pegasys.signers.bls.keystore.model.SCryptParam;
+import tech.pegasys.teku.bls.BLSKeyPair;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/** Writes signing metadata files for throwaway keys, for use by the bench command. */
+public class BenchKeyGenerator {
+
+  private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+  private static final String PASSWORD = "password";
+
+  private final Path directory;
+  private final BenchKeyType keyType;
+
+  public BenchKeyGenerator(final Path directory, final BenchKeyType keyType) {
+    this.directory = directory;
+    this.keyType = keyType;
+  }
+
+  /** Generates the keys, seeded by their index so repeated runs use the same keys. */
+  public List<String> generate(final int count) {
+    return IntStream.range(0, count)
+        .parallel()
+        .mapToObj(BLSKeyPair::random)
+        .map(this::createMetadataFile)
+        .collect(Collectors.toList());
+  }
+
+  private String createMetadataFile(final BLSKeyPair keyPair) {
+    final String publicKey = keyPair.getPublicKey().toString();
+    final Bytes privateKey = keyPair.getSecretKey().getSecretKey().toBytes();
+
+    final Map<String, String> signingMetadata = new LinkedHashMap<>();
+    if (keyType == BenchKeyType.FILE_RAW) {
+      signingMetadata.put("type", "file-raw");
+      signingMetadata.put("privateKey", privateKey.toHexString());
+    } else {
+      final Path keystoreFile = directory.resolve(publicKey + ".json");
+      final Path passwordFile = directory.resolve(publicKey + ".password");
+      writeKeyStore(keystoreFile, passwordFile, privateKey, keyPair);
+      signingMetadata.put("type", "file-keystore");
+      signingMetadata.put("keystoreFile", keystoreFile.toString());
+      signingMetadata.put("keystorePasswordFile", passwordFile.toString());
+    }
+
+    try {
+      YAML_MAPPER.writeValue(directory.resolve(publicKey + ".yaml").toFile(), signingMetadata);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to write signing metadata for " + publicKey, e);
+    }
+    return publicKey;
+  }
+
+  private void writeKeyStore(
+      final Path keystoreFile,
+      final Path passwordFile,
+      final Bytes privateKey,
+      final BLSKeyPair keyPair) {
+    final KdfParam kdfParam =
+        keyType == BenchKeyType.SCRYPT
+            ? new SCryptParam(32, Bytes32.random())
+            : new Pbkdf2Param(32, 262144, HMAC_SHA256, Bytes32.random());
+    final KeyStoreData keyStoreData =
+        KeyStore.encrypt(
+            privateKey,
+            keyPair.getPublicKey().toBytesCompressed(),
+            PASSWORD,
+            "",
+            kdfParam,
+            new Cipher(CipherFunction.AES_128_CTR, Bytes.random(16)));
+    try {
+      KeyStoreLoader.saveToFile(keystoreFile, keyStoreData);
+      Files.writeString(passwordFile, PASSWORD);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to write keystore " + keystoreFile, e);
+    }
+  }
+}
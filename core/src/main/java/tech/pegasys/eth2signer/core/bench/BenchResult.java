@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.bench;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+public class BenchResult {
+
+  private final long errorCount;
+  private final Duration duration;
+  private final long[] sortedLatencies;
+  private final Map<String, BenchResult> labelResults;
+
+  public BenchResult(final long errorCount, final Duration duration, final long[] sortedLatencies) {
+    this(errorCount, duration, sortedLatencies, Map.of());
+  }
+
+  public BenchResult(
+      final long errorCount,
+      final Duration duration,
+      final long[] sortedLatencies,
+      final Map<String, BenchResult> labelResults) {
+    this.errorCount = errorCount;
+    this.duration = duration;
+    this.sortedLatencies = sortedLatencies;
+    this.labelResults = labelResults;
+  }
+
+  /** The result of the requests with the given label, empty if none were sent. */
+  public BenchResult forLabel(final String label) {
+    return labelResults.getOrDefault(label, new BenchResult(0, duration, new long[0]));
+  }
+
+  public long getSuccessCount() {
+    return sortedLatencies.length;
+  }
+
+  public long getErrorCount() {
+    return errorCount;
+  }
+
+  public Duration getDuration() {
+    return duration;
+  }
+
+  /** Successful requests per second. */
+  public double getThroughput() {
+    return sortedLatencies.length / (duration.toNanos() / 1_000_000_000.0);
+  }
+
+  /** Returns the latency at the given percentile, between 0 and 100, using nearest rank. */
+  public Duration getLatency(final double percentile) {
+    if (sortedLatencies.length == 0) {
+      return Duration.ZERO;
+    }
+    final int rank = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length);
+    return Duration.ofNanos(sortedLatencies[Math.max(0, rank - 1)]);
+  }
+
+  public Duration getMaxLatency() {
+    return getLatency(100);
+  }
+
+  /** The share of all requests which succeeded within the latency, counting failures as late. */
+  public double getFractionWithin(final Duration latency) {
+    final long requestCount = sortedLatencies.length + errorCount;
+    if (requestCount == 0) {
+      return 1.0;
+    }
+    final int index = Arrays.binarySearch(sortedLatencies, latency.toNanos());
+    // the first index beyond the latency, as binary search finds any of equal latencies
+    int withinCount = index >= 0 ? index + 1 : -index - 1;
+    while (withinCount < sortedLatencies.length
+        && sortedLatencies[withinCount] <= latency.toNanos()) {
+      withinCount++;
+    }
+    return withinCount / (double) requestCount;
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.bench;
+
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.List;
+
+/** Prints the request counts, throughput and latency percentiles of a {@link BenchResult}. */
+public class BenchResultPrinter {
+
+  private static final List<String> PERCENTILES = List.of("50", "90", "99", "99.9");
+
+  private BenchResultPrinter() {}
+
+  public static void print(final PrintWriter out, final BenchResult result) {
+    out.printf(
+        "Requests: %d succeeded, %d failed in %.1fs%n",
+        result.getSuccessCount(),
+        result.getErrorCount(),
+        result.getDuration().toMillis() / 1000.0);
+    out.printf("Throughput: %.1f requests/s%n", result.getThroughput());
+    for (final String percentile : PERCENTILES) {
+      final Duration latency = result.getLatency(Double.parseDouble(percentile));
+      out.printf("Latency p%s: %.3f ms%n", percentile, toMillis(latency));
+    }
+    out.printf("Latency max: %.3f ms%n", toMillis(result.getMaxLatency()));
+  }
+
+  private static double toMillis(final Duration duration) {
+    return duration.toNanos() / 1_000_000.0;
+  }
+}
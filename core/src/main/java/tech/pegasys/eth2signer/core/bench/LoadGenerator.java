@@ -0,0 +1,250 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.bench;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Sends the requests of a {@link RequestSource} over keep-alive connections and measures their
+ * latency, reporting results overall and for each request label.
+ *
+ * <p>Unpaced, each connection sends its next request as soon as the previous one completes. Paced,
+ * requests are sent when due regardless of how many are outstanding, and latency is measured from
+ * the due time so that a stalled server is not hidden by requests it delayed being sent. A request
+ * fails when its response status differs from the expected one.
+ */
+public class LoadGenerator {
+
+  public static final String SIGN_LABEL = "sign";
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final String SIGN_PATH = "/signer/sign/";
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private final String host;
+  private final int port;
+  private final int concurrency;
+  private final boolean paced;
+
+  private final LatencyRecorder latencyRecorder = new LatencyRecorder();
+  private final Map<String, LatencyRecorder> labelLatencyRecorders = new TreeMap<>();
+  private final Map<String, Long> labelErrorCounts = new TreeMap<>();
+  private final CompletableFuture<BenchResult> result = new CompletableFuture<>();
+  private Vertx vertx;
+  private WebClient webClient;
+  private RequestSource source;
+  private Optional<LoadRequest> next;
+  private Optional<Duration> duration;
+  private long startedAt;
+  private long measureFrom;
+  private long endAt;
+  private long inFlight;
+  private long errorCount;
+
+  /**
+   * @param host the host to send requests to
+   * @param port the port to send requests to
+   * @param concurrency the number of connections, and of requests in flight when unpaced
+   * @param paced whether requests are sent at their offsets rather than as fast as possible
+   */
+  public LoadGenerator(
+      final String host, final int port, final int concurrency, final boolean paced) {
+    checkArgument(concurrency > 0, "Concurrency must be positive");
+    this.host = host;
+    this.port = port;
+    this.concurrency = concurrency;
+    this.paced = paced;
+  }
+
+  /**
+   * Returns signing requests cycling through the public keys, due at the given rate per second.
+   * The source never runs out, so it is sent for a duration.
+   */
+  public static RequestSource signingRequests(final List<String> publicKeys, final long rate) {
+    checkArgument(!publicKeys.isEmpty(), "At least one public key is required");
+    checkArgument(rate >= 0, "Rate must not be negative");
+    final Buffer body =
+        Buffer.buffer(new JsonObject().put("data", Bytes32.random().toHexString()).encode());
+    return new RequestSource() {
+      private long created;
+
+      @Override
+      public Optional<LoadRequest> next() {
+        final String publicKey = publicKeys.get((int) (created % publicKeys.size()));
+        final long offsetNanos = rate > 0 ? created * NANOS_PER_SECOND / rate : 0;
+        created++;
+        return Optional.of(
+            new LoadRequest(
+                offsetNanos, SIGN_LABEL, HttpMethod.POST, SIGN_PATH + publicKey, body, 200));
+      }
+    };
+  }
+
+  /** Sends load for the warmup period and then measures it for the duration. */
+  public BenchResult run(
+      final RequestSource source, final Duration warmup, final Duration duration)
+      throws InterruptedException, ExecutionException {
+    return run(source, warmup, Optional.of(duration));
+  }
+
+  /** Sends every request of the source, measuring them all. */
+  public BenchResult run(final RequestSource source)
+      throws InterruptedException, ExecutionException {
+    return run(source, Duration.ZERO, Optional.empty());
+  }
+
+  private BenchResult run(
+      final RequestSource source, final Duration warmup, final Optional<Duration> duration)
+      throws InterruptedException, ExecutionException {
+    this.source = source;
+    this.duration = duration;
+    vertx = Vertx.vertx();
+    try {
+      webClient =
+          WebClient.create(
+              vertx,
+              new WebClientOptions()
+                  .setDefaultHost(host)
+                  .setDefaultPort(port)
+                  .setKeepAlive(true)
+                  .setTcpNoDelay(true)
+                  .setMaxPoolSize(concurrency));
+      // all requests and responses are handled on this context, so no state is shared
+      vertx.runOnContext(v -> start(warmup));
+      return result.get();
+    } finally {
+      vertx.close();
+    }
+  }
+
+  private void start(final Duration warmup) {
+    startedAt = System.nanoTime();
+    measureFrom = startedAt + warmup.toNanos();
+    endAt = duration.map(d -> measureFrom + d.toNanos()).orElse(Long.MAX_VALUE);
+    next = source.next();
+    if (paced) {
+      vertx.setPeriodic(1, this::sendDue);
+    } else {
+      for (int i = 0; i < concurrency; i++) {
+        sendNext(startedAt);
+      }
+    }
+    completeIfIdle();
+  }
+
+  private void sendDue(final long timerId) {
+    final long now = System.nanoTime();
+    while (next.isPresent() && startedAt + next.get().getOffsetNanos() <= now && now < endAt) {
+      send(next.get(), startedAt + next.get().getOffsetNanos());
+      next = source.next();
+    }
+    if (next.isEmpty() || now >= endAt) {
+      vertx.cancelTimer(timerId);
+      completeIfIdle();
+    }
+  }
+
+  private void sendNext(final long now) {
+    if (next.isPresent() && now < endAt) {
+      final LoadRequest request = next.get();
+      next = source.next();
+      send(request, now);
+    }
+  }
+
+  private void send(final LoadRequest request, final long scheduledAt) {
+    inFlight++;
+    final HttpRequest<Buffer> httpRequest =
+        webClient.request(request.getMethod(), request.getPath());
+    if (request.getBody().length() > 0) {
+      httpRequest
+          .putHeader("Content-Type", "application/json")
+          .sendBuffer(request.getBody(), response -> completed(request, scheduledAt, response));
+    } else {
+      httpRequest.send(response -> completed(request, scheduledAt, response));
+    }
+  }
+
+  private void completed(
+      final LoadRequest request,
+      final long scheduledAt,
+      final AsyncResult<HttpResponse<Buffer>> response) {
+    inFlight--;
+    final long now = System.nanoTime();
+    if (scheduledAt >= measureFrom && scheduledAt < endAt) {
+      if (response.succeeded()
+          && response.result().statusCode() == request.getExpectedStatusCode()) {
+        latencyRecorder.record(now - scheduledAt);
+        labelLatencyRecorders
+            .computeIfAbsent(request.getLabel(), label -> new LatencyRecorder())
+            .record(now - scheduledAt);
+      } else {
+        errorCount++;
+        labelErrorCounts.merge(request.getLabel(), 1L, Long::sum);
+        LOG.debug(
+            "Request to {} failed, expected {} but was {}",
+            request.getPath(),
+            request.getExpectedStatusCode(),
+            response.succeeded() ? response.result().statusCode() : response.cause().getMessage());
+      }
+    }
+
+    if (!paced) {
+      sendNext(now);
+    }
+    completeIfIdle();
+  }
+
+  private void completeIfIdle() {
+    if (inFlight > 0 || (next.isPresent() && System.nanoTime() < endAt)) {
+      return;
+    }
+    final Duration measured =
+        duration.orElseGet(() -> Duration.ofNanos(System.nanoTime() - startedAt));
+    final Map<String, BenchResult> labelResults = new TreeMap<>();
+    labelLatencyRecorders.forEach(
+        (label, recorder) ->
+            labelResults.put(
+                label,
+                new BenchResult(
+                    labelErrorCounts.getOrDefault(label, 0L),
+                    measured,
+                    recorder.sortedLatencies())));
+    labelErrorCounts.forEach(
+        (label, errors) ->
+            labelResults.putIfAbsent(label, new BenchResult(errors, measured, new long[0])));
+    result.complete(
+        new BenchResult(errorCount, measured, latencyRecorder.sortedLatencies(), labelResults));
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.bench;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+
+/** A request sent by the {@link LoadGenerator}, and the status code it is expected to receive. */
+public class LoadRequest {
+
+  private final long offsetNanos;
+  private final String label;
+  private final HttpMethod method;
+  private final String path;
+  private final Buffer body;
+  private final int expectedStatusCode;
+
+  /**
+   * @param offsetNanos when the request is due after the load starts, used when the load is paced
+   * @param label the group of requests whose results are reported together
+   * @param method the request method
+   * @param path the request path
+   * @param body the request body, sent as JSON unless empty
+   * @param expectedStatusCode the status code of a successful response
+   */
+  public LoadRequest(
+      final long offsetNanos,
+      final String label,
+      final HttpMethod method,
+      final String path,
+      final Buffer body,
+      final int expectedStatusCode) {
+    this.offsetNanos = offsetNanos;
+    this.label = label;
+    this.method = method;
+    this.path = path;
+    this.body = body;
+    this.expectedStatusCode = expectedStatusCode;
+  }
+
+  public long getOffsetNanos() {
+    return offsetNanos;
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+  public HttpMethod getMethod() {
+    return method;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public Buffer getBody() {
+    return body;
+  }
+
+  public int getExpectedStatusCode() {
+    return expectedStatusCode;
+  }
+}
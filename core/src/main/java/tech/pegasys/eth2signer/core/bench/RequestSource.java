@@ -0,0 +1,26 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.bench;
+
+import java.util.Optional;
+
+/**
+ * Supplies the requests sent by the {@link LoadGenerator}, in the order of their offsets. Only
+ * called from the generator's Vert.x context.
+ */
+@FunctionalInterface
+public interface RequestSource {
+
+  /** Returns the next request, or empty once there are no more. */
+  Optional<LoadRequest> next();
+}
@@ -28,6 +28,12 @@ public interface Config {
 
   Integer getHttpListenPort();
 
+  Boolean isHttpListenTcpEnabled();
+
+  Optional<Path> getHttpListenUnixSocketPath();
+
+  HttpServerTuningOptions getHttpServerTuningOptions();
+
   List<String> getHttpHostAllowList();
 
   Path getDataPath();
@@ -46,5 +52,29 @@ public interface Config {
 
   Long getKeyCacheLimit();
 
+  Boolean isAdminEndpointsEnabled();
+
+  String getAdminListenHost();
+
+  Integer getAdminListenPort();
+
+  List<String> getAdminHostAllowList();
+
+  Boolean isRequestRecordingEnabled();
+
+  Boolean isRequestRecordingPayloadsEnabled();
+
+  Boolean isSlashingProtectionEnabled();
+
+  Long getSlashingProtectionCommitWindowMicros();
+
+  Integer getSlashingProtectionCommitBatchSize();
+
+  Boolean isSignatureSelfCheckEnabled();
+
+  Long getSignatureSelfCheckLatencyBudgetMicros();
+
+  Boolean isSignerWarmUpEnabled();
+
   Optional<TlsOptions> getTlsOptions();
 }
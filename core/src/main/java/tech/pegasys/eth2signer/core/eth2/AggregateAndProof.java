@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.eth2;
+
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseSignature;
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseUInt64;
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.required;
+
+import tech.pegasys.eth2signer.core.ssz.Merkleizer;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AggregateAndProof implements Eth2Object {
+
+  private final long aggregatorIndex;
+  private final Attestation aggregate;
+  private final Bytes selectionProof;
+
+  @JsonCreator
+  public AggregateAndProof(
+      @JsonProperty("aggregator_index") final String aggregatorIndex,
+      @JsonProperty("aggregate") final Attestation aggregate,
+      @JsonProperty("selection_proof") final String selectionProof) {
+    this.aggregatorIndex = parseUInt64(aggregatorIndex, "aggregator_index");
+    this.aggregate = required(aggregate, "aggregate");
+    this.selectionProof = parseSignature(selectionProof, "selection_proof");
+  }
+
+  public long getAggregatorIndex() {
+    return aggregatorIndex;
+  }
+
+  public Attestation getAggregate() {
+    return aggregate;
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    return Merkleizer.merkleize(
+        List.of(
+            Merkleizer.uint64(aggregatorIndex),
+            aggregate.hashTreeRoot(),
+            Merkleizer.byteVector(selectionProof)));
+  }
+
+  @Override
+  public long getDomainEpoch() {
+    return Eth2Spec.computeEpochAtSlot(aggregate.getData().getSlot());
+  }
+}
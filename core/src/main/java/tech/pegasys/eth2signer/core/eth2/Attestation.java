@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.eth2;
+
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseBytes;
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseSignature;
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.required;
+
+import tech.pegasys.eth2signer.core.ssz.Merkleizer;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Attestation {
+
+  private final Bytes aggregationBits;
+  private final AttestationData data;
+  private final Bytes signature;
+
+  @JsonCreator
+  public Attestation(
+      @JsonProperty("aggregation_bits") final String aggregationBits,
+      @JsonProperty("data") final AttestationData data,
+      @JsonProperty("signature") final String signature) {
+    this.aggregationBits = parseBytes(aggregationBits, "aggregate.aggregation_bits");
+    this.data = required(data, "aggregate.data");
+    this.signature = parseSignature(signature, "aggregate.signature");
+  }
+
+  public AttestationData getData() {
+    return data;
+  }
+
+  public Bytes32 hashTreeRoot() {
+    return Merkleizer.merkleize(
+        List.of(
+            Merkleizer.bitlist(aggregationBits, Eth2Spec.MAX_VALIDATORS_PER_COMMITTEE),
+            data.hashTreeRoot(),
+            Merkleizer.byteVector(signature)));
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.eth2;
+
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseRoot;
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseUInt64;
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.required;
+
+import tech.pegasys.eth2signer.core.ssz.Merkleizer;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.tuweni.bytes.Bytes32;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AttestationData implements Eth2Object {
+
+  private final long slot;
+  private final long index;
+  private final Bytes32 beaconBlockRoot;
+  private final Checkpoint source;
+  private final Checkpoint target;
+
+  @JsonCreator
+  public AttestationData(
+      @JsonProperty("slot") final String slot,
+      @JsonProperty("index") final String index,
+      @JsonProperty("beacon_block_root") final String beaconBlockRoot,
+      @JsonProperty("source") final Checkpoint source,
+      @JsonProperty("target") final Checkpoint target) {
+    this.slot = parseUInt64(slot, "attestation.slot");
+    this.index = parseUInt64(index, "attestation.index");
+    this.beaconBlockRoot = parseRoot(beaconBlockRoot, "attestation.beacon_block_root");
+    this.source = required(source, "attestation.source");
+    this.target = required(target, "attestation.target");
+  }
+
+  public long getSlot() {
+    return slot;
+  }
+
+  public long getIndex() {
+    return index;
+  }
+
+  public Checkpoint getSource() {
+    return source;
+  }
+
+  public Checkpoint getTarget() {
+    return target;
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    return Merkleizer.merkleize(
+        List.of(
+            Merkleizer.uint64(slot),
+            Merkleizer.uint64(index),
+            beaconBlockRoot,
+            source.hashTreeRoot(),
+            target.hashTreeRoot()));
+  }
+
+  @Override
+  public long getDomainEpoch() {
+    return target.getEpoch();
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.eth2;
+
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseRoot;
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseUInt64;
+
+import tech.pegasys.eth2signer.core.ssz.Merkleizer;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * A block to be proposed, given by its header. The hash tree root of a block is that of its header,
+ * as the header holds the root of the block body in its place, so the signature over either is the
+ * same while the body never needs to be sent.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BeaconBlockHeader implements Eth2Object {
+
+  private final long slot;
+  private final long proposerIndex;
+  private final Bytes32 parentRoot;
+  private final Bytes32 stateRoot;
+  private final Bytes32 bodyRoot;
+
+  @JsonCreator
+  public BeaconBlockHeader(
+      @JsonProperty("slot") final String slot,
+      @JsonProperty("proposer_index") final String proposerIndex,
+      @JsonProperty("parent_root") final String parentRoot,
+      @JsonProperty("state_root") final String stateRoot,
+      @JsonProperty("body_root") final String bodyRoot) {
+    this.slot = parseUInt64(slot, "block.slot");
+    this.proposerIndex = parseUInt64(proposerIndex, "block.proposer_index");
+    this.parentRoot = parseRoot(parentRoot, "block.parent_root");
+    this.stateRoot = parseRoot(stateRoot, "block.state_root");
+    this.bodyRoot = parseRoot(bodyRoot, "block.body_root");
+  }
+
+  public long getSlot() {
+    return slot;
+  }
+
+  public long getProposerIndex() {
+    return proposerIndex;
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    return Merkleizer.merkleize(
+        List.of(
+            Merkleizer.uint64(slot),
+            Merkleizer.uint64(proposerIndex),
+            parentRoot,
+            stateRoot,
+            bodyRoot));
+  }
+
+  @Override
+  public long getDomainEpoch() {
+    return Eth2Spec.computeEpochAtSlot(slot);
+  }
+}
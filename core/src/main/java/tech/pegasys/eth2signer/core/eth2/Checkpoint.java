@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.eth2;
+
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseRoot;
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseUInt64;
+
+import tech.pegasys.eth2signer.core.ssz.Merkleizer;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.tuweni.bytes.Bytes32;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Checkpoint {
+
+  private final long epoch;
+  private final Bytes32 root;
+
+  @JsonCreator
+  public Checkpoint(
+      @JsonProperty("epoch") final String epoch, @JsonProperty("root") final String root) {
+    this.epoch = parseUInt64(epoch, "checkpoint.epoch");
+    this.root = parseRoot(root, "checkpoint.root");
+  }
+
+  public long getEpoch() {
+    return epoch;
+  }
+
+  public Bytes32 getRoot() {
+    return root;
+  }
+
+  public Bytes32 hashTreeRoot() {
+    return Merkleizer.merkleize(List.of(Merkleizer.uint64(epoch), root));
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.eth2;
+
+import tech.pegasys.eth2signer.core.metrics.Eth2SignerMetricCategory;
+
+import java.util.Objects;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+/**
+ * The signing domains of every {@link Eth2SigningType}, precomputed for each fork version and
+ * genesis validators root received.
+ *
+ * <p>Both barely change over the life of a chain, so the domains of the most recently used pair
+ * are held for a lookup without hashing or allocation, and the domains of a new pair are computed
+ * together on first use. A few other pairs are kept, for signers serving more than one network.
+ */
+public class DomainTable {
+
+  private static final int MAX_ENTRIES = 64;
+
+  private final Cache<Key, Entry> entries =
+      CacheBuilder.newBuilder().maximumSize(MAX_ENTRIES).recordStats().build();
+  private volatile Entry latest;
+
+  public DomainTable(final MetricsSystem metricsSystem) {
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.CACHE,
+        "domain_table_size",
+        "Number of fork version and genesis validators root pairs with precomputed domains",
+        entries::size);
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.CACHE,
+        "domain_table_misses",
+        "Number of lookups which required the domains of a pair to be computed",
+        () -> entries.stats().missCount());
+  }
+
+  public Bytes32 getDomain(
+      final Eth2SigningType type, final Bytes forkVersion, final Bytes32 genesisValidatorsRoot) {
+    Entry entry = latest;
+    if (entry == null || !entry.key.matches(forkVersion, genesisValidatorsRoot)) {
+      entry = lookup(new Key(forkVersion, genesisValidatorsRoot));
+      latest = entry;
+    }
+    return entry.domains[type.ordinal()];
+  }
+
+  private Entry lookup(final Key key) {
+    final Entry entry = entries.getIfPresent(key);
+    if (entry != null) {
+      return entry;
+    }
+    // computing a pair twice under a race is harmless, and cheaper than a loading cache's locking
+    final Entry computed = new Entry(key);
+    entries.put(key, computed);
+    return computed;
+  }
+
+  private static class Key {
+    private final Bytes forkVersion;
+    private final Bytes32 genesisValidatorsRoot;
+
+    private Key(final Bytes forkVersion, final Bytes32 genesisValidatorsRoot) {
+      this.forkVersion = forkVersion;
+      this.genesisValidatorsRoot = genesisValidatorsRoot;
+    }
+
+    private boolean matches(final Bytes forkVersion, final Bytes32 genesisValidatorsRoot) {
+      return this.forkVersion.equals(forkVersion)
+          && this.genesisValidatorsRoot.equals(genesisValidatorsRoot);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key key = (Key) o;
+      return matches(key.forkVersion, key.genesisValidatorsRoot);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(forkVersion, genesisValidatorsRoot);
+    }
+  }
+
+  private static class Entry {
+    private final Key key;
+    private final Bytes32[] domains;
+
+    private Entry(final Key key) {
+      this.key = key;
+      final Eth2SigningType[] types = Eth2SigningType.values();
+      this.domains = new Bytes32[types.length];
+      for (final Eth2SigningType type : types) {
+        domains[type.ordinal()] =
+            Eth2Spec.computeDomain(
+                type.getDomainType(), key.forkVersion, key.genesisValidatorsRoot);
+      }
+    }
+  }
+}
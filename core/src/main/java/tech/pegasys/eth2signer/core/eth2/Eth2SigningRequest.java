@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.eth2;
+
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseRoot;
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.required;
+
+import io.vertx.core.json.JsonObject;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * A typed signing request, holding the object to sign and the fork and genesis validators root
+ * from which its signing domain is computed.
+ *
+ * <p>The request body is {@code {"fork": {...}, "genesis_validators_root": "0x...", "<type>":
+ * {...}}}, where the object is keyed by the {@link Eth2SigningType} name and uint64 values are
+ * decimal strings, as in the beacon node API.
+ */
+public class Eth2SigningRequest {
+
+  private static final String FORK_FIELD = "fork";
+  private static final String GENESIS_VALIDATORS_ROOT_FIELD = "genesis_validators_root";
+
+  private final Eth2SigningType type;
+  private final Fork fork;
+  private final Bytes32 genesisValidatorsRoot;
+  private final Eth2Object object;
+  private final DomainTable domainTable;
+  private Bytes32 signingRoot;
+
+  public Eth2SigningRequest(
+      final Eth2SigningType type,
+      final Fork fork,
+      final Bytes32 genesisValidatorsRoot,
+      final Eth2Object object,
+      final DomainTable domainTable) {
+    this.type = type;
+    this.fork = fork;
+    this.genesisValidatorsRoot = genesisValidatorsRoot;
+    this.object = object;
+    this.domainTable = domainTable;
+  }
+
+  /**
+   * Decodes the request body of the given type.
+   *
+   * @param domainTable the table from which the signing domain is looked up
+   * @throws IllegalArgumentException if a field is missing or malformed
+   */
+  public static Eth2SigningRequest fromJson(
+      final Eth2SigningType type, final JsonObject body, final DomainTable domainTable) {
+    final JsonObject fork = required(body.getJsonObject(FORK_FIELD), FORK_FIELD);
+    final JsonObject object = required(body.getJsonObject(type.getName()), type.getName());
+    return new Eth2SigningRequest(
+        type,
+        fork.mapTo(Fork.class),
+        parseRoot(body.getString(GENESIS_VALIDATORS_ROOT_FIELD), GENESIS_VALIDATORS_ROOT_FIELD),
+        object.mapTo(type.getObjectClass()),
+        domainTable);
+  }
+
+  public Eth2SigningType getType() {
+    return type;
+  }
+
+  public Fork getFork() {
+    return fork;
+  }
+
+  public Bytes32 getGenesisValidatorsRoot() {
+    return genesisValidatorsRoot;
+  }
+
+  public Eth2Object getObject() {
+    return object;
+  }
+
+  public Bytes32 getDomain() {
+    final long epoch = object.getDomainEpoch();
+    return domainTable.getDomain(type, fork.getVersion(epoch), genesisValidatorsRoot);
+  }
+
+  /** The root signed by the validator, binding the object root to its domain. */
+  public Bytes32 getSigningRoot() {
+    // computed once, as it is needed both to sign and to check slashing protection
+    if (signingRoot == null) {
+      signingRoot = Eth2Spec.computeSigningRoot(object.hashTreeRoot(), getDomain());
+    }
+    return signingRoot;
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.eth2;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/** The typed objects a validator signs, each with the request field holding it and its domain. */
+public enum Eth2SigningType {
+  BLOCK("block", BeaconBlockHeader.class, Eth2Spec.DOMAIN_BEACON_PROPOSER),
+  ATTESTATION("attestation", AttestationData.class, Eth2Spec.DOMAIN_BEACON_ATTESTER),
+  AGGREGATE_AND_PROOF(
+      "aggregate_and_proof", AggregateAndProof.class, Eth2Spec.DOMAIN_AGGREGATE_AND_PROOF),
+  RANDAO_REVEAL("randao_reveal", RandaoReveal.class, Eth2Spec.DOMAIN_RANDAO),
+  VOLUNTARY_EXIT("voluntary_exit", VoluntaryExit.class, Eth2Spec.DOMAIN_VOLUNTARY_EXIT);
+
+  private final String name;
+  private final Class<? extends Eth2Object> objectClass;
+  private final Bytes domainType;
+
+  Eth2SigningType(
+      final String name, final Class<? extends Eth2Object> objectClass, final Bytes domainType) {
+    this.name = name;
+    this.objectClass = objectClass;
+    this.domainType = domainType;
+  }
+
+  /** The name of the request field holding the object, also used as the operation name. */
+  public String getName() {
+    return name;
+  }
+
+  public Class<? extends Eth2Object> getObjectClass() {
+    return objectClass;
+  }
+
+  public Bytes getDomainType() {
+    return domainType;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.eth2;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.eth2signer.core.ssz.Merkleizer;
+
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/** Constants and signing functions of the phase 0 beacon chain specification. */
+public final class Eth2Spec {
+
+  public static final long SLOTS_PER_EPOCH = 32;
+  public static final long MAX_VALIDATORS_PER_COMMITTEE = 2048;
+
+  public static final Bytes DOMAIN_BEACON_PROPOSER = Bytes.fromHexString("0x00000000");
+  public static final Bytes DOMAIN_BEACON_ATTESTER = Bytes.fromHexString("0x01000000");
+  public static final Bytes DOMAIN_RANDAO = Bytes.fromHexString("0x02000000");
+  public static final Bytes DOMAIN_VOLUNTARY_EXIT = Bytes.fromHexString("0x04000000");
+  public static final Bytes DOMAIN_AGGREGATE_AND_PROOF = Bytes.fromHexString("0x06000000");
+
+  private static final int DOMAIN_TYPE_SIZE = 4;
+  private static final int VERSION_SIZE = 4;
+  private static final int SIGNATURE_SIZE = 96;
+
+  private Eth2Spec() {}
+
+  public static long computeEpochAtSlot(final long slot) {
+    return Long.divideUnsigned(slot, SLOTS_PER_EPOCH);
+  }
+
+  /** The domain type followed by the first 28 bytes of the fork data root. */
+  public static Bytes32 computeDomain(
+      final Bytes domainType, final Bytes forkVersion, final Bytes32 genesisValidatorsRoot) {
+    checkArgument(domainType.size() == DOMAIN_TYPE_SIZE, "Domain type must be 4 bytes");
+    checkArgument(forkVersion.size() == VERSION_SIZE, "Fork version must be 4 bytes");
+    final Bytes32 forkDataRoot =
+        Merkleizer.merkleize(
+            List.of(Merkleizer.byteVector(forkVersion), genesisValidatorsRoot));
+    return Bytes32.wrap(
+        Bytes.concatenate(domainType, forkDataRoot.slice(0, 32 - DOMAIN_TYPE_SIZE)));
+  }
+
+  /** The root of the signing data container holding the object root and domain. */
+  public static Bytes32 computeSigningRoot(final Bytes32 objectRoot, final Bytes32 domain) {
+    return Merkleizer.hash(objectRoot, domain);
+  }
+
+  static Bytes parseVersion(final String version, final String field) {
+    final Bytes bytes = parseBytes(version, field);
+    checkArgument(bytes.size() == VERSION_SIZE, "%s must be 4 bytes", field);
+    return bytes;
+  }
+
+  static Bytes32 parseRoot(final String root, final String field) {
+    final Bytes bytes = parseBytes(root, field);
+    checkArgument(bytes.size() == Bytes32.SIZE, "%s must be 32 bytes", field);
+    return Bytes32.wrap(bytes);
+  }
+
+  static Bytes parseSignature(final String signature, final String field) {
+    final Bytes bytes = parseBytes(signature, field);
+    checkArgument(bytes.size() == SIGNATURE_SIZE, "%s must be 96 bytes", field);
+    return bytes;
+  }
+
+  static Bytes parseBytes(final String value, final String field) {
+    checkArgument(value != null, "%s is required", field);
+    return Bytes.fromHexString(value);
+  }
+
+  /** Parses a uint64, which may exceed the range of a signed long, given as a decimal string. */
+  static long parseUInt64(final String value, final String field) {
+    checkArgument(value != null, "%s is required", field);
+    try {
+      return Long.parseUnsignedLong(value);
+    } catch (final NumberFormatException e) {
+      throw new IllegalArgumentException(field + " must be an unsigned 64 bit integer", e);
+    }
+  }
+
+  static <T> T required(final T value, final String field) {
+    checkArgument(value != null, "%s is required", field);
+    return value;
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.eth2;
+
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseUInt64;
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseVersion;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.tuweni.bytes.Bytes;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Fork {
+
+  private final Bytes previousVersion;
+  private final Bytes currentVersion;
+  private final long epoch;
+
+  @JsonCreator
+  public Fork(
+      @JsonProperty("previous_version") final String previousVersion,
+      @JsonProperty("current_version") final String currentVersion,
+      @JsonProperty("epoch") final String epoch) {
+    this.previousVersion = parseVersion(previousVersion, "fork.previous_version");
+    this.currentVersion = parseVersion(currentVersion, "fork.current_version");
+    this.epoch = parseUInt64(epoch, "fork.epoch");
+  }
+
+  public Bytes getPreviousVersion() {
+    return previousVersion;
+  }
+
+  public Bytes getCurrentVersion() {
+    return currentVersion;
+  }
+
+  public long getEpoch() {
+    return epoch;
+  }
+
+  /** The fork version in effect at the epoch. */
+  public Bytes getVersion(final long atEpoch) {
+    return Long.compareUnsigned(atEpoch, epoch) < 0 ? previousVersion : currentVersion;
+  }
+}
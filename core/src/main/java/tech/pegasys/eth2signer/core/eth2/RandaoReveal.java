@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.eth2;
+
+import static tech.pegasys.eth2signer.core.eth2.Eth2Spec.parseUInt64;
+
+import tech.pegasys.eth2signer.core.ssz.Merkleizer;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.tuweni.bytes.Bytes32;
+
+/** The epoch signed by a block proposer to reveal its randao contribution. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RandaoReveal implements Eth2Object {
+
+  private final long epoch;
+
+  @JsonCreator
+  public RandaoReveal(@JsonProperty("epoch") final String epoch) {
+    this.epoch = parseUInt64(epoch, "randao_reveal.epoch");
+  }
+
+  public long getEpoch() {
+    return epoch;
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    return Merkleizer.uint64(epoch);
+  }
+
+  @Override
+  public long getDomainEpoch() {
+    return epoch;
+  }
+}
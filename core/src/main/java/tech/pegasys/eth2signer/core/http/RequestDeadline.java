@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http;
+
+import java.time.Clock;
+import java.util.Optional;
+
+import io.vertx.core.http.HttpServerRequest;
+
+/**
+ * The point in time after which the client is no longer interested in the response to a request.
+ *
+ * <p>A deadline is supplied either as an absolute time in epoch milliseconds via {@link
+ * #DEADLINE_HEADER}, or as a number of milliseconds relative to when the request is received via
+ * {@link #TIMEOUT_HEADER}. If both are supplied the earlier of the two is used.
+ */
+public class RequestDeadline {
+
+  public static final String DEADLINE_HEADER = "X-Request-Deadline";
+  public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+  public static final RequestDeadline NONE = new RequestDeadline(Long.MAX_VALUE, Clock.systemUTC());
+
+  private final long deadlineEpochMillis;
+  private final Clock clock;
+
+  RequestDeadline(final long deadlineEpochMillis, final Clock clock) {
+    this.deadlineEpochMillis = deadlineEpochMillis;
+    this.clock = clock;
+  }
+
+  /**
+   * Creates the deadline for a request from its headers.
+   *
+   * @throws IllegalArgumentException if a deadline header is present but is not a valid number
+   */
+  public static RequestDeadline fromRequest(final HttpServerRequest request, final Clock clock) {
+    final long now = clock.millis();
+    final Optional<Long> deadline = parseHeader(request, DEADLINE_HEADER);
+    final Optional<Long> timeout =
+        parseHeader(request, TIMEOUT_HEADER).map(t -> t > Long.MAX_VALUE - now ? null : now + t);
+
+    final long earliest =
+        Math.min(deadline.orElse(Long.MAX_VALUE), timeout.orElse(Long.MAX_VALUE));
+    return earliest == Long.MAX_VALUE ? NONE : new RequestDeadline(earliest, clock);
+  }
+
+  /**
+   * Creates the deadline for a request the given number of milliseconds after now, for requests
+   * which do not arrive with their own headers.
+   *
+   * @throws IllegalArgumentException if the timeout is negative
+   */
+  public static RequestDeadline fromTimeout(final long timeoutMillis, final Clock clock) {
+    if (timeoutMillis < 0) {
+      throw new IllegalArgumentException("Timeout must not be negative");
+    }
+    final long now = clock.millis();
+    return timeoutMillis > Long.MAX_VALUE - now
+        ? NONE
+        : new RequestDeadline(now + timeoutMillis, clock);
+  }
+
+  private static Optional<Long> parseHeader(
+      final HttpServerRequest request, final String headerName) {
+    final String value = request.getHeader(headerName);
+    if (value == null) {
+      return Optional.empty();
+    }
+    try {
+      final long millis = Long.parseLong(value.trim());
+      if (millis < 0) {
+        throw new IllegalArgumentException(headerName + " must not be negative");
+      }
+      return Optional.of(millis);
+    } catch (final NumberFormatException e) {
+      throw new IllegalArgumentException(headerName + " is not a valid number of milliseconds");
+    }
+  }
+
+  public boolean hasExpired() {
+    return deadlineEpochMillis != Long.MAX_VALUE && clock.millis() > deadlineEpochMillis;
+  }
+}
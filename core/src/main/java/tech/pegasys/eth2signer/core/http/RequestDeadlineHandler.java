@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http;
+
+import tech.pegasys.eth2signer.core.metrics.Eth2SignerMetricCategory;
+
+import java.time.Clock;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+/**
+ * Attaches the client supplied {@link RequestDeadline} to the routing context and abandons requests
+ * whose deadline has already passed.
+ */
+public class RequestDeadlineHandler implements Handler<RoutingContext> {
+
+  public static final int DEADLINE_EXCEEDED_STATUS_CODE = 408;
+
+  public static final String STAGE_RECEIVED = "received";
+  public static final String STAGE_DEQUEUED = "dequeued";
+  public static final String STAGE_PRE_SIGN = "pre_sign";
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final String DEADLINE_CONTEXT_KEY = "requestDeadline";
+
+  private final Clock clock;
+  private final LabelledMetric<Counter> expiredRequestCounter;
+
+  public RequestDeadlineHandler(final MetricsSystem metricsSystem, final Clock clock) {
+    this.clock = clock;
+    this.expiredRequestCounter =
+        metricsSystem.createLabelledCounter(
+            Eth2SignerMetricCategory.SIGNING,
+            "expired_requests",
+            "Number of requests abandoned because their deadline had passed",
+            "stage");
+  }
+
+  @Override
+  public void handle(final RoutingContext context) {
+    final RequestDeadline deadline;
+    try {
+      deadline = RequestDeadline.fromRequest(context.request(), clock);
+    } catch (final IllegalArgumentException e) {
+      LOG.debug("Invalid request deadline: {}", e.getMessage());
+      respond(context.response(), 400, e.getMessage());
+      return;
+    }
+
+    if (deadline.hasExpired()) {
+      reject(context, STAGE_RECEIVED);
+      return;
+    }
+    context.put(DEADLINE_CONTEXT_KEY, deadline);
+    context.next();
+  }
+
+  public static RequestDeadline getDeadline(final RoutingContext context) {
+    final RequestDeadline deadline = context.get(DEADLINE_CONTEXT_KEY);
+    return deadline == null ? RequestDeadline.NONE : deadline;
+  }
+
+  /** Creates a deadline the given number of milliseconds from now. */
+  public RequestDeadline deadlineAfter(final long timeoutMillis) {
+    return RequestDeadline.fromTimeout(timeoutMillis, clock);
+  }
+
+  /** Records the expiry of a request at the given stage, for requests answered by the caller. */
+  public void countExpired(final String stage) {
+    expiredRequestCounter.labels(stage).inc();
+  }
+
+  /** Records the expiry of the request at the given stage and responds to the client. */
+  public void reject(final RoutingContext context, final String stage) {
+    countExpired(stage);
+    LOG.debug(
+        "Abandoning request {} at stage {}, deadline exceeded", context.request().uri(), stage);
+    respond(context.response(), DEADLINE_EXCEEDED_STATUS_CODE, "Request deadline exceeded.");
+  }
+
+  private void respond(final HttpServerResponse response, final int statusCode, final String msg) {
+    if (!response.closed()) {
+      response
+          .setStatusCode(statusCode)
+          .putHeader("Content-Type", "application/json; charset=utf-8")
+          .end(new JsonObject().put("message", msg).encode());
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http.handlers;
+
+import static com.google.common.net.MediaType.PLAIN_TEXT_UTF_8;
+
+import tech.pegasys.eth2signer.core.http.RequestDeadline;
+import tech.pegasys.eth2signer.core.http.RequestDeadlineHandler;
+import tech.pegasys.eth2signer.core.metrics.LatencyHistograms;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSSignature;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.api.RequestParameters;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Aggregates caller supplied signatures into a single signature.
+ *
+ * <p>The signatures are split into one chunk per core and each chunk is decompressed and added
+ * together on its own worker thread, leaving only one point per chunk to add once all have
+ * completed.
+ */
+public class AggregateSignaturesHandler implements Handler<RoutingContext> {
+  public static final String AGGREGATE_OPERATION = "aggregate";
+  public static final int MAX_SIGNATURES = SignCommitteeHandler.MAX_PUBLIC_KEYS;
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ChunkedRequests chunkedRequests;
+
+  public AggregateSignaturesHandler(
+      final RequestDeadlineHandler requestDeadlineHandler,
+      final LatencyHistograms latencyHistograms) {
+    this.chunkedRequests = new ChunkedRequests(requestDeadlineHandler, latencyHistograms);
+  }
+
+  @Override
+  public void handle(final RoutingContext routingContext) {
+    final long receivedAt = System.nanoTime();
+    final RequestParameters params = routingContext.get("parsedParameters");
+    final List<Bytes> signatures;
+    try {
+      signatures = getSignatures(JsonFields.requiredBody(params.body().getJsonObject()));
+    } catch (final IllegalArgumentException e) {
+      LOG.debug("Invalid aggregation request: {}", e.getMessage());
+      routingContext.fail(400);
+      return;
+    }
+    final RequestDeadline deadline = RequestDeadlineHandler.getDeadline(routingContext);
+
+    chunkedRequests
+        .process(routingContext.vertx(), signatures, deadline, this::aggregateChunk)
+        .onComplete(
+            result -> {
+              if (result.failed()) {
+                // includes a signature which is not a valid point, answered with 400
+                chunkedRequests.fail(routingContext, result.cause());
+                return;
+              }
+              final BLSSignature aggregateSignature = BLS.aggregate(result.result());
+              chunkedRequests.respond(
+                  routingContext,
+                  AGGREGATE_OPERATION,
+                  receivedAt,
+                  PLAIN_TEXT_UTF_8,
+                  aggregateSignature.toString());
+            });
+  }
+
+  private void aggregateChunk(final List<Bytes> signatures, final Promise<BLSSignature> promise) {
+    final List<BLSSignature> decodedSignatures = new ArrayList<>(signatures.size());
+    for (final Bytes signature : signatures) {
+      decodedSignatures.add(BLSSignature.fromBytes(signature));
+    }
+    promise.complete(BLS.aggregate(decodedSignatures));
+  }
+
+  private List<Bytes> getSignatures(final JsonObject body) {
+    final List<String> signatures =
+        JsonFields.requiredList(body, "signatures", MAX_SIGNATURES, String.class);
+    final List<Bytes> decoded = new ArrayList<>(signatures.size());
+    for (final String signature : signatures) {
+      decoded.add(Bytes.fromHexString(signature));
+    }
+    return decoded;
+  }
+}
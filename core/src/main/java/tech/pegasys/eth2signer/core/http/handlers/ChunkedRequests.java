@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http.handlers;
+
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import static tech.pegasys.eth2signer.core.http.RequestDeadlineHandler.STAGE_DEQUEUED;
+
+import tech.pegasys.eth2signer.core.http.DeadlineExceededException;
+import tech.pegasys.eth2signer.core.http.RequestDeadline;
+import tech.pegasys.eth2signer.core.http.RequestDeadlineHandler;
+import tech.pegasys.eth2signer.core.http.SlashingProtectionViolationException;
+import tech.pegasys.eth2signer.core.metrics.LatencyHistograms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import com.google.common.net.MediaType;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Processes the items of a batch request in one chunk per core on worker threads, and completes
+ * the request with the outcome, as shared by the committee signing, aggregation and verification
+ * endpoints.
+ *
+ * <p>A chunk whose worker starts after the request deadline fails with a {@link
+ * DeadlineExceededException}, which is answered by {@link RequestDeadlineHandler#reject}.
+ */
+class ChunkedRequests {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+  private final RequestDeadlineHandler requestDeadlineHandler;
+  private final LatencyHistograms latencyHistograms;
+
+  ChunkedRequests(
+      final RequestDeadlineHandler requestDeadlineHandler,
+      final LatencyHistograms latencyHistograms) {
+    this.requestDeadlineHandler = requestDeadlineHandler;
+    this.latencyHistograms = latencyHistograms;
+  }
+
+  @FunctionalInterface
+  interface ChunkProcessor<T, R> {
+    /** Processes the chunk on a worker thread, completing the promise once done. */
+    void process(List<T> chunk, Promise<R> promise);
+  }
+
+  /**
+   * Processes the items in one chunk per core, completing with the result of each chunk in the
+   * order of the items.
+   */
+  @SuppressWarnings("rawtypes")
+  <T, R> Future<List<R>> process(
+      final Vertx vertx,
+      final List<T> items,
+      final RequestDeadline deadline,
+      final ChunkProcessor<T, R> processor) {
+    final List<Future> chunks = new ArrayList<>();
+    for (final List<T> chunk : partitionPerCore(items)) {
+      final Promise<R> promise = Promise.promise();
+      vertx.<R>executeBlocking(
+          chunkPromise -> {
+            if (deadline.hasExpired()) {
+              chunkPromise.fail(new DeadlineExceededException(STAGE_DEQUEUED));
+            } else {
+              processor.process(chunk, chunkPromise);
+            }
+          },
+          false,
+          promise);
+      chunks.add(promise.future());
+    }
+    // chunks complete in any order but are held by the composite in the order they were created
+    return CompositeFuture.all(chunks).map(CompositeFuture::list);
+  }
+
+  /** Ends the request with the response body, recording its latency against the operation. */
+  void respond(
+      final RoutingContext routingContext,
+      final String operation,
+      final long receivedAt,
+      final MediaType contentType,
+      final String body) {
+    latencyHistograms.record(operation, System.nanoTime() - receivedAt);
+    routingContext.response().putHeader(CONTENT_TYPE, contentType.toString()).end(body);
+  }
+
+  /**
+   * Fails the request, rejecting it if its deadline passed or slashing protection refused it, and
+   * answering 400 for input which a chunk found to be invalid.
+   */
+  void fail(final RoutingContext routingContext, final Throwable cause) {
+    if (cause instanceof DeadlineExceededException) {
+      requestDeadlineHandler.reject(
+          routingContext, ((DeadlineExceededException) cause).getStage());
+    } else if (cause instanceof SlashingProtectionViolationException) {
+      routingContext.fail(SignForPublicKeyHandler.SLASHING_PROTECTION_VIOLATION_STATUS_CODE);
+    } else if (cause instanceof IllegalArgumentException) {
+      LOG.debug("Invalid {} request: {}", routingContext.request().path(), cause.getMessage());
+      routingContext.fail(400);
+    } else {
+      routingContext.fail(cause);
+    }
+  }
+
+  /** Splits the items into one chunk per core, preserving their order. */
+  static <T> List<List<T>> partitionPerCore(final List<T> items) {
+    return Lists.partition(items, (items.size() + PARALLELISM - 1) / PARALLELISM);
+  }
+}
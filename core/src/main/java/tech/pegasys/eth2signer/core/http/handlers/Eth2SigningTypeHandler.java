@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http.handlers;
+
+import tech.pegasys.eth2signer.core.eth2.Eth2SigningType;
+
+import java.util.Optional;
+
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Tags requests to a typed signing endpoint with the type of object they sign, so the {@link
+ * SignForPublicKeyHandler} computes the signing root from the object rather than signing opaque
+ * data.
+ */
+public class Eth2SigningTypeHandler implements Handler<RoutingContext> {
+
+  private static final String SIGNING_TYPE_CONTEXT_KEY = "eth2SigningType";
+
+  private final Eth2SigningType signingType;
+
+  public Eth2SigningTypeHandler(final Eth2SigningType signingType) {
+    this.signingType = signingType;
+  }
+
+  @Override
+  public void handle(final RoutingContext context) {
+    context.put(SIGNING_TYPE_CONTEXT_KEY, signingType);
+    context.next();
+  }
+
+  public static Optional<Eth2SigningType> getSigningType(final RoutingContext context) {
+    return Optional.ofNullable(context.get(SIGNING_TYPE_CONTEXT_KEY));
+  }
+}
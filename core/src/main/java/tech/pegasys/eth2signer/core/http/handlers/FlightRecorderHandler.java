@@ -0,0 +1,181 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http.handlers;
+
+import static com.google.common.net.MediaType.JSON_UTF_8;
+import static io.vertx.core.http.HttpHeaders.CONTENT_DISPOSITION;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Optional;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Admin handlers to start, stop, download and close JDK Flight Recorder recordings. All recordings
+ * of the JVM are visible, including one started with {@code -XX:StartFlightRecording}, so an
+ * always-on recording can be dumped after an incident without restarting.
+ */
+public class FlightRecorderHandler {
+
+  public static final String RECORDING_ID_PARAM = "id";
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final String DEFAULT_SETTINGS = "default";
+
+  public void listRecordings(final RoutingContext context) {
+    final JsonArray recordings = new JsonArray();
+    FlightRecorder.getFlightRecorder().getRecordings().stream()
+        .map(this::toJson)
+        .forEach(recordings::add);
+    context.response().putHeader(CONTENT_TYPE, JSON_UTF_8.toString()).end(recordings.encode());
+  }
+
+  /** Starts a recording using the JFR settings named by the optional settings query parameter. */
+  public void startRecording(final RoutingContext context) {
+    final String settings =
+        Optional.ofNullable(context.request().getParam("settings")).orElse(DEFAULT_SETTINGS);
+    final Configuration configuration;
+    try {
+      configuration = Configuration.getConfiguration(settings);
+    } catch (final IOException | ParseException e) {
+      LOG.debug("Unable to load flight recorder settings {}", settings, e);
+      context.fail(400);
+      return;
+    }
+
+    final Recording recording = new Recording(configuration);
+    recording.setName("eth2signer-" + recording.getId());
+    recording.start();
+    LOG.info("Started flight recording {} with {} settings", recording.getId(), settings);
+    respond(context, 201, toJson(recording));
+  }
+
+  public void stopRecording(final RoutingContext context) {
+    final Optional<Recording> recording = findRecording(context);
+    if (recording.isEmpty()) {
+      context.fail(404);
+      return;
+    }
+    try {
+      recording.get().stop();
+    } catch (final IllegalStateException e) {
+      LOG.debug("Unable to stop flight recording {}: {}", recording.get().getId(), e.getMessage());
+      context.fail(409);
+      return;
+    }
+    LOG.info("Stopped flight recording {}", recording.get().getId());
+    respond(context, 200, toJson(recording.get()));
+  }
+
+  /** Sends a snapshot of the recording's data, the recording may still be running. */
+  public void downloadRecording(final RoutingContext context) {
+    final Optional<Recording> recording = findRecording(context);
+    if (recording.isEmpty()) {
+      context.fail(404);
+      return;
+    }
+    context
+        .vertx()
+        .<Path>executeBlocking(
+            promise -> dumpRecording(recording.get(), promise),
+            false,
+            result -> sendRecording(context, recording.get().getId(), result));
+  }
+
+  /** Closes the recording, releasing the disk space its data holds. */
+  public void closeRecording(final RoutingContext context) {
+    final Optional<Recording> recording = findRecording(context);
+    if (recording.isEmpty()) {
+      context.fail(404);
+      return;
+    }
+    recording.get().close();
+    LOG.info("Closed flight recording {}", recording.get().getId());
+    context.response().setStatusCode(204).end();
+  }
+
+  private void dumpRecording(final Recording recording, final Promise<Path> promise) {
+    try {
+      final Path file = Files.createTempFile("eth2signer-recording-", ".jfr");
+      recording.dump(file);
+      promise.complete(file);
+    } catch (final IOException | IllegalStateException e) {
+      promise.fail(e);
+    }
+  }
+
+  private void sendRecording(
+      final RoutingContext context, final long recordingId, final AsyncResult<Path> result) {
+    if (result.failed()) {
+      LOG.error("Unable to dump flight recording {}", recordingId, result.cause());
+      context.fail(500);
+      return;
+    }
+
+    final Path file = result.result();
+    context
+        .response()
+        .putHeader(CONTENT_TYPE, "application/octet-stream")
+        .putHeader(
+            CONTENT_DISPOSITION, "attachment; filename=\"eth2signer-" + recordingId + ".jfr\"")
+        .sendFile(file.toString(), sent -> deleteDump(file));
+  }
+
+  private void deleteDump(final Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (final IOException e) {
+      LOG.warn("Unable to delete flight recording dump {}", file, e);
+    }
+  }
+
+  private Optional<Recording> findRecording(final RoutingContext context) {
+    final long id;
+    try {
+      id = Long.parseLong(context.pathParam(RECORDING_ID_PARAM));
+    } catch (final NumberFormatException e) {
+      return Optional.empty();
+    }
+    return FlightRecorder.getFlightRecorder().getRecordings().stream()
+        .filter(recording -> recording.getId() == id)
+        .findFirst();
+  }
+
+  private JsonObject toJson(final Recording recording) {
+    return new JsonObject()
+        .put("id", recording.getId())
+        .put("name", recording.getName())
+        .put("state", recording.getState().name());
+  }
+
+  private void respond(final RoutingContext context, final int statusCode, final JsonObject body) {
+    context
+        .response()
+        .setStatusCode(statusCode)
+        .putHeader(CONTENT_TYPE, JSON_UTF_8.toString())
+        .end(body.encode());
+  }
+}
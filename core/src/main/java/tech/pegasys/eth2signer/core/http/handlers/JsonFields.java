@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http.handlers;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Reads the fields of a request body, throwing {@link IllegalArgumentException} for a field which
+ * is missing or of the wrong type so the request can be rejected as malformed.
+ */
+final class JsonFields {
+
+  private JsonFields() {}
+
+  static JsonObject requiredBody(final JsonObject body) {
+    checkArgument(body != null, "Request body is required");
+    return body;
+  }
+
+  static <T> T required(final JsonObject object, final String field, final Class<T> type) {
+    final Object value = object.getValue(field);
+    checkArgument(type.isInstance(value), "%s is required", field);
+    return type.cast(value);
+  }
+
+  /** Reads an array of between 1 and maxSize elements, each of the given type. */
+  static <T> List<T> requiredList(
+      final JsonObject object, final String field, final int maxSize, final Class<T> type) {
+    final JsonArray array = required(object, field, JsonArray.class);
+    checkArgument(
+        !array.isEmpty() && array.size() <= maxSize,
+        "Between 1 and %s %s must be supplied",
+        maxSize,
+        field);
+    final List<T> values = new ArrayList<>(array.size());
+    for (final Object value : array) {
+      checkArgument(type.isInstance(value), "%s must not hold null or mistyped values", field);
+      values.add(type.cast(value));
+    }
+    return values;
+  }
+}
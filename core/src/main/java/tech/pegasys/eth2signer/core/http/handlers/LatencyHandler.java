@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http.handlers;
+
+import static com.google.common.net.MediaType.JSON_UTF_8;
+import static com.google.common.net.MediaType.PLAIN_TEXT_UTF_8;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+
+import tech.pegasys.eth2signer.core.metrics.LatencyHistograms;
+import tech.pegasys.eth2signer.core.metrics.LatencyHistograms.Window;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Admin handlers exposing the {@link LatencyHistograms}. Latencies are reported in milliseconds.
+ *
+ * <p>The distribution is in the percentile distribution format written by HdrHistogram, which its
+ * plotting tools accept as is.
+ */
+public class LatencyHandler {
+
+  public static final String OPERATION_PARAM = "operation";
+
+  private static final String WINDOW_PARAM = "window";
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+  private static final int TICKS_PER_HALF_DISTANCE = 5;
+  private static final List<String> PERCENTILES = List.of("50", "90", "99", "99.9", "99.99");
+
+  private final LatencyHistograms latencyHistograms;
+
+  public LatencyHandler(final LatencyHistograms latencyHistograms) {
+    this.latencyHistograms = latencyHistograms;
+  }
+
+  /** Summarises every operation over each window. */
+  public void getLatency(final RoutingContext context) {
+    final JsonObject operations = new JsonObject();
+    for (final String operation : latencyHistograms.getOperations()) {
+      final JsonObject windows = new JsonObject();
+      for (final Window window : Window.values()) {
+        latencyHistograms
+            .getHistogram(operation, window)
+            .ifPresent(histogram -> windows.put(window.getLabel(), summarise(histogram)));
+      }
+      operations.put(operation, windows);
+    }
+    context.response().putHeader(CONTENT_TYPE, JSON_UTF_8.toString()).end(operations.encode());
+  }
+
+  /** Sends the percentile distribution of an operation over the window query parameter. */
+  public void getDistribution(final RoutingContext context) {
+    final String windowLabel =
+        Optional.ofNullable(context.request().getParam(WINDOW_PARAM))
+            .orElse(Window.ONE_MINUTE.getLabel());
+    final Optional<Window> window = Window.fromLabel(windowLabel);
+    if (window.isEmpty()) {
+      context.fail(400);
+      return;
+    }
+
+    final Optional<Histogram> histogram =
+        latencyHistograms.getHistogram(context.pathParam(OPERATION_PARAM), window.get());
+    if (histogram.isEmpty()) {
+      context.fail(404);
+      return;
+    }
+
+    final ByteArrayOutputStream distribution = new ByteArrayOutputStream();
+    try (final PrintStream out = new PrintStream(distribution, false, StandardCharsets.UTF_8)) {
+      histogram.get().outputPercentileDistribution(out, TICKS_PER_HALF_DISTANCE, NANOS_PER_MILLI);
+    }
+    context
+        .response()
+        .putHeader(CONTENT_TYPE, PLAIN_TEXT_UTF_8.toString())
+        .end(distribution.toString(StandardCharsets.UTF_8));
+  }
+
+  private JsonObject summarise(final Histogram histogram) {
+    final JsonObject summary =
+        new JsonObject()
+            .put("count", histogram.getTotalCount())
+            .put("mean", histogram.getMean() / NANOS_PER_MILLI)
+            .put("max", histogram.getMaxValue() / NANOS_PER_MILLI);
+    for (final String percentile : PERCENTILES) {
+      final long latency = histogram.getValueAtPercentile(Double.parseDouble(percentile));
+      summary.put("p" + percentile, latency / NANOS_PER_MILLI);
+    }
+    return summary;
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http.handlers;
+
+import static com.google.common.net.MediaType.JSON_UTF_8;
+import static com.google.common.net.MediaType.PLAIN_TEXT_UTF_8;
+import static tech.pegasys.eth2signer.core.http.RequestDeadlineHandler.STAGE_DEQUEUED;
+import static tech.pegasys.eth2signer.core.http.RequestDeadlineHandler.STAGE_PRE_SIGN;
+
+import tech.pegasys.eth2signer.core.eth2.DomainTable;
+import tech.pegasys.eth2signer.core.eth2.Eth2SigningRequest;
+import tech.pegasys.eth2signer.core.eth2.Eth2SigningType;
+import tech.pegasys.eth2signer.core.http.DeadlineExceededException;
+import tech.pegasys.eth2signer.core.http.RequestDeadline;
+import tech.pegasys.eth2signer.core.http.RequestDeadlineHandler;
+import tech.pegasys.eth2signer.core.http.SlashingProtectionViolationException;
+import tech.pegasys.eth2signer.core.metrics.LatencyHistograms;
+import tech.pegasys.eth2signer.core.signing.ArtifactSigner;
+import tech.pegasys.eth2signer.core.signing.ArtifactSignerProvider;
+import tech.pegasys.eth2signer.core.signing.SignatureSelfCheck;
+import tech.pegasys.eth2signer.core.slashingprotection.SlashingProtection;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.bls.mikuli.G2Point;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.api.RequestParameters;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Signs one message with each of a list of public keys, as when every validator of a committee
+ * hosted by this signer attests to the same root.
+ *
+ * <p>The message is hashed to G2 once, after which the keys are split into one chunk per core and
+ * the chunks are signed concurrently on worker threads. Signatures are returned as a JSON array in
+ * the order of the requested public keys, holding null for any key this signer does not hold.
+ *
+ * <p>When aggregating, each chunk adds its own signatures together on its worker so only one point
+ * per chunk remains to be added once all have completed, and the single aggregate signature is
+ * returned. Every public key must then be held by this signer.
+ *
+ * <p>Instead of opaque data, the request may hold attestation data with its fork and genesis
+ * validators root, as for a typed attestation request, whose signing root is signed. This is
+ * required while slashing protection is enabled, and each key's attestation is then checked before
+ * it is signed. A refusal for any key refuses the whole request.
+ */
+public class SignCommitteeHandler implements Handler<RoutingContext> {
+  public static final String SIGN_COMMITTEE_OPERATION = "sign_committee";
+  public static final String SIGN_COMMITTEE_AGGREGATE_OPERATION = "sign_committee_aggregate";
+  // MAX_VALIDATORS_PER_COMMITTEE of the phase 0 specification
+  public static final int MAX_PUBLIC_KEYS = 2048;
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ArtifactSignerProvider signerProvider;
+  private final ChunkedRequests chunkedRequests;
+  private final Optional<SignatureSelfCheck> signatureSelfCheck;
+  private final Optional<SlashingProtection> slashingProtection;
+  private final DomainTable domainTable;
+  private final boolean aggregate;
+
+  public SignCommitteeHandler(
+      final ArtifactSignerProvider signerProvider,
+      final RequestDeadlineHandler requestDeadlineHandler,
+      final LatencyHistograms latencyHistograms,
+      final Optional<SignatureSelfCheck> signatureSelfCheck,
+      final Optional<SlashingProtection> slashingProtection,
+      final DomainTable domainTable,
+      final boolean aggregate) {
+    this.signerProvider = signerProvider;
+    this.chunkedRequests = new ChunkedRequests(requestDeadlineHandler, latencyHistograms);
+    this.signatureSelfCheck = signatureSelfCheck;
+    this.slashingProtection = slashingProtection;
+    this.domainTable = domainTable;
+    this.aggregate = aggregate;
+  }
+
+  @Override
+  public void handle(final RoutingContext routingContext) {
+    final long receivedAt = System.nanoTime();
+    final RequestParameters params = routingContext.get("parsedParameters");
+    final Optional<Eth2SigningRequest> attestation;
+    final Bytes dataToSign;
+    final List<String> publicKeys;
+    try {
+      final JsonObject body = JsonFields.requiredBody(params.body().getJsonObject());
+      attestation = getAttestation(body);
+      dataToSign =
+          attestation.isPresent()
+              ? attestation.get().getSigningRoot()
+              : Bytes.fromHexString(JsonFields.required(body, "data", String.class));
+      publicKeys = JsonFields.requiredList(body, "publicKeys", MAX_PUBLIC_KEYS, String.class);
+      checkDistinct(publicKeys);
+    } catch (final IllegalArgumentException | ClassCastException e) {
+      LOG.debug("Invalid committee signing request: {}", e.getMessage());
+      routingContext.fail(400);
+      return;
+    }
+    if (attestation.isEmpty() && slashingProtection.isPresent()) {
+      LOG.warn("Refusing to sign untyped committee data with slashing protection enabled");
+      routingContext.fail(SignForPublicKeyHandler.SLASHING_PROTECTION_VIOLATION_STATUS_CODE);
+      return;
+    }
+    final RequestDeadline deadline = RequestDeadlineHandler.getDeadline(routingContext);
+
+    final Vertx vertx = routingContext.vertx();
+    final Promise<G2Point> hashedMessage = Promise.promise();
+    vertx.executeBlocking(promise -> hash(dataToSign, deadline, promise), false, hashedMessage);
+    hashedMessage
+        .future()
+        .compose(
+            hash ->
+                chunkedRequests.<String, List<Optional<BLSSignature>>>process(
+                    vertx,
+                    publicKeys,
+                    deadline,
+                    (chunk, promise) -> signChunk(chunk, attestation, hash, deadline, promise)))
+        .onComplete(result -> respond(routingContext, receivedAt, result));
+  }
+
+  private Optional<Eth2SigningRequest> getAttestation(final JsonObject body) {
+    final Eth2SigningType type = Eth2SigningType.ATTESTATION;
+    return body.containsKey(type.getName())
+        ? Optional.of(Eth2SigningRequest.fromJson(type, body, domainTable))
+        : Optional.empty();
+  }
+
+  // a repeated key would be signed, and checked by slashing protection, twice
+  private static void checkDistinct(final List<String> publicKeys) {
+    final Set<Bytes> distinct = new HashSet<>();
+    for (final String publicKey : publicKeys) {
+      if (!distinct.add(Bytes.fromHexString(publicKey))) {
+        throw new IllegalArgumentException("Public key " + publicKey + " is repeated");
+      }
+    }
+  }
+
+  private void hash(
+      final Bytes dataToSign, final RequestDeadline deadline, final Promise<G2Point> promise) {
+    if (deadline.hasExpired()) {
+      promise.fail(new DeadlineExceededException(STAGE_DEQUEUED));
+      return;
+    }
+    promise.complete(ArtifactSigner.hashMessage(dataToSign));
+  }
+
+  private void signChunk(
+      final List<String> publicKeys,
+      final Optional<Eth2SigningRequest> attestation,
+      final G2Point hashedMessage,
+      final RequestDeadline deadline,
+      final Promise<List<Optional<BLSSignature>>> promise) {
+    final List<Optional<BLSSignature>> signatures = new ArrayList<>(publicKeys.size());
+    final List<CompletableFuture<Void>> verifications = new ArrayList<>();
+    for (final String publicKey : publicKeys) {
+      if (deadline.hasExpired()) {
+        promise.fail(new DeadlineExceededException(STAGE_PRE_SIGN));
+        return;
+      }
+      final Optional<ArtifactSigner> signer = signerProvider.getSigner(publicKey);
+      // checked last, as a permitted signing is recorded and raises the validator's watermark
+      if (signer.isPresent()
+          && slashingProtection.isPresent()
+          && !slashingProtection.get().maySign(publicKey, attestation.get())) {
+        promise.fail(new SlashingProtectionViolationException(publicKey));
+        return;
+      }
+      final Optional<BLSSignature> signature = signer.map(s -> s.sign(hashedMessage));
+      signatures.add(signature);
+      if (signatureSelfCheck.isPresent() && signature.isPresent()) {
+        verifications.add(
+            signatureSelfCheck
+                .get()
+                .verify(signer.get().getPublicKey(), hashedMessage, signature.get()));
+      }
+    }
+
+    // signatures are verified before aggregation, so a faulty one is identified rather than hidden
+    CompletableFuture.allOf(verifications.toArray(CompletableFuture[]::new))
+        .whenComplete(
+            (verified, error) -> {
+              if (error != null) {
+                promise.fail(error.getCause() != null ? error.getCause() : error);
+              } else {
+                promise.complete(aggregate ? List.of(aggregateAll(signatures)) : signatures);
+              }
+            });
+  }
+
+  private void respond(
+      final RoutingContext routingContext,
+      final long receivedAt,
+      final AsyncResult<List<List<Optional<BLSSignature>>>> result) {
+    if (result.failed()) {
+      chunkedRequests.fail(routingContext, result.cause());
+      return;
+    }
+
+    final List<Optional<BLSSignature>> signatures = new ArrayList<>();
+    result.result().forEach(signatures::addAll);
+
+    if (aggregate) {
+      final Optional<BLSSignature> aggregateSignature = aggregateAll(signatures);
+      if (aggregateSignature.isEmpty()) {
+        LOG.error("Unable to find an appropriate signer for every key of committee request");
+        routingContext.fail(404);
+        return;
+      }
+      chunkedRequests.respond(
+          routingContext,
+          SIGN_COMMITTEE_AGGREGATE_OPERATION,
+          receivedAt,
+          PLAIN_TEXT_UTF_8,
+          aggregateSignature.get().toString());
+      return;
+    }
+
+    final JsonArray encodedSignatures = new JsonArray();
+    signatures.forEach(s -> encodedSignatures.add(s.map(Object::toString).orElse(null)));
+    chunkedRequests.respond(
+        routingContext,
+        SIGN_COMMITTEE_OPERATION,
+        receivedAt,
+        JSON_UTF_8,
+        encodedSignatures.encode());
+  }
+
+  private static Optional<BLSSignature> aggregateAll(
+      final List<Optional<BLSSignature>> signatures) {
+    if (signatures.stream().anyMatch(Optional::isEmpty)) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        BLS.aggregate(signatures.stream().map(Optional::get).collect(Collectors.toList())));
+  }
+}
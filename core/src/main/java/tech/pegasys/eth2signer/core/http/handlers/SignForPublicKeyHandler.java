@@ -14,54 +14,297 @@ package tech.pegasys.eth2signer.core.http.handlers;
 
 import static com.google.common.net.MediaType.PLAIN_TEXT_UTF_8;
 import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import static tech.pegasys.eth2signer.core.http.RequestDeadlineHandler.STAGE_DEQUEUED;
+import static tech.pegasys.eth2signer.core.http.RequestDeadlineHandler.STAGE_PRE_SIGN;
 
+import tech.pegasys.eth2signer.core.eth2.DomainTable;
+import tech.pegasys.eth2signer.core.eth2.Eth2SigningRequest;
+import tech.pegasys.eth2signer.core.eth2.Eth2SigningType;
+import tech.pegasys.eth2signer.core.http.DeadlineExceededException;
+import tech.pegasys.eth2signer.core.http.RequestDeadline;
+import tech.pegasys.eth2signer.core.http.RequestDeadlineHandler;
+import tech.pegasys.eth2signer.core.http.SlashingProtectionViolationException;
 import tech.pegasys.eth2signer.core.http.models.SigningRequestBody;
+import tech.pegasys.eth2signer.core.jfr.SignEvent;
+import tech.pegasys.eth2signer.core.metrics.Eth2SignerMetricCategory;
+import tech.pegasys.eth2signer.core.metrics.LatencyHistograms;
 import tech.pegasys.eth2signer.core.signing.ArtifactSigner;
 import tech.pegasys.eth2signer.core.signing.ArtifactSignerProvider;
+import tech.pegasys.eth2signer.core.signing.SignatureSelfCheck;
+import tech.pegasys.eth2signer.core.slashingprotection.SlashingProtection;
 import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.bls.mikuli.G2Point;
 
 import java.util.Optional;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
-import io.vertx.ext.web.api.RequestParameter;
 import io.vertx.ext.web.api.RequestParameters;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
 
 public class SignForPublicKeyHandler implements Handler<RoutingContext> {
+  public static final String SIGN_OPERATION = "sign";
+  public static final int SLASHING_PROTECTION_VIOLATION_STATUS_CODE = 412;
+
   private static final Logger LOG = LogManager.getLogger();
   final ArtifactSignerProvider signerProvider;
+  private final RequestDeadlineHandler requestDeadlineHandler;
+  private final LatencyHistograms latencyHistograms;
+  private final Optional<SlashingProtection> slashingProtection;
+  private final Optional<SignatureSelfCheck> signatureSelfCheck;
+  private final DomainTable domainTable;
+  private final OperationTimer decodeTimer;
+  private final OperationTimer queueTimer;
+  private final OperationTimer lookupTimer;
+  private final OperationTimer signTimer;
+  private final OperationTimer encodeTimer;
 
-  public SignForPublicKeyHandler(final ArtifactSignerProvider signerProvider) {
+  public SignForPublicKeyHandler(
+      final ArtifactSignerProvider signerProvider,
+      final RequestDeadlineHandler requestDeadlineHandler,
+      final MetricsSystem metricsSystem,
+      final LatencyHistograms latencyHistograms,
+      final Optional<SlashingProtection> slashingProtection,
+      final Optional<SignatureSelfCheck> signatureSelfCheck,
+      final DomainTable domainTable) {
     this.signerProvider = signerProvider;
+    this.requestDeadlineHandler = requestDeadlineHandler;
+    this.latencyHistograms = latencyHistograms;
+    this.slashingProtection = slashingProtection;
+    this.signatureSelfCheck = signatureSelfCheck;
+    this.domainTable = domainTable;
+
+    final LabelledMetric<OperationTimer> phaseTimer =
+        metricsSystem.createLabelledTimer(
+            Eth2SignerMetricCategory.SIGNING,
+            "phase_time",
+            "Time spent in each phase of handling a signing request",
+            "phase");
+    decodeTimer = phaseTimer.labels("decode");
+    queueTimer = phaseTimer.labels("queue");
+    lookupTimer = phaseTimer.labels("lookup");
+    signTimer = phaseTimer.labels("sign");
+    encodeTimer = phaseTimer.labels("encode");
   }
 
   @Override
   public void handle(RoutingContext routingContext) {
+    final long receivedAt = System.nanoTime();
     final RequestParameters params = routingContext.get("parsedParameters");
     final String publicKey = params.pathParameter("publicKey").toString();
-    final Optional<ArtifactSigner> signer = signerProvider.getSigner(publicKey);
+    final SignEvent signEvent = new SignEvent(publicKey);
+    signEvent.begin();
+    final Optional<Eth2SigningType> signingType =
+        Eth2SigningTypeHandler.getSigningType(routingContext);
+    final String operation = signingType.map(Eth2SigningType::getName).orElse(SIGN_OPERATION);
+    final Optional<Eth2SigningRequest> typedRequest;
+    final Bytes dataToSign;
+    try (final TimingContext ignored = decodeTimer.startTimer()) {
+      final JsonObject body = params.body().getJsonObject();
+      typedRequest =
+          signingType.map(type -> Eth2SigningRequest.fromJson(type, body, domainTable));
+      dataToSign = getDataToSign(body, typedRequest);
+    } catch (final IllegalArgumentException | ClassCastException e) {
+      LOG.debug("Invalid {} signing request: {}", operation, e.getMessage());
+      signEvent.completed("invalid");
+      routingContext.fail(400);
+      return;
+    }
+    final RequestDeadline deadline = RequestDeadlineHandler.getDeadline(routingContext);
+
+    sign(
+        routingContext.vertx(),
+        publicKey,
+        operation,
+        typedRequest,
+        dataToSign,
+        deadline,
+        receivedAt,
+        signEvent,
+        result -> respond(routingContext, result));
+  }
+
+  /**
+   * Signs the data on a worker thread, recording the phase timers, the sign event and the latency
+   * of the operation, and passes the encoded signature, or empty if the key is not held, to the
+   * result handler on the calling context. Shared by the HTTP and WebSocket signing endpoints.
+   *
+   * <p>The result fails with a {@link DeadlineExceededException} or a {@link
+   * SlashingProtectionViolationException} when the request is refused.
+   */
+  public void sign(
+      final Vertx vertx,
+      final String publicKey,
+      final String operation,
+      final Optional<Eth2SigningRequest> typedRequest,
+      final Bytes dataToSign,
+      final RequestDeadline deadline,
+      final long receivedAt,
+      final SignEvent signEvent,
+      final Handler<AsyncResult<Optional<String>>> resultHandler) {
+    // key loading and signing are CPU bound so are kept off the event loop
+    final TimingContext queueTimingContext = queueTimer.startTimer();
+    signEvent.enqueued();
+    vertx.<Optional<BLSSignature>>executeBlocking(
+        promise ->
+            sign(
+                publicKey,
+                typedRequest,
+                dataToSign,
+                deadline,
+                queueTimingContext,
+                signEvent,
+                promise),
+        false,
+        result ->
+            resultHandler.handle(encode(publicKey, operation, receivedAt, signEvent, result)));
+  }
+
+  private void sign(
+      final String publicKey,
+      final Optional<Eth2SigningRequest> typedRequest,
+      final Bytes dataToSign,
+      final RequestDeadline deadline,
+      final TimingContext queueTimingContext,
+      final SignEvent signEvent,
+      final Promise<Optional<BLSSignature>> promise) {
+    queueTimingContext.stopTimer();
+    signEvent.dequeued();
+    if (deadline.hasExpired()) {
+      promise.fail(new DeadlineExceededException(STAGE_DEQUEUED));
+      return;
+    }
+
+    // opaque data cannot be checked, and could be the signing root of a slashable block or
+    // attestation, so only typed requests are signed while slashing protection is enabled
+    if (typedRequest.isEmpty() && slashingProtection.isPresent()) {
+      LOG.warn("Refusing to sign untyped data for {} with slashing protection enabled", publicKey);
+      promise.fail(new SlashingProtectionViolationException(publicKey));
+      return;
+    }
+
+    final Optional<ArtifactSigner> signer;
+    try (final TimingContext ignored = lookupTimer.startTimer()) {
+      signer = signerProvider.getSigner(publicKey);
+    }
     if (signer.isEmpty()) {
+      promise.complete(Optional.empty());
+      return;
+    }
+
+    if (deadline.hasExpired()) {
+      promise.fail(new DeadlineExceededException(STAGE_PRE_SIGN));
+      return;
+    }
+
+    // checked last, as a permitted signing is recorded and raises the validator's watermark
+    if (slashingProtection.isPresent()
+        && !slashingProtection.get().maySign(publicKey, typedRequest.get())) {
+      promise.fail(new SlashingProtectionViolationException(publicKey));
+      return;
+    }
+
+    // hashed once, so the self check can reuse it
+    final G2Point hashedMessage;
+    final BLSSignature signature;
+    try (final TimingContext ignored = signTimer.startTimer()) {
+      hashedMessage = ArtifactSigner.hashMessage(dataToSign);
+      signature = signer.get().sign(hashedMessage);
+    }
+    if (signatureSelfCheck.isEmpty()) {
+      promise.complete(Optional.of(signature));
+      return;
+    }
+
+    // the response is held until the signature's batch has been verified
+    signatureSelfCheck
+        .get()
+        .verify(signer.get().getPublicKey(), hashedMessage, signature)
+        .whenComplete(
+            (verified, error) -> {
+              if (error != null) {
+                promise.fail(error);
+              } else {
+                promise.complete(Optional.of(signature));
+              }
+            });
+  }
+
+  private AsyncResult<Optional<String>> encode(
+      final String publicKey,
+      final String operation,
+      final long receivedAt,
+      final SignEvent signEvent,
+      final AsyncResult<Optional<BLSSignature>> result) {
+    if (result.failed()) {
+      if (result.cause() instanceof DeadlineExceededException) {
+        signEvent.completed("deadline_exceeded");
+      } else if (result.cause() instanceof SlashingProtectionViolationException) {
+        signEvent.completed("slashing_protection");
+      } else {
+        signEvent.completed("failed");
+      }
+      return Future.failedFuture(result.cause());
+    }
+
+    final Optional<BLSSignature> signature = result.result();
+    if (signature.isEmpty()) {
       LOG.error("Unable to find an appropriate signer for request: {}", publicKey);
-      routingContext.fail(404);
+      signEvent.completed("not_found");
+      return Future.succeededFuture(Optional.empty());
+    }
+
+    final String encodedSignature;
+    try (final TimingContext ignored = encodeTimer.startTimer()) {
+      encodedSignature = signature.get().toString();
+    }
+    signEvent.completed("signed");
+    latencyHistograms.record(operation, System.nanoTime() - receivedAt);
+    return Future.succeededFuture(Optional.of(encodedSignature));
+  }
+
+  private void respond(
+      final RoutingContext routingContext, final AsyncResult<Optional<String>> result) {
+    if (result.failed()) {
+      if (result.cause() instanceof DeadlineExceededException) {
+        final String stage = ((DeadlineExceededException) result.cause()).getStage();
+        requestDeadlineHandler.reject(routingContext, stage);
+      } else if (result.cause() instanceof SlashingProtectionViolationException) {
+        routingContext.fail(SLASHING_PROTECTION_VIOLATION_STATUS_CODE);
+      } else {
+        routingContext.fail(result.cause());
+      }
       return;
     }
 
-    final Bytes dataToSign = getDataToSign(params);
-    final BLSSignature signature = signer.get().sign(dataToSign);
+    if (result.result().isEmpty()) {
+      routingContext.fail(404);
+      return;
+    }
     routingContext
         .response()
         .putHeader(CONTENT_TYPE, PLAIN_TEXT_UTF_8.toString())
-        .end(signature.toString());
+        .end(result.result().get());
   }
 
-  private Bytes getDataToSign(final RequestParameters params) {
-    final RequestParameter body = params.body();
-    final JsonObject jsonObject = body.getJsonObject();
-    final SigningRequestBody signingRequestBody = jsonObject.mapTo(SigningRequestBody.class);
+  private Bytes getDataToSign(
+      final JsonObject body, final Optional<Eth2SigningRequest> typedRequest) {
+    if (typedRequest.isPresent()) {
+      // typed objects are signed over their signing root, computed here rather than by the client
+      return typedRequest.get().getSigningRoot();
+    }
+    final SigningRequestBody signingRequestBody = body.mapTo(SigningRequestBody.class);
     return signingRequestBody.data();
   }
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http.handlers;
+
+import static tech.pegasys.eth2signer.core.http.RequestDeadlineHandler.STAGE_RECEIVED;
+
+import tech.pegasys.eth2signer.core.http.DeadlineExceededException;
+import tech.pegasys.eth2signer.core.http.RequestDeadline;
+import tech.pegasys.eth2signer.core.http.RequestDeadlineHandler;
+import tech.pegasys.eth2signer.core.http.SlashingProtectionViolationException;
+import tech.pegasys.eth2signer.core.jfr.SignEvent;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Upgrades the request to a WebSocket over which a client submits any number of signing requests.
+ *
+ * <p>Each text frame holds one request, {@code {"id": ..., "publicKey": "0x...", "data": "0x...",
+ * "timeout": ...}}, where the optional timeout is the number of milliseconds the client will wait,
+ * as for the {@code X-Request-Timeout} header. Requests are signed concurrently through the same
+ * path as the HTTP signing endpoint and each is answered as soon as it completes, so responses may
+ * arrive out of order and are correlated by the client supplied id. A response is either {@code
+ * {"id": ..., "signature": "0x..."}} or {@code {"id": ..., "error": {"code": ..., "message":
+ * ...}}}, where code follows the status codes of the HTTP signing endpoint.
+ *
+ * <p>Reading from a socket is paused while it has the maximum number of requests in flight or its
+ * write queue is full, so a client sending faster than it is answered is held back by TCP flow
+ * control rather than by queues in the signer.
+ */
+public class SignWebSocketHandler implements Handler<RoutingContext> {
+
+  public static final String SIGN_WEBSOCKET_OPERATION = "sign_websocket";
+  public static final int MAX_IN_FLIGHT_PER_SOCKET = 256;
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final JsonObject DEADLINE_EXCEEDED =
+      error(RequestDeadlineHandler.DEADLINE_EXCEEDED_STATUS_CODE, "Request deadline exceeded.");
+  private static final JsonObject SLASHING_PROTECTION_VIOLATION =
+      error(
+          SignForPublicKeyHandler.SLASHING_PROTECTION_VIOLATION_STATUS_CODE,
+          "Signing refused by slashing protection");
+
+  private final SignForPublicKeyHandler signingHandler;
+  private final RequestDeadlineHandler requestDeadlineHandler;
+  private final int maxInFlight;
+
+  public SignWebSocketHandler(
+      final SignForPublicKeyHandler signingHandler,
+      final RequestDeadlineHandler requestDeadlineHandler) {
+    this(signingHandler, requestDeadlineHandler, MAX_IN_FLIGHT_PER_SOCKET);
+  }
+
+  SignWebSocketHandler(
+      final SignForPublicKeyHandler signingHandler,
+      final RequestDeadlineHandler requestDeadlineHandler,
+      final int maxInFlight) {
+    this.signingHandler = signingHandler;
+    this.requestDeadlineHandler = requestDeadlineHandler;
+    this.maxInFlight = maxInFlight;
+  }
+
+  @Override
+  public void handle(final RoutingContext routingContext) {
+    final HttpServerRequest request = routingContext.request();
+    if (!isWebSocketUpgrade(request)) {
+      // upgrade() throws on a plain request, which would be reported as a server error
+      routingContext.fail(400);
+      return;
+    }
+    final ServerWebSocket webSocket = request.upgrade();
+    LOG.debug("Signing WebSocket opened by {}", webSocket.remoteAddress());
+    new Connection(routingContext.vertx(), webSocket).open();
+  }
+
+  private static boolean isWebSocketUpgrade(final HttpServerRequest request) {
+    final String connection = request.getHeader(HttpHeaders.CONNECTION);
+    return request.version() == HttpVersion.HTTP_1_1
+        && "websocket".equalsIgnoreCase(request.getHeader(HttpHeaders.UPGRADE))
+        && connection != null
+        && Arrays.stream(connection.split(","))
+            .anyMatch(token -> token.trim().equalsIgnoreCase("upgrade"));
+  }
+
+  /** The requests in flight on one socket, only accessed on its event loop. */
+  private class Connection {
+    private final Vertx vertx;
+    private final ServerWebSocket webSocket;
+    private int inFlight;
+
+    private Connection(final Vertx vertx, final ServerWebSocket webSocket) {
+      this.vertx = vertx;
+      this.webSocket = webSocket;
+    }
+
+    private void open() {
+      webSocket.textMessageHandler(this::handleMessage);
+      webSocket.drainHandler(ignored -> resumeIfReady());
+      webSocket.exceptionHandler(e -> LOG.warn("Signing WebSocket failed", e));
+    }
+
+    private void handleMessage(final String message) {
+      final long receivedAt = System.nanoTime();
+      final JsonObject request;
+      try {
+        request = new JsonObject(message);
+      } catch (final DecodeException e) {
+        reply(errorResponse(null, 400, "Invalid signing request"));
+        return;
+      }
+
+      final Object id = request.getValue("id");
+      final Object publicKey = request.getValue("publicKey");
+      final Object data = request.getValue("data");
+      final Object timeout = request.getValue("timeout");
+      if (id == null || !(publicKey instanceof String) || !(data instanceof String)) {
+        reply(errorResponse(id, 400, "id, publicKey and data are required"));
+        return;
+      }
+      if (timeout != null && !(timeout instanceof Number)) {
+        reply(errorResponse(id, 400, "timeout must be a number of milliseconds"));
+        return;
+      }
+
+      final Bytes dataToSign;
+      final RequestDeadline deadline;
+      try {
+        dataToSign = Bytes.fromHexString((String) data);
+        deadline =
+            timeout == null
+                ? RequestDeadline.NONE
+                : requestDeadlineHandler.deadlineAfter(((Number) timeout).longValue());
+      } catch (final IllegalArgumentException e) {
+        reply(errorResponse(id, 400, e.getMessage()));
+        return;
+      }
+      if (deadline.hasExpired()) {
+        requestDeadlineHandler.countExpired(STAGE_RECEIVED);
+        reply(errorResponse(id, DEADLINE_EXCEEDED));
+        return;
+      }
+
+      final String signerIdentifier = (String) publicKey;
+      final SignEvent signEvent = new SignEvent(signerIdentifier);
+      signEvent.begin();
+      inFlight++;
+      if (inFlight >= maxInFlight) {
+        webSocket.pause();
+      }
+      signingHandler.sign(
+          vertx,
+          signerIdentifier,
+          SIGN_WEBSOCKET_OPERATION,
+          Optional.empty(),
+          dataToSign,
+          deadline,
+          receivedAt,
+          signEvent,
+          result -> {
+            inFlight--;
+            reply(response(id, signerIdentifier, result));
+            resumeIfReady();
+          });
+    }
+
+    private void reply(final JsonObject response) {
+      if (webSocket.isClosed()) {
+        LOG.debug("Discarding response for closed WebSocket: {}", response.getValue("id"));
+        return;
+      }
+      webSocket.writeTextMessage(response.encode());
+      if (webSocket.writeQueueFull()) {
+        // resumed by the drain handler once the client has read the queued responses
+        webSocket.pause();
+      }
+    }
+
+    private void resumeIfReady() {
+      if (inFlight < maxInFlight && !webSocket.writeQueueFull() && !webSocket.isClosed()) {
+        webSocket.resume();
+      }
+    }
+  }
+
+  private JsonObject response(
+      final Object id, final String publicKey, final AsyncResult<Optional<String>> result) {
+    if (result.failed()) {
+      if (result.cause() instanceof DeadlineExceededException) {
+        requestDeadlineHandler.countExpired(
+            ((DeadlineExceededException) result.cause()).getStage());
+        return errorResponse(id, DEADLINE_EXCEEDED);
+      }
+      if (result.cause() instanceof SlashingProtectionViolationException) {
+        return errorResponse(id, SLASHING_PROTECTION_VIOLATION);
+      }
+      LOG.error("Failed to sign WebSocket request for {}", publicKey, result.cause());
+      return errorResponse(id, 500, "Internal Eth2Signer server error");
+    }
+    if (result.result().isEmpty()) {
+      return errorResponse(id, 404, "Public Key not found");
+    }
+    return new JsonObject().put("id", id).put("signature", result.result().get());
+  }
+
+  private static JsonObject errorResponse(final Object id, final int code, final String message) {
+    return errorResponse(id, error(code, message));
+  }
+
+  private static JsonObject errorResponse(final Object id, final JsonObject error) {
+    return new JsonObject().put("id", id).put("error", error.copy());
+  }
+
+  private static JsonObject error(final int code, final String message) {
+    return new JsonObject().put("code", code).put("message", message);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http.handlers;
+
+import static com.google.common.net.MediaType.JSON_UTF_8;
+
+import tech.pegasys.eth2signer.core.http.RequestDeadline;
+import tech.pegasys.eth2signer.core.http.RequestDeadlineHandler;
+import tech.pegasys.eth2signer.core.metrics.LatencyHistograms;
+import tech.pegasys.eth2signer.core.signing.BatchVerifier;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.api.RequestParameters;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Verifies many (publicKey, data, signature) triples, responding with a JSON array holding whether
+ * each signature is valid, in the order of the request.
+ *
+ * <p>The triples are split into one chunk per core and each chunk is batch verified by a {@link
+ * BatchVerifier} on its own worker thread. A public key or signature which cannot be decoded as a
+ * point is reported as invalid rather than failing the request.
+ */
+public class VerifyHandler implements Handler<RoutingContext> {
+  public static final String VERIFY_OPERATION = "verify";
+  public static final int MAX_ENTRIES = 4096;
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ChunkedRequests chunkedRequests;
+  private final BatchVerifier batchVerifier = new BatchVerifier();
+
+  public VerifyHandler(
+      final RequestDeadlineHandler requestDeadlineHandler,
+      final LatencyHistograms latencyHistograms) {
+    this.chunkedRequests = new ChunkedRequests(requestDeadlineHandler, latencyHistograms);
+  }
+
+  private static class EncodedEntry {
+    private final Bytes publicKey;
+    private final Bytes data;
+    private final Bytes signature;
+
+    private EncodedEntry(final JsonObject entry) {
+      publicKey = Bytes.fromHexString(JsonFields.required(entry, "publicKey", String.class));
+      data = Bytes.fromHexString(JsonFields.required(entry, "data", String.class));
+      signature = Bytes.fromHexString(JsonFields.required(entry, "signature", String.class));
+    }
+  }
+
+  @Override
+  public void handle(final RoutingContext routingContext) {
+    final long receivedAt = System.nanoTime();
+    final RequestParameters params = routingContext.get("parsedParameters");
+    final List<EncodedEntry> entries;
+    try {
+      entries = getEntries(JsonFields.requiredBody(params.body().getJsonObject()));
+    } catch (final IllegalArgumentException e) {
+      LOG.debug("Invalid verification request: {}", e.getMessage());
+      routingContext.fail(400);
+      return;
+    }
+    final RequestDeadline deadline = RequestDeadlineHandler.getDeadline(routingContext);
+
+    chunkedRequests
+        .process(routingContext.vertx(), entries, deadline, this::verifyChunk)
+        .onComplete(
+            result -> {
+              if (result.failed()) {
+                chunkedRequests.fail(routingContext, result.cause());
+                return;
+              }
+              final JsonArray valid = new JsonArray();
+              result.result().forEach(chunk -> chunk.forEach(valid::add));
+              chunkedRequests.respond(
+                  routingContext, VERIFY_OPERATION, receivedAt, JSON_UTF_8, valid.encode());
+            });
+  }
+
+  private void verifyChunk(
+      final List<EncodedEntry> entries, final Promise<List<Boolean>> promise) {
+    final Boolean[] valid = new Boolean[entries.size()];
+    final List<Integer> decodedIndices = new ArrayList<>(entries.size());
+    final List<BatchVerifier.Entry> decodedEntries = new ArrayList<>(entries.size());
+    for (int i = 0; i < entries.size(); i++) {
+      final EncodedEntry entry = entries.get(i);
+      try {
+        decodedEntries.add(
+            new BatchVerifier.Entry(
+                BLSPublicKey.fromBytesCompressed(entry.publicKey),
+                entry.data,
+                BLSSignature.fromBytes(entry.signature)));
+        decodedIndices.add(i);
+      } catch (final IllegalArgumentException e) {
+        valid[i] = false;
+      }
+    }
+
+    final List<Boolean> verified = batchVerifier.verify(decodedEntries);
+    for (int i = 0; i < verified.size(); i++) {
+      valid[decodedIndices.get(i)] = verified.get(i);
+    }
+    promise.complete(Arrays.asList(valid));
+  }
+
+  private List<EncodedEntry> getEntries(final JsonObject body) {
+    final List<JsonObject> entries =
+        JsonFields.requiredList(body, "entries", MAX_ENTRIES, JsonObject.class);
+    final List<EncodedEntry> encodedEntries = new ArrayList<>(entries.size());
+    for (final JsonObject entry : entries) {
+      encodedEntries.add(new EncodedEntry(entry));
+    }
+    return encodedEntries;
+  }
+}
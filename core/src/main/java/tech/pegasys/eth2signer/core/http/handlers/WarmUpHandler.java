@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http.handlers;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.net.MediaType.JSON_UTF_8;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+
+import tech.pegasys.eth2signer.core.multikey.SignerWarmUp;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.api.RequestParameters;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Accepts the public keys a validator client expects to use, each with the time of its expected
+ * use in milliseconds since the Unix epoch, and schedules their signers to be loaded ahead of that
+ * time. Responds with the number of keys accepted, excluding those whose use has already passed or
+ * which exceed the limit of pending loads. A request with a use beyond {@link
+ * SignerWarmUp#MAX_HORIZON} is rejected as a whole.
+ */
+public class WarmUpHandler implements Handler<RoutingContext> {
+  public static final int MAX_KEYS = 65536;
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final SignerWarmUp signerWarmUp;
+
+  public WarmUpHandler(final SignerWarmUp signerWarmUp) {
+    this.signerWarmUp = signerWarmUp;
+  }
+
+  @Override
+  public void handle(final RoutingContext routingContext) {
+    final RequestParameters params = routingContext.get("parsedParameters");
+    final List<KeyUse> keyUses;
+    try {
+      keyUses = parse(params.body().getJsonObject());
+    } catch (final IllegalArgumentException e) {
+      LOG.debug("Invalid warm up request: {}", e.getMessage());
+      routingContext.fail(400);
+      return;
+    }
+
+    // scheduling is cheap, the loading itself happens on the warm up threads
+    int accepted = 0;
+    for (final KeyUse keyUse : keyUses) {
+      if (signerWarmUp.warmUp(keyUse.publicKey, keyUse.expectedUse)) {
+        accepted++;
+      }
+    }
+    routingContext
+        .response()
+        .setStatusCode(202)
+        .putHeader(CONTENT_TYPE, JSON_UTF_8.toString())
+        .end(new JsonObject().put("accepted", accepted).encode());
+  }
+
+  private List<KeyUse> parse(final JsonObject body) {
+    final JsonArray keys =
+        JsonFields.required(JsonFields.requiredBody(body), "keys", JsonArray.class);
+    checkArgument(keys.size() <= MAX_KEYS, "At most %s keys may be supplied", MAX_KEYS);
+
+    final Instant latestExpectedUse = signerWarmUp.latestExpectedUse();
+    final List<KeyUse> keyUses = new ArrayList<>(keys.size());
+    for (final Object key : keys) {
+      checkArgument(key instanceof JsonObject, "keys must be objects");
+      final String publicKey = JsonFields.required((JsonObject) key, "publicKey", String.class);
+      final Instant expectedUse =
+          Instant.ofEpochMilli(
+              JsonFields.required((JsonObject) key, "expectedUse", Number.class).longValue());
+      checkArgument(
+          !expectedUse.isAfter(latestExpectedUse),
+          "expectedUse may be at most %s seconds ahead",
+          SignerWarmUp.MAX_HORIZON.toSeconds());
+      keyUses.add(new KeyUse(publicKey, expectedUse));
+    }
+    return keyUses;
+  }
+
+  private static class KeyUse {
+    private final String publicKey;
+    private final Instant expectedUse;
+
+    private KeyUse(final String publicKey, final Instant expectedUse) {
+      this.publicKey = publicKey;
+      this.expectedUse = expectedUse;
+    }
+  }
+}
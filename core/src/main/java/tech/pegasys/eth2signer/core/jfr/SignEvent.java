@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("tech.pegasys.eth2signer.Sign")
+@Label("Sign Request")
+@Category({"Eth2Signer", "Signing"})
+@Description("A signing request, from being handled to its response")
+@StackTrace(false)
+public class SignEvent extends Event {
+
+  @Label("Public Key")
+  private final String publicKey;
+
+  @Label("Queue Wait")
+  @Description("Time spent waiting for a worker thread")
+  @Timespan(Timespan.NANOSECONDS)
+  private long queueWait;
+
+  @Label("Outcome")
+  private String outcome;
+
+  private transient long enqueuedAt;
+
+  public SignEvent(final String publicKey) {
+    this.publicKey = publicKey;
+  }
+
+  public void enqueued() {
+    enqueuedAt = System.nanoTime();
+  }
+
+  public void dequeued() {
+    queueWait = System.nanoTime() - enqueuedAt;
+  }
+
+  public void completed(final String outcome) {
+    this.outcome = outcome;
+    commit();
+  }
+}
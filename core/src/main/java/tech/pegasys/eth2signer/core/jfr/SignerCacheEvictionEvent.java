@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("tech.pegasys.eth2signer.SignerCacheEviction")
+@Label("Signer Cache Eviction")
+@Category({"Eth2Signer", "Signer Cache"})
+@Description("Eviction of a signer from the signer cache")
+@StackTrace(false)
+public class SignerCacheEvictionEvent extends Event {
+
+  @Label("Identifier")
+  private final String identifier;
+
+  @Label("Cause")
+  private final String cause;
+
+  public SignerCacheEvictionEvent(final String identifier, final String cause) {
+    this.identifier = identifier;
+    this.cause = cause;
+  }
+}
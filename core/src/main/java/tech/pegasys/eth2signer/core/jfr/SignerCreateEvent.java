@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("tech.pegasys.eth2signer.SignerCreate")
+@Label("Signer Create")
+@Category({"Eth2Signer", "Key Loading"})
+@Description("Creation of a signer from its signing metadata, including retrieving its key")
+@StackTrace(false)
+public class SignerCreateEvent extends Event {
+
+  @Label("Signer Type")
+  private final String signerType;
+
+  @Label("Key Derivation Function")
+  private String kdf;
+
+  public SignerCreateEvent(final String signerType) {
+    this.signerType = signerType;
+  }
+
+  public void setKdf(final String kdf) {
+    this.kdf = kdf;
+  }
+}
@@ -21,8 +21,10 @@ import org.hyperledger.besu.metrics.StandardMetricCategory;
 import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
 
 public enum Eth2SignerMetricCategory implements MetricCategory {
+  CACHE("cache"),
   HTTP("http"),
-  SIGNING("signing");
+  SIGNING("signing"),
+  VERTX("vertx");
 
   private final String name;
 
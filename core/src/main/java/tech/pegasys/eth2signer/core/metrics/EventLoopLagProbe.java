@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.util.concurrent.EventExecutor;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+
+/**
+ * Periodically submits a task to each Vert.x event loop and records how long it waits before being
+ * run. The wait is the time the event loop spends on work queued ahead of it, so it rises as the
+ * event loops approach saturation.
+ *
+ * <p>A task which is still waiting after the blocked threshold counts the event loop as blocked,
+ * once per blocked period, which mirrors the warning logged by Vert.x's blocked thread checker.
+ */
+public class EventLoopLagProbe {
+
+  private final List<Probe> probes = new ArrayList<>();
+  private final Duration interval;
+  private final long blockedThresholdNanos;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("event-loop-lag-probe").build());
+
+  public EventLoopLagProbe(
+      final MetricsSystem metricsSystem,
+      final Vertx vertx,
+      final Duration interval,
+      final Duration blockedThreshold) {
+    this.interval = interval;
+    this.blockedThresholdNanos = blockedThreshold.toNanos();
+
+    final LabelledMetric<OperationTimer> lagTimer =
+        metricsSystem.createLabelledTimer(
+            Eth2SignerMetricCategory.VERTX,
+            "event_loop_lag",
+            "Time a task waits to be run by the event loop",
+            "event_loop");
+    final LabelledMetric<Counter> blockedCounter =
+        metricsSystem.createLabelledCounter(
+            Eth2SignerMetricCategory.VERTX,
+            "event_loop_blocked",
+            "Number of times the event loop was blocked for longer than the blocked threshold",
+            "event_loop");
+
+    int index = 0;
+    for (final EventExecutor eventLoop : ((VertxInternal) vertx).getEventLoopGroup()) {
+      final String label = String.valueOf(index++);
+      probes.add(new Probe(eventLoop, lagTimer.labels(label), blockedCounter.labels(label)));
+    }
+  }
+
+  public void start() {
+    scheduler.scheduleAtFixedRate(
+        this::probeEventLoops, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  public void stop() {
+    scheduler.shutdownNow();
+  }
+
+  private void probeEventLoops() {
+    probes.forEach(probe -> probe.submit(blockedThresholdNanos));
+  }
+
+  private static class Probe {
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private final EventExecutor eventLoop;
+    private final OperationTimer lagTimer;
+    private final Counter blockedCounter;
+    private final AtomicLong pendingSince = new AtomicLong(IDLE);
+    private boolean blockedReported;
+
+    private Probe(
+        final EventExecutor eventLoop,
+        final OperationTimer lagTimer,
+        final Counter blockedCounter) {
+      this.eventLoop = eventLoop;
+      this.lagTimer = lagTimer;
+      this.blockedCounter = blockedCounter;
+    }
+
+    /** Only called from the scheduler thread. */
+    private void submit(final long blockedThresholdNanos) {
+      final long submittedAt = pendingSince.get();
+      if (submittedAt != IDLE) {
+        // the previous task is still waiting, so the event loop is busy with something else
+        if (!blockedReported && System.nanoTime() - submittedAt > blockedThresholdNanos) {
+          blockedCounter.inc();
+          blockedReported = true;
+        }
+        return;
+      }
+
+      blockedReported = false;
+      final TimingContext lag = lagTimer.startTimer();
+      pendingSince.set(System.nanoTime());
+      eventLoop.execute(() -> complete(lag));
+    }
+
+    private void complete(final TimingContext lag) {
+      lag.stopTimer();
+      pendingSince.set(IDLE);
+    }
+  }
+}
@@ -32,7 +32,7 @@ final class HttpClientMetricsAdapter
             Eth2SignerMetricCategory.HTTP,
             "client_request_time",
             "Time taken to process a client http request",
-            "uri",
+            "endpoint",
             "method");
   }
 
@@ -43,7 +43,14 @@ final class HttpClientMetricsAdapter
       final SocketAddress localAddress,
       final SocketAddress remoteAddress,
       final HttpClientRequest request) {
-    return requestDurationTimer.labels(request.uri(), request.method().name()).startTimer();
+    return requestDurationTimer
+        .labels(endpoint(remoteAddress), request.method().name())
+        .startTimer();
+  }
+
+  // the request uri contains per key secret paths, so only the remote endpoint is used as a label
+  private String endpoint(final SocketAddress remoteAddress) {
+    return remoteAddress == null ? "unknown" : remoteAddress.host() + ":" + remoteAddress.port();
   }
 
   @Override
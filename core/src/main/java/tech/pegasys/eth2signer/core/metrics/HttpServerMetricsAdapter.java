@@ -12,8 +12,15 @@
  */
 package tech.pegasys.eth2signer.core.metrics;
 
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.net.SocketAddress;
 import io.vertx.core.spi.metrics.HttpServerMetrics;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
@@ -23,29 +30,83 @@ import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext
 final class HttpServerMetricsAdapter implements HttpServerMetrics<TimingContext, Object, Object> {
 
   private final LabelledMetric<OperationTimer> requestDurationTimer;
+  private final HttpServerStreamMetrics streamMetrics;
+  private final RouteTemplates routeTemplates;
+  // timers for known routes are bound up front so that no label lookup happens per request
+  private final Map<String, Map<HttpMethod, OperationTimer>> routeTimers = new HashMap<>();
 
-  public HttpServerMetricsAdapter(final MetricsSystem metricsSystem) {
+  public HttpServerMetricsAdapter(
+      final MetricsSystem metricsSystem,
+      final HttpServerStreamMetrics streamMetrics,
+      final RouteTemplates routeTemplates) {
     requestDurationTimer =
         metricsSystem.createLabelledTimer(
             Eth2SignerMetricCategory.HTTP,
             "server_request_time",
             "Time taken to process a server http request",
-            "uri",
+            "route",
             "method");
+    this.streamMetrics = streamMetrics;
+    this.routeTemplates = routeTemplates;
+    routeTemplates
+        .getMethodsByTemplate()
+        .forEach(
+            (template, methods) -> {
+              final Map<HttpMethod, OperationTimer> timers = new EnumMap<>(HttpMethod.class);
+              methods.forEach(method -> timers.put(method, bindTimer(template, method)));
+              routeTimers.put(template, timers);
+            });
+  }
+
+  @Override
+  public Object connected(final SocketAddress remoteAddress, final String remoteName) {
+    streamMetrics.connectionOpened();
+    return null;
+  }
+
+  @Override
+  public void disconnected(final Object socketMetric, final SocketAddress remoteAddress) {
+    streamMetrics.connectionClosed();
   }
 
   @Override
   public TimingContext requestBegin(final Object socketMetric, final HttpServerRequest request) {
-    return requestDurationTimer.labels(request.uri(), request.method().name()).startTimer();
+    streamMetrics.streamOpened(request.version());
+    return timerFor(request).startTimer();
+  }
+
+  private OperationTimer timerFor(final HttpServerRequest request) {
+    final String template =
+        routeTemplates.resolve(request.path()).orElse(RouteTemplates.UNMATCHED_ROUTE);
+    final Map<HttpMethod, OperationTimer> timers = routeTimers.get(template);
+    final OperationTimer timer = timers == null ? null : timers.get(request.method());
+    return timer == null ? bindTimer(template, request.method()) : timer;
+  }
+
+  private OperationTimer bindTimer(final String template, final HttpMethod method) {
+    return requestDurationTimer.labels(template, method.name());
   }
 
   @Override
   public void requestReset(final TimingContext requestMetric) {
+    streamMetrics.streamReset();
+    requestMetric.stopTimer();
+  }
+
+  @Override
+  public Object connected(
+      final Object socketMetric,
+      final TimingContext requestMetric,
+      final ServerWebSocket serverWebSocket) {
+    // an upgraded request is neither ended nor reset, so it is finished here
+    streamMetrics.streamUpgraded();
     requestMetric.stopTimer();
+    return null;
   }
 
   @Override
   public void responseEnd(final TimingContext requestMetric, final HttpServerResponse response) {
+    streamMetrics.streamEnded();
     requestMetric.stopTimer();
   }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.vertx.core.http.HttpVersion;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+/**
+ * Connection and stream counts shared by all http servers of a Vertx instance. With HTTP/2 many
+ * streams (requests) are multiplexed over each connection, with HTTP/1.1 each connection carries
+ * one stream at a time.
+ */
+final class HttpServerStreamMetrics {
+
+  private final Map<HttpVersion, Counter> streamsOpened = new EnumMap<>(HttpVersion.class);
+  private final Counter streamsReset;
+  private final AtomicLong activeStreams = new AtomicLong();
+  private final AtomicLong activeConnections = new AtomicLong();
+
+  HttpServerStreamMetrics(final MetricsSystem metricsSystem) {
+    final LabelledMetric<Counter> streamsOpenedCounter =
+        metricsSystem.createLabelledCounter(
+            Eth2SignerMetricCategory.HTTP,
+            "server_streams_opened",
+            "Number of request streams opened on the http server",
+            "version");
+    for (final HttpVersion version : HttpVersion.values()) {
+      streamsOpened.put(version, streamsOpenedCounter.labels(version.name()));
+    }
+    streamsReset =
+        metricsSystem.createCounter(
+            Eth2SignerMetricCategory.HTTP,
+            "server_streams_reset",
+            "Number of request streams reset before the response completed");
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.HTTP,
+        "server_active_streams",
+        "Number of request streams currently in progress",
+        activeStreams::doubleValue);
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.HTTP,
+        "server_active_connections",
+        "Number of currently open http server connections",
+        activeConnections::doubleValue);
+  }
+
+  void connectionOpened() {
+    activeConnections.incrementAndGet();
+  }
+
+  void connectionClosed() {
+    activeConnections.decrementAndGet();
+  }
+
+  void streamOpened(final HttpVersion version) {
+    streamsOpened.get(version).inc();
+    activeStreams.incrementAndGet();
+  }
+
+  void streamEnded() {
+    activeStreams.decrementAndGet();
+  }
+
+  /** The stream has become a WebSocket, which is no longer counted as a request in progress. */
+  void streamUpgraded() {
+    activeStreams.decrementAndGet();
+  }
+
+  void streamReset() {
+    streamsReset.inc();
+    activeStreams.decrementAndGet();
+  }
+}
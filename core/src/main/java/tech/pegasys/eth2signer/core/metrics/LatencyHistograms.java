@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.metrics;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Records request latencies per operation into HdrHistograms, so percentiles such as p99.9 are
+ * exact to three significant digits rather than estimated from Prometheus summary quantiles.
+ *
+ * <p>Recording is wait free. Every {@link #INTERVAL} the values recorded since the previous
+ * rotation are moved into a ring of interval histograms, from which the one, five and fifteen
+ * minute windows are merged on request. A window therefore covers the most recent completed
+ * intervals and lags by at most one interval.
+ */
+public class LatencyHistograms {
+
+  public static final Duration INTERVAL = Duration.ofSeconds(10);
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final Map<String, OperationLatency> operations = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("latency-histograms").build());
+
+  public enum Window {
+    ONE_MINUTE("1m", Duration.ofMinutes(1)),
+    FIVE_MINUTES("5m", Duration.ofMinutes(5)),
+    FIFTEEN_MINUTES("15m", Duration.ofMinutes(15));
+
+    private final String label;
+    private final int intervals;
+
+    Window(final String label, final Duration duration) {
+      this.label = label;
+      this.intervals = (int) (duration.toMillis() / INTERVAL.toMillis());
+    }
+
+    public String getLabel() {
+      return label;
+    }
+
+    public static Optional<Window> fromLabel(final String label) {
+      for (final Window window : values()) {
+        if (window.label.equals(label)) {
+          return Optional.of(window);
+        }
+      }
+      return Optional.empty();
+    }
+  }
+
+  public void start() {
+    scheduler.scheduleAtFixedRate(
+        this::rotate, INTERVAL.toMillis(), INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  public void stop() {
+    scheduler.shutdownNow();
+  }
+
+  public void record(final String operation, final long latencyNanos) {
+    operations.computeIfAbsent(operation, name -> new OperationLatency()).record(latencyNanos);
+  }
+
+  public Set<String> getOperations() {
+    return new TreeSet<>(operations.keySet());
+  }
+
+  /** Returns the latencies of the operation, in nanoseconds, over the window. */
+  public Optional<Histogram> getHistogram(final String operation, final Window window) {
+    return Optional.ofNullable(operations.get(operation)).map(latency -> latency.merge(window));
+  }
+
+  void rotate() {
+    operations.values().forEach(OperationLatency::rotate);
+  }
+
+  private static class OperationLatency {
+    private static final int RING_SIZE = Window.FIFTEEN_MINUTES.intervals;
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram[] intervals = new Histogram[RING_SIZE];
+    private int next;
+
+    private void record(final long latencyNanos) {
+      recorder.recordValue(latencyNanos);
+    }
+
+    private synchronized void rotate() {
+      // the histogram leaving the ring is recycled to hold the next interval
+      intervals[next] = recorder.getIntervalHistogram(intervals[next]);
+      next = (next + 1) % RING_SIZE;
+    }
+
+    private synchronized Histogram merge(final Window window) {
+      final Histogram merged = new Histogram(SIGNIFICANT_DIGITS);
+      for (int i = 1; i <= window.intervals; i++) {
+        final Histogram interval = intervals[(next - i + RING_SIZE) % RING_SIZE];
+        if (interval != null) {
+          merged.add(interval);
+        }
+      }
+      return merged;
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.metrics;
+
+import io.vertx.core.spi.metrics.PoolMetrics;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+
+/**
+ * Records how long tasks wait for a thread of a Vert.x pool, such as the worker pool used for
+ * signing, and how long they then hold it.
+ */
+class PoolMetricsAdapter implements PoolMetrics<TimingContext> {
+
+  private final OperationTimer queueTimer;
+  private final OperationTimer usageTimer;
+  private final Counter rejectedCounter;
+
+  PoolMetricsAdapter(
+      final OperationTimer queueTimer,
+      final OperationTimer usageTimer,
+      final Counter rejectedCounter) {
+    this.queueTimer = queueTimer;
+    this.usageTimer = usageTimer;
+    this.rejectedCounter = rejectedCounter;
+  }
+
+  @Override
+  public TimingContext submitted() {
+    return queueTimer.startTimer();
+  }
+
+  @Override
+  public void rejected(final TimingContext queueTimingContext) {
+    rejectedCounter.inc();
+  }
+
+  @Override
+  public TimingContext begin(final TimingContext queueTimingContext) {
+    queueTimingContext.stopTimer();
+    return usageTimer.startTimer();
+  }
+
+  @Override
+  public void end(final TimingContext usageTimingContext, final boolean succeeded) {
+    usageTimingContext.stopTimer();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.vertx.core.http.HttpMethod;
+
+/**
+ * The route templates served by Eth2Signer, such as {@code /signer/sign/{publicKey}}, used to label
+ * http metrics so that the number of time series does not grow with the number of keys.
+ */
+public class RouteTemplates {
+
+  public static final String UNMATCHED_ROUTE = "other";
+
+  private static final Pattern PATH_PARAMETER = Pattern.compile("\\{[^/]+}");
+
+  private final Map<String, Set<HttpMethod>> methodsByTemplate = new LinkedHashMap<>();
+  private final List<Map.Entry<Pattern, String>> templatePatterns = new ArrayList<>();
+
+  public RouteTemplates add(final String template, final HttpMethod method) {
+    if (!methodsByTemplate.containsKey(template)) {
+      methodsByTemplate.put(template, EnumSet.noneOf(HttpMethod.class));
+      templatePatterns.add(Map.entry(toPattern(template), template));
+    }
+    methodsByTemplate.get(template).add(method);
+    return this;
+  }
+
+  /** Returns the template matching the path, or empty if the path matches no known route. */
+  public Optional<String> resolve(final String path) {
+    if (methodsByTemplate.containsKey(path)) {
+      return Optional.of(path);
+    }
+    return templatePatterns.stream()
+        .filter(entry -> entry.getKey().matcher(path).matches())
+        .map(Map.Entry::getValue)
+        .findFirst();
+  }
+
+  public Map<String, Set<HttpMethod>> getMethodsByTemplate() {
+    return Collections.unmodifiableMap(methodsByTemplate);
+  }
+
+  private static Pattern toPattern(final String template) {
+    final StringBuilder regex = new StringBuilder();
+    final Matcher matcher = PATH_PARAMETER.matcher(template);
+    int start = 0;
+    while (matcher.find()) {
+      regex.append(Pattern.quote(template.substring(start, matcher.start()))).append("[^/]+");
+      start = matcher.end();
+    }
+    regex.append(Pattern.quote(template.substring(start)));
+    return Pattern.compile(regex.toString());
+  }
+}
@@ -17,15 +17,45 @@ import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.core.spi.metrics.HttpClientMetrics;
 import io.vertx.core.spi.metrics.HttpServerMetrics;
+import io.vertx.core.spi.metrics.PoolMetrics;
 import io.vertx.core.spi.metrics.VertxMetrics;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 public class VertxMetricsAdapter implements VertxMetrics {
 
   private final MetricsSystem metricsSystem;
+  private final HttpServerStreamMetrics httpServerStreamMetrics;
+  private final RouteTemplates routeTemplates;
+  private final LabelledMetric<OperationTimer> poolQueueTimer;
+  private final LabelledMetric<OperationTimer> poolUsageTimer;
+  private final LabelledMetric<Counter> poolRejectedCounter;
 
-  public VertxMetricsAdapter(final MetricsSystem metricsSystem) {
+  public VertxMetricsAdapter(
+      final MetricsSystem metricsSystem, final RouteTemplates routeTemplates) {
     this.metricsSystem = metricsSystem;
+    this.routeTemplates = routeTemplates;
+    this.httpServerStreamMetrics = new HttpServerStreamMetrics(metricsSystem);
+    this.poolQueueTimer =
+        metricsSystem.createLabelledTimer(
+            Eth2SignerMetricCategory.VERTX,
+            "pool_queue_time",
+            "Time a task waits for a thread of the pool",
+            "pool");
+    this.poolUsageTimer =
+        metricsSystem.createLabelledTimer(
+            Eth2SignerMetricCategory.VERTX,
+            "pool_usage_time",
+            "Time a task holds a thread of the pool",
+            "pool");
+    this.poolRejectedCounter =
+        metricsSystem.createLabelledCounter(
+            Eth2SignerMetricCategory.VERTX,
+            "pool_rejected",
+            "Number of tasks rejected by the pool",
+            "pool");
   }
 
   @Override
@@ -36,6 +66,16 @@ public class VertxMetricsAdapter implements VertxMetrics {
   @Override
   public HttpServerMetrics<?, ?, ?> createHttpServerMetrics(
       final HttpServerOptions options, final SocketAddress localAddress) {
-    return new HttpServerMetricsAdapter(metricsSystem);
+    return new HttpServerMetricsAdapter(metricsSystem, httpServerStreamMetrics, routeTemplates);
+  }
+
+  @Override
+  public PoolMetrics<?> createPoolMetrics(
+      final String poolType, final String poolName, final int maxPoolSize) {
+    // named by vert.x, e.g. vert.x-worker-thread and vert.x-internal-blocking
+    return new PoolMetricsAdapter(
+        poolQueueTimer.labels(poolName),
+        poolUsageTimer.labels(poolName),
+        poolRejectedCounter.labels(poolName));
   }
 }
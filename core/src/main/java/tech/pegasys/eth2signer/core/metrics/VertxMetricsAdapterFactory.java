@@ -20,13 +20,16 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 public class VertxMetricsAdapterFactory implements VertxMetricsFactory {
 
   private final MetricsSystem metricsSystem;
+  private final RouteTemplates routeTemplates;
 
-  public VertxMetricsAdapterFactory(final MetricsSystem metricsSystem) {
+  public VertxMetricsAdapterFactory(
+      final MetricsSystem metricsSystem, final RouteTemplates routeTemplates) {
     this.metricsSystem = metricsSystem;
+    this.routeTemplates = routeTemplates;
   }
 
   @Override
   public VertxMetrics metrics(final VertxOptions options) {
-    return new VertxMetricsAdapter(metricsSystem);
+    return new VertxMetricsAdapter(metricsSystem, routeTemplates);
   }
 }
@@ -12,6 +12,9 @@
  */
 package tech.pegasys.eth2signer.core.multikey;
 
+import tech.pegasys.eth2signer.core.jfr.SignerCacheEvictionEvent;
+import tech.pegasys.eth2signer.core.jfr.SignerCacheLoadEvent;
+import tech.pegasys.eth2signer.core.metrics.Eth2SignerMetricCategory;
 import tech.pegasys.eth2signer.core.multikey.metadata.parser.SignerParser;
 import tech.pegasys.eth2signer.core.signing.ArtifactSigner;
 import tech.pegasys.eth2signer.core.signing.ArtifactSignerProvider;
@@ -21,6 +24,7 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.DirectoryStream.Filter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -28,6 +32,10 @@ import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -35,11 +43,14 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 
 public class DirectoryBackedArtifactSignerProvider implements ArtifactSignerProvider {
 
@@ -48,24 +59,91 @@ public class DirectoryBackedArtifactSignerProvider implements ArtifactSignerProv
   private final String fileExtension;
   private final SignerParser signerParser;
   private final LoadingCache<String, ArtifactSigner> artifactSignerCache;
+  // signers held outside the size limited cache until an expected use has passed
+  private final ConcurrentMap<String, PinnedSigner> pinnedSigners = new ConcurrentHashMap<>();
+  private final long maxPinnedSigners;
+
+  /** The outcome of pinning a signer ahead of its expected use. */
+  public enum PinResult {
+    PINNED,
+    NOT_FOUND,
+    LIMIT_REACHED
+  }
 
   public DirectoryBackedArtifactSignerProvider(
       final Path rootDirectory,
       final String fileExtension,
       final SignerParser signerParser,
-      final long maxSize) {
+      final long maxSize,
+      final MetricsSystem metricsSystem) {
     this.configsDirectory = rootDirectory;
     this.fileExtension = fileExtension;
     this.signerParser = signerParser;
+    // pins are held outside the cache, so at most twice the cache limit are ever held decrypted
+    this.maxPinnedSigners = maxSize;
+    final RemovalListener<String, ArtifactSigner> removalListener = this::signerRemoved;
     this.artifactSignerCache =
         CacheBuilder.newBuilder()
             .maximumSize(maxSize)
+            .recordStats()
+            .removalListener(removalListener)
             .build(CacheLoader.from((i) -> loadSignerForIdentifier(i).orElseThrow()));
+    registerCacheMetrics(metricsSystem);
+  }
+
+  // cumulative cache statistics are exported as gauges, so avoid the _count and _total suffixes
+  // Prometheus reserves for counters and summaries
+  private void registerCacheMetrics(final MetricsSystem metricsSystem) {
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.CACHE,
+        "signer_hits",
+        "Number of signer lookups served from the cache",
+        () -> artifactSignerCache.stats().hitCount());
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.CACHE,
+        "signer_misses",
+        "Number of signer lookups which required the signer to be loaded",
+        () -> artifactSignerCache.stats().missCount());
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.CACHE,
+        "signer_load_successes",
+        "Number of signers successfully loaded into the cache on lookup",
+        () -> artifactSignerCache.stats().loadSuccessCount());
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.CACHE,
+        "signer_load_failures",
+        "Number of signer loads which failed or found no matching metadata file",
+        () -> artifactSignerCache.stats().loadExceptionCount());
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.CACHE,
+        "signer_load_time_seconds",
+        "Total time spent loading signers on lookup",
+        () -> artifactSignerCache.stats().totalLoadTime() / (double) TimeUnit.SECONDS.toNanos(1));
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.CACHE,
+        "signer_evictions",
+        "Number of signers evicted from the cache",
+        () -> artifactSignerCache.stats().evictionCount());
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.CACHE,
+        "signer_size",
+        "Number of signers currently held in the cache",
+        artifactSignerCache::size);
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.CACHE,
+        "signer_pinned_size",
+        "Number of signers currently pinned ahead of an expected use",
+        pinnedSigners::size);
   }
 
   @Override
   public Optional<ArtifactSigner> getSigner(final String signerIdentifier) {
     final String normalisedIdentifier = normaliseIdentifier(signerIdentifier);
+    final PinnedSigner pinnedSigner = pinnedSigners.get(normalisedIdentifier);
+    if (pinnedSigner != null) {
+      return Optional.of(pinnedSigner.signer);
+    }
+
     final ArtifactSigner signer;
     try {
       signer = artifactSignerCache.get(normalisedIdentifier);
@@ -123,12 +201,88 @@ public class DirectoryBackedArtifactSignerProvider implements ArtifactSignerProv
     loadedSigner.ifPresent(signer -> artifactSignerCache.put(normaliseIdentifier, signer));
   }
 
+  /**
+   * Holds the signer, loading it if it is not already cached, exempt from cache eviction until the
+   * given time. Pinning an already pinned signer extends its pin to the later of the two times.
+   * Signers are not pinned beyond {@link #getMaxPinnedSigners()}, which is the cache limit.
+   */
+  public PinResult pinSigner(final String identifier, final Instant until) {
+    final String normalisedIdentifier = normaliseIdentifier(identifier);
+    if (pinnedSigners.computeIfPresent(normalisedIdentifier, (key, pinned) -> pinned.until(until))
+        != null) {
+      return PinResult.PINNED;
+    }
+    // checked before loading so a refused pin costs no decryption, concurrent pins may overshoot
+    // by at most the number of loading threads
+    if (pinnedSigners.size() >= maxPinnedSigners) {
+      return PinResult.LIMIT_REACHED;
+    }
+
+    final Optional<ArtifactSigner> signer =
+        Optional.ofNullable(artifactSignerCache.getIfPresent(normalisedIdentifier))
+            .or(() -> loadSignerForIdentifier(normalisedIdentifier))
+            .filter(s -> signerMatchesIdentifier(s, identifier));
+    if (signer.isEmpty()) {
+      return PinResult.NOT_FOUND;
+    }
+    pinnedSigners.merge(
+        normalisedIdentifier,
+        new PinnedSigner(signer.get(), until),
+        (pinned, loaded) -> pinned.until(until));
+    return PinResult.PINNED;
+  }
+
+  public long getMaxPinnedSigners() {
+    return maxPinnedSigners;
+  }
+
+  /**
+   * Releases the signers pinned until before the given time back into the cache, where they are
+   * subject to eviction once more.
+   *
+   * @return the number of signers released
+   */
+  public int unpinSignersBefore(final Instant time) {
+    final AtomicInteger released = new AtomicInteger();
+    for (final String identifier : pinnedSigners.keySet()) {
+      pinnedSigners.computeIfPresent(
+          identifier,
+          (key, pinned) -> {
+            if (!pinned.until.isBefore(time)) {
+              return pinned;
+            }
+            artifactSignerCache.put(key, pinned.signer);
+            released.incrementAndGet();
+            return null;
+          });
+    }
+    return released.get();
+  }
+
   @VisibleForTesting
   protected LoadingCache<String, ArtifactSigner> getArtifactSignerCache() {
     return artifactSignerCache;
   }
 
+  private void signerRemoved(final RemovalNotification<String, ArtifactSigner> notification) {
+    if (notification.wasEvicted()) {
+      new SignerCacheEvictionEvent(notification.getKey(), notification.getCause().name()).commit();
+    }
+  }
+
   private Optional<ArtifactSigner> loadSignerForIdentifier(final String signerIdentifier) {
+    final SignerCacheLoadEvent event = new SignerCacheLoadEvent(signerIdentifier);
+    event.begin();
+    try {
+      final Optional<ArtifactSigner> signer = findSignerForIdentifier(signerIdentifier);
+      event.setFound(signer.isPresent());
+      return signer;
+    } finally {
+      event.commit();
+    }
+  }
+
+  private Optional<ArtifactSigner> findSignerForIdentifier(final String signerIdentifier) {
     final Filter<Path> pathFilter = signerIdentifierFilenameFilter(signerIdentifier);
     final Collection<ArtifactSigner> matchingSigners = findSigners(pathFilter, signerParser::parse);
     if (matchingSigners.size() > 1) {
@@ -181,12 +335,27 @@ public class DirectoryBackedArtifactSignerProvider implements ArtifactSignerProv
     return normaliseIdentifier(identifier).equalsIgnoreCase(normaliseIdentifier(signerIdentifier));
   }
 
-  private String normaliseIdentifier(final String signerIdentifier) {
+  static String normaliseIdentifier(final String signerIdentifier) {
     return signerIdentifier.toLowerCase().startsWith("0x")
         ? signerIdentifier.substring(2)
         : signerIdentifier;
   }
 
+  private static class PinnedSigner {
+    private final ArtifactSigner signer;
+    private final Instant until;
+
+    private PinnedSigner(final ArtifactSigner signer, final Instant until) {
+      this.signer = signer;
+      this.until = until;
+    }
+
+    /** Returns this signer pinned until the later of its current time and the given time. */
+    private PinnedSigner until(final Instant time) {
+      return time.isAfter(until) ? new PinnedSigner(signer, time) : this;
+    }
+  }
+
   private void renderException(final Throwable t, final String filename) {
     LOG.error(
         "Error parsing signing metadata file {}: {}",
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.multikey;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.eth2signer.core.metrics.Eth2SignerMetricCategory;
+import tech.pegasys.eth2signer.core.multikey.DirectoryBackedArtifactSignerProvider.PinResult;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+/**
+ * Loads signers ahead of the duties a validator client expects to request of them, so the
+ * directory scan and keystore decryption of a signer outside the cache are not paid by the duty.
+ *
+ * <p>A signer is loaded on a background thread one epoch before its expected use and pinned,
+ * exempt from cache eviction, until one slot after it. Expired pins are released back into the
+ * cache periodically.
+ *
+ * <p>Uses are accepted at most {@link #MAX_HORIZON} ahead, and each key has at most one pending
+ * load, which repeated requests move earlier or extend. Pending loads are limited to the number of
+ * signers the provider will pin, so neither the scheduler queue nor the decrypted keys held grow
+ * with the number of requests.
+ */
+public class SignerWarmUp {
+
+  // SLOTS_PER_EPOCH * SECONDS_PER_SLOT of the phase 0 specification
+  public static final Duration LOAD_LEAD_TIME = Duration.ofSeconds(32 * 12);
+  // SECONDS_PER_SLOT of the phase 0 specification
+  public static final Duration DUTY_WINDOW = Duration.ofSeconds(12);
+  // duties are known at most one epoch ahead, so this allows for the current epoch and the next
+  public static final Duration MAX_HORIZON = LOAD_LEAD_TIME.multipliedBy(2);
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final Duration UNPIN_INTERVAL = Duration.ofSeconds(12);
+  // leaves cores free for signing, as keystore decryption is deliberately expensive
+  private static final int LOADING_THREADS =
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+  private final DirectoryBackedArtifactSignerProvider signerProvider;
+  private final Clock clock;
+  private final ScheduledThreadPoolExecutor executor;
+  private final ConcurrentMap<String, PendingLoad> pendingLoads = new ConcurrentHashMap<>();
+  private final Counter requestCounter;
+  private final Counter notFoundCounter;
+  private final Counter refusedCounter;
+
+  public SignerWarmUp(
+      final DirectoryBackedArtifactSignerProvider signerProvider,
+      final Clock clock,
+      final MetricsSystem metricsSystem) {
+    this.signerProvider = signerProvider;
+    this.clock = clock;
+    this.executor =
+        new ScheduledThreadPoolExecutor(
+            LOADING_THREADS,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("signer-warm-up-%d").build());
+    // a load moved earlier cancels its original task, which must not linger in the queue
+    executor.setRemoveOnCancelPolicy(true);
+
+    requestCounter =
+        metricsSystem.createCounter(
+            Eth2SignerMetricCategory.CACHE,
+            "signer_warm_up_requests",
+            "Number of signers requested to be loaded ahead of an expected use");
+    notFoundCounter =
+        metricsSystem.createCounter(
+            Eth2SignerMetricCategory.CACHE,
+            "signer_warm_up_not_found",
+            "Number of signers requested to be loaded ahead of use which could not be found");
+    refusedCounter =
+        metricsSystem.createCounter(
+            Eth2SignerMetricCategory.CACHE,
+            "signer_warm_up_refused",
+            "Number of signers not loaded ahead of use as the limit of pinned signers was reached");
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.CACHE,
+        "signer_warm_up_pending",
+        "Number of signers waiting to be loaded ahead of an expected use",
+        pendingLoads::size);
+  }
+
+  public void start() {
+    executor.scheduleWithFixedDelay(
+        this::unpinExpired,
+        UNPIN_INTERVAL.toMillis(),
+        UNPIN_INTERVAL.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  /** The latest expected use accepted by {@link #warmUp} at the current time. */
+  public Instant latestExpectedUse() {
+    return clock.instant().plus(MAX_HORIZON);
+  }
+
+  /**
+   * Schedules the signer to be loaded ahead of its expected use, returning false if the duty window
+   * of that use has already passed or the limit of pending loads has been reached.
+   *
+   * @throws IllegalArgumentException if the expected use is more than {@link #MAX_HORIZON} ahead
+   */
+  public boolean warmUp(final String identifier, final Instant expectedUse) {
+    final Instant now = clock.instant();
+    checkArgument(
+        !expectedUse.isAfter(now.plus(MAX_HORIZON)),
+        "Expected use may be at most %s seconds ahead",
+        MAX_HORIZON.toSeconds());
+    final Instant pinUntil = expectedUse.plus(DUTY_WINDOW);
+    if (!pinUntil.isAfter(now)) {
+      return false;
+    }
+
+    final Instant loadAt = expectedUse.minus(LOAD_LEAD_TIME);
+    final String key = DirectoryBackedArtifactSignerProvider.normaliseIdentifier(identifier);
+    final AtomicBoolean accepted = new AtomicBoolean(true);
+    pendingLoads.compute(
+        key,
+        (ignored, pending) -> {
+          if (pending == null) {
+            if (pendingLoads.size() >= signerProvider.getMaxPinnedSigners()) {
+              accepted.set(false);
+              return null;
+            }
+            return schedule(key, loadAt, pinUntil, now);
+          }
+          if (loadAt.isBefore(pending.loadAt)) {
+            pending.task.cancel(false);
+            return schedule(key, loadAt, later(pinUntil, pending.pinUntil), now);
+          }
+          return pending.until(pinUntil);
+        });
+    if (!accepted.get()) {
+      LOG.debug("Not loading signer {} ahead of use, too many loads are pending", identifier);
+      refusedCounter.inc();
+      return false;
+    }
+    requestCounter.inc();
+    return true;
+  }
+
+  int pendingLoadCount() {
+    return pendingLoads.size();
+  }
+
+  // called within the map's compute for the key, so the task cannot take the entry before it is set
+  private PendingLoad schedule(
+      final String key, final Instant loadAt, final Instant pinUntil, final Instant now) {
+    final long delayMillis = Math.max(0, Duration.between(now, loadAt).toMillis());
+    final ScheduledFuture<?> task =
+        executor.schedule(() -> load(key), delayMillis, TimeUnit.MILLISECONDS);
+    return new PendingLoad(task, loadAt, pinUntil);
+  }
+
+  private void load(final String key) {
+    final PendingLoad pending = pendingLoads.remove(key);
+    if (pending == null) {
+      return;
+    }
+    final PinResult result = signerProvider.pinSigner(key, pending.pinUntil);
+    if (result == PinResult.NOT_FOUND) {
+      LOG.warn("Unable to find signer {} to load ahead of its expected use", key);
+      notFoundCounter.inc();
+    } else if (result == PinResult.LIMIT_REACHED) {
+      LOG.warn("Unable to pin signer {} ahead of its expected use, too many are pinned", key);
+      refusedCounter.inc();
+    }
+  }
+
+  private void unpinExpired() {
+    final int released = signerProvider.unpinSignersBefore(clock.instant());
+    if (released > 0) {
+      LOG.debug("Released {} signers whose expected use has passed", released);
+    }
+  }
+
+  private static Instant later(final Instant first, final Instant second) {
+    return first.isAfter(second) ? first : second;
+  }
+
+  private static class PendingLoad {
+    private final ScheduledFuture<?> task;
+    private final Instant loadAt;
+    private final Instant pinUntil;
+
+    private PendingLoad(
+        final ScheduledFuture<?> task, final Instant loadAt, final Instant pinUntil) {
+      this.task = task;
+      this.loadAt = loadAt;
+      this.pinUntil = pinUntil;
+    }
+
+    /** Returns this load pinning until the later of its current time and the given time. */
+    private PendingLoad until(final Instant time) {
+      return time.isAfter(pinUntil) ? new PendingLoad(task, loadAt, time) : this;
+    }
+  }
+}
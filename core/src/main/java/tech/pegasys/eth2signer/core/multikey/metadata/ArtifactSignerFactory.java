@@ -15,6 +15,7 @@ package tech.pegasys.eth2signer.core.multikey.metadata;
 import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import tech.pegasys.eth2signer.core.jfr.SignerCreateEvent;
 import tech.pegasys.eth2signer.core.metrics.Eth2SignerMetricCategory;
 import tech.pegasys.eth2signer.core.signing.ArtifactSigner;
 import tech.pegasys.signers.bls.keystore.KeyStore;
@@ -63,29 +64,43 @@ public class ArtifactSignerFactory {
   }
 
   public ArtifactSigner create(final FileRawSigningMetadata fileRawSigningMetadata) {
+    final SignerCreateEvent event = new SignerCreateEvent("file-raw");
+    event.begin();
     try (TimingContext ignored = privateKeyRetrievalTimer.labels("file-raw").startTimer()) {
       return new ArtifactSigner(new BLSKeyPair(fileRawSigningMetadata.getSecretKey()));
+    } finally {
+      event.commit();
     }
   }
 
   public ArtifactSigner create(final FileKeyStoreMetadata fileKeyStoreMetadata) {
+    final SignerCreateEvent event = new SignerCreateEvent("file-keystore");
+    event.begin();
     try (TimingContext ignored = privateKeyRetrievalTimer.labels("file-keystore").startTimer()) {
-      return createKeystoreArtifact(fileKeyStoreMetadata);
+      return createKeystoreArtifact(fileKeyStoreMetadata, event);
+    } finally {
+      event.commit();
     }
   }
 
   public ArtifactSigner create(final HashicorpSigningMetadata hashicorpMetadata) {
+    final SignerCreateEvent event = new SignerCreateEvent("hashicorp");
+    event.begin();
     try (TimingContext ignored = privateKeyRetrievalTimer.labels("hashicorp").startTimer()) {
       return createHashicorpArtifact(hashicorpMetadata);
+    } finally {
+      event.commit();
     }
   }
 
-  private ArtifactSigner createKeystoreArtifact(final FileKeyStoreMetadata fileKeyStoreMetadata) {
+  private ArtifactSigner createKeystoreArtifact(
+      final FileKeyStoreMetadata fileKeyStoreMetadata, final SignerCreateEvent event) {
     final Path keystoreFile = makeRelativePathAbsolute(fileKeyStoreMetadata.getKeystoreFile());
     final Path keystorePasswordFile =
         makeRelativePathAbsolute(fileKeyStoreMetadata.getKeystorePasswordFile());
     try {
       final KeyStoreData keyStoreData = KeyStoreLoader.loadFromFile(keystoreFile);
+      event.setKdf(keyStoreData.getCrypto().getKdf().getKdfFunction().name());
       final String password = loadPassword(keystorePasswordFile);
       final Bytes privateKey = KeyStore.decrypt(password, keyStoreData);
       final BLSKeyPair keyPair = new BLSKeyPair(BLSSecretKey.fromBytes(privateKey));
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.recording;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Optional;
+
+import io.vertx.core.http.HttpMethod;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * The binary request log: a magic number and version followed by one record after another until
+ * the end of the file. Each record holds the timestamp, method, route template, public key, status
+ * code, payload size, latency and, when recorded, the payload.
+ */
+final class RequestLogFormat {
+
+  static final int MAGIC = 0x45325252; // "E2RR"
+  static final int VERSION = 1;
+
+  private static final int NO_PAYLOAD = -1;
+
+  private RequestLogFormat() {}
+
+  static void writeHeader(final DataOutput out) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeShort(VERSION);
+  }
+
+  static void readHeader(final DataInput in) throws IOException {
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a request log");
+    }
+    final int version = in.readUnsignedShort();
+    if (version != VERSION) {
+      throw new IOException("Unsupported request log version " + version);
+    }
+  }
+
+  static void writeRecord(final DataOutput out, final RequestRecord record) throws IOException {
+    out.writeLong(record.getTimestampMillis());
+    out.writeByte(record.getMethod().ordinal());
+    out.writeUTF(record.getRoute());
+    out.writeUTF(record.getPublicKey());
+    out.writeShort(record.getStatusCode());
+    out.writeInt(record.getPayloadSize());
+    out.writeLong(record.getLatencyNanos());
+    if (record.getPayload().isPresent()) {
+      final byte[] payload = record.getPayload().get().toArrayUnsafe();
+      out.writeInt(payload.length);
+      out.write(payload);
+    } else {
+      out.writeInt(NO_PAYLOAD);
+    }
+  }
+
+  static RequestRecord readRecord(final DataInput in) throws IOException {
+    final long timestampMillis = in.readLong();
+    final HttpMethod method = HttpMethod.values()[in.readUnsignedByte()];
+    final String route = in.readUTF();
+    final String publicKey = in.readUTF();
+    final int statusCode = in.readUnsignedShort();
+    final int payloadSize = in.readInt();
+    final long latencyNanos = in.readLong();
+    final int payloadLength = in.readInt();
+    Optional<Bytes> payload = Optional.empty();
+    if (payloadLength != NO_PAYLOAD) {
+      final byte[] bytes = new byte[payloadLength];
+      in.readFully(bytes);
+      payload = Optional.of(Bytes.wrap(bytes));
+    }
+    return new RequestRecord(
+        timestampMillis,
+        method,
+        route,
+        publicKey,
+        statusCode,
+        payloadSize,
+        latencyNanos,
+        payload);
+  }
+}
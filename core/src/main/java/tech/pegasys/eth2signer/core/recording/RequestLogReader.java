@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.recording;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Reads a request log written by the {@link RequestRecorder}. */
+public class RequestLogReader {
+
+  private RequestLogReader() {}
+
+  /**
+   * Reads all records of the log. A record truncated by the signer stopping mid write ends the log
+   * rather than failing it.
+   */
+  public static List<RequestRecord> readAll(final Path logFile) throws IOException {
+    final List<RequestRecord> records = new ArrayList<>();
+    try (final DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+      RequestLogFormat.readHeader(in);
+      while (true) {
+        try {
+          records.add(RequestLogFormat.readRecord(in));
+        } catch (final EOFException e) {
+          return records;
+        }
+      }
+    }
+  }
+}
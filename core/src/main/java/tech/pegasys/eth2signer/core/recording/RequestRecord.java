@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.recording;
+
+import java.util.Optional;
+
+import io.vertx.core.http.HttpMethod;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Metadata of a request served by Eth2Signer. Only the route template and public key identify the
+ * request, headers and query parameters are never recorded, and the payload only if requested.
+ */
+public class RequestRecord {
+
+  private final long timestampMillis;
+  private final HttpMethod method;
+  private final String route;
+  private final String publicKey;
+  private final int statusCode;
+  private final int payloadSize;
+  private final long latencyNanos;
+  private final Optional<Bytes> payload;
+
+  public RequestRecord(
+      final long timestampMillis,
+      final HttpMethod method,
+      final String route,
+      final String publicKey,
+      final int statusCode,
+      final int payloadSize,
+      final long latencyNanos,
+      final Optional<Bytes> payload) {
+    this.timestampMillis = timestampMillis;
+    this.method = method;
+    this.route = route;
+    this.publicKey = publicKey;
+    this.statusCode = statusCode;
+    this.payloadSize = payloadSize;
+    this.latencyNanos = latencyNanos;
+    this.payload = payload;
+  }
+
+  public long getTimestampMillis() {
+    return timestampMillis;
+  }
+
+  public HttpMethod getMethod() {
+    return method;
+  }
+
+  /** The route template, such as {@code /signer/sign/{publicKey}}. */
+  public String getRoute() {
+    return route;
+  }
+
+  /** The public key the request was made for, empty if the route has none. */
+  public String getPublicKey() {
+    return publicKey;
+  }
+
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  public int getPayloadSize() {
+    return payloadSize;
+  }
+
+  public long getLatencyNanos() {
+    return latencyNanos;
+  }
+
+  public Optional<Bytes> getPayload() {
+    return payload;
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.recording;
+
+import tech.pegasys.eth2signer.core.InitializationException;
+import tech.pegasys.eth2signer.core.metrics.Eth2SignerMetricCategory;
+import tech.pegasys.eth2signer.core.metrics.RouteTemplates;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+/**
+ * Records every request served by the router to a binary log in the data path, for replay against
+ * a test instance with the replay subcommand.
+ *
+ * <p>Records are appended by a single background thread so the event loop never blocks on disk.
+ * When the writer falls behind, records are dropped and counted rather than queued without bound.
+ */
+public class RequestRecorder implements Handler<RoutingContext> {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int QUEUE_CAPACITY = 10_000;
+  private static final String PUBLIC_KEY_PARAM = "publicKey";
+
+  private final RouteTemplates routeTemplates;
+  private final boolean payloadsRecorded;
+  private final Path logFile;
+  private final DataOutputStream out;
+  private final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+  private final ThreadPoolExecutor writer;
+  private final Counter recordedCounter;
+  private final Counter droppedCounter;
+
+  public RequestRecorder(
+      final Path dataPath,
+      final RouteTemplates routeTemplates,
+      final boolean payloadsRecorded,
+      final MetricsSystem metricsSystem) {
+    this.routeTemplates = routeTemplates;
+    this.payloadsRecorded = payloadsRecorded;
+    this.logFile = dataPath.resolve("requests-" + System.currentTimeMillis() + ".bin");
+    try {
+      out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(logFile)));
+      RequestLogFormat.writeHeader(out);
+    } catch (final IOException e) {
+      throw new InitializationException("Unable to create request log " + logFile, e);
+    }
+
+    recordedCounter =
+        metricsSystem.createCounter(
+            Eth2SignerMetricCategory.HTTP,
+            "recorder_records",
+            "Number of requests written to the request log");
+    droppedCounter =
+        metricsSystem.createCounter(
+            Eth2SignerMetricCategory.HTTP,
+            "recorder_dropped_records",
+            "Number of requests not recorded because the request log writer fell behind");
+    writer =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0,
+            TimeUnit.MILLISECONDS,
+            queue,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("request-recorder").build(),
+            (task, executor) -> droppedCounter.inc());
+    LOG.info("Recording requests to {}", logFile);
+  }
+
+  @Override
+  public void handle(final RoutingContext context) {
+    final long timestampMillis = System.currentTimeMillis();
+    final long start = System.nanoTime();
+    context.addBodyEndHandler(v -> record(context, timestampMillis, System.nanoTime() - start));
+    context.next();
+  }
+
+  private void record(
+      final RoutingContext context, final long timestampMillis, final long latencyNanos) {
+    final HttpServerRequest request = context.request();
+    final String publicKey = context.pathParam(PUBLIC_KEY_PARAM);
+    final Buffer body = context.getBody();
+    final RequestRecord record =
+        new RequestRecord(
+            timestampMillis,
+            request.method(),
+            routeTemplates.resolve(request.path()).orElse(RouteTemplates.UNMATCHED_ROUTE),
+            publicKey == null ? "" : publicKey,
+            context.response().getStatusCode(),
+            (int) request.bytesRead(),
+            latencyNanos,
+            payloadsRecorded && body != null
+                ? Optional.of(Bytes.wrap(body.getBytes()))
+                : Optional.empty());
+    writer.execute(() -> write(record));
+  }
+
+  private void write(final RequestRecord record) {
+    try {
+      RequestLogFormat.writeRecord(out, record);
+      recordedCounter.inc();
+      // flush once the backlog is written, so bursts are batched but the log never lags for long
+      if (queue.isEmpty()) {
+        out.flush();
+      }
+    } catch (final IOException e) {
+      LOG.warn("Failed to write to request log {}", logFile, e);
+    }
+  }
+
+  /** Writes outstanding records and closes the log. */
+  public void close() {
+    writer.shutdown();
+    try {
+      if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+        LOG.warn("Timed out writing outstanding records to {}", logFile);
+      }
+      out.close();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (final IOException e) {
+      LOG.warn("Failed to close request log {}", logFile, e);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.recording;
+
+import tech.pegasys.eth2signer.core.bench.BenchResult;
+import tech.pegasys.eth2signer.core.bench.LoadGenerator;
+import tech.pegasys.eth2signer.core.bench.LoadRequest;
+import tech.pegasys.eth2signer.core.metrics.RouteTemplates;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Replays recorded requests against a test instance holding the same keys, using the {@link
+ * LoadGenerator} with results labelled by route.
+ *
+ * <p>At a positive speed requests are sent at their recorded offsets divided by the speed, so 2
+ * replays twice as fast, and latency is measured from the scheduled send time. At speed zero
+ * requests are sent as fast as the connections allow. A request fails when the status code differs
+ * from the recorded one. Requests whose payload was not recorded are sent with random data of the
+ * recorded size.
+ */
+public class RequestReplayer {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final String PUBLIC_KEY_PARAM = "{publicKey}";
+  private static final String ADMIN_ROUTE_PREFIX = "/admin";
+  private static final int SWITCHING_PROTOCOLS = 101;
+  // length of {"data":"0x"}, the signing request body without its data
+  private static final int SIGNING_BODY_OVERHEAD = 12;
+
+  private final String host;
+  private final int port;
+  private final int maxConnections;
+  private final double speed;
+
+  public RequestReplayer(
+      final String host, final int port, final int maxConnections, final double speed) {
+    this.host = host;
+    this.port = port;
+    this.maxConnections = maxConnections;
+    this.speed = speed;
+  }
+
+  /** Replays the records, skipping admin and WebSocket requests and unresolved routes. */
+  public BenchResult replay(final List<RequestRecord> recordedRequests)
+      throws InterruptedException, ExecutionException {
+    final List<RequestRecord> records =
+        recordedRequests.stream()
+            .filter(RequestReplayer::isReplayable)
+            .collect(Collectors.toList());
+    LOG.info("Replaying {} of {} recorded requests", records.size(), recordedRequests.size());
+    if (records.isEmpty()) {
+      return new BenchResult(0, Duration.ZERO, new long[0]);
+    }
+
+    final long firstTimestampMillis = records.get(0).getTimestampMillis();
+    final Iterator<RequestRecord> remaining = records.iterator();
+    return new LoadGenerator(host, port, maxConnections, speed > 0)
+        .run(
+            () ->
+                remaining.hasNext()
+                    ? Optional.of(toRequest(remaining.next(), firstTimestampMillis))
+                    : Optional.empty());
+  }
+
+  private static boolean isReplayable(final RequestRecord record) {
+    return !record.getRoute().equals(RouteTemplates.UNMATCHED_ROUTE)
+        && !record.getRoute().startsWith(ADMIN_ROUTE_PREFIX)
+        && record.getStatusCode() != SWITCHING_PROTOCOLS
+        && !path(record).contains("{");
+  }
+
+  private static String path(final RequestRecord record) {
+    return record.getRoute().replace(PUBLIC_KEY_PARAM, record.getPublicKey());
+  }
+
+  private LoadRequest toRequest(final RequestRecord record, final long firstTimestampMillis) {
+    final long recordedOffsetMillis = record.getTimestampMillis() - firstTimestampMillis;
+    final long offsetNanos =
+        speed > 0 ? (long) (Duration.ofMillis(recordedOffsetMillis).toNanos() / speed) : 0;
+    return new LoadRequest(
+        offsetNanos,
+        record.getRoute(),
+        record.getMethod(),
+        path(record),
+        body(record),
+        record.getStatusCode());
+  }
+
+  private Buffer body(final RequestRecord record) {
+    if (record.getPayload().isPresent()) {
+      return Buffer.buffer(record.getPayload().get().toArrayUnsafe());
+    }
+    if (record.getPayloadSize() == 0) {
+      return Buffer.buffer();
+    }
+    final int dataSize = Math.max(1, (record.getPayloadSize() - SIGNING_BODY_OVERHEAD) / 2);
+    final JsonObject signingRequest =
+        new JsonObject().put("data", Bytes.random(dataSize).toHexString());
+    return Buffer.buffer(signingRequest.encode());
+  }
+}
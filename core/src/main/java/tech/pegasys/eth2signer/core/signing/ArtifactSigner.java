@@ -14,7 +14,9 @@ package tech.pegasys.eth2signer.core.signing;
 
 import tech.pegasys.teku.bls.BLS;
 import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.bls.mikuli.G2Point;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -30,7 +32,23 @@ public class ArtifactSigner {
     return keyPair.getPublicKey().toString();
   }
 
+  public BLSPublicKey getPublicKey() {
+    return keyPair.getPublicKey();
+  }
+
   public BLSSignature sign(final Bytes message) {
     return BLS.sign(keyPair.getSecretKey(), message);
   }
+
+  /**
+   * Hashes a message to G2 once, so that signing it with many keys through {@link #sign(G2Point)}
+   * costs each key only a scalar multiplication.
+   */
+  public static G2Point hashMessage(final Bytes message) {
+    return G2Point.hashToG2(message);
+  }
+
+  public BLSSignature sign(final G2Point hashedMessage) {
+    return new BLSSignature(keyPair.getSecretKey().getSecretKey().sign(hashedMessage));
+  }
 }
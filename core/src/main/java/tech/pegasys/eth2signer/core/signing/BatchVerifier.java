@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.signing;
+
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.bls.mikuli.G2Point;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.primitives.Booleans;
+import org.apache.milagro.amcl.BLS381.BIG;
+import org.apache.milagro.amcl.BLS381.ECP;
+import org.apache.milagro.amcl.BLS381.ECP2;
+import org.apache.milagro.amcl.BLS381.FP12;
+import org.apache.milagro.amcl.BLS381.PAIR;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Verifies many signatures together with a randomized linear combination.
+ *
+ * <p>Each entry is weighted by a random non-zero 64 bit scalar r, and the batch is valid when
+ * e(g1, sum of r·signature) equals the product of e(r·publicKey, H(message)). That costs one
+ * Miller loop per entry, one more for the signature sum and a single final exponentiation, where
+ * verifying entries one at a time costs two full pairings each. A batch holding an invalid
+ * signature passes with probability at most 2^-64.
+ *
+ * <p>A failing batch is bisected until the invalid entries are isolated. Messages are hashed to G2
+ * once, or not at all when the signer passes on its hash, and the hashes reused by every
+ * sub-batch.
+ */
+public class BatchVerifier {
+  private static final int SCALAR_BYTES = 8;
+
+  private final SecureRandom random;
+
+  public BatchVerifier() {
+    this(new SecureRandom());
+  }
+
+  BatchVerifier(final SecureRandom random) {
+    this.random = random;
+  }
+
+  public static class Entry {
+    private final BLSPublicKey publicKey;
+    private final G2Point messageHash;
+    private final BLSSignature signature;
+
+    public Entry(final BLSPublicKey publicKey, final Bytes message, final BLSSignature signature) {
+      this(publicKey, ArtifactSigner.hashMessage(message), signature);
+    }
+
+    /** An entry for a message already hashed to G2, as it was for signing. */
+    public Entry(
+        final BLSPublicKey publicKey, final G2Point messageHash, final BLSSignature signature) {
+      this.publicKey = publicKey;
+      this.messageHash = messageHash;
+      this.signature = signature;
+    }
+  }
+
+  /** Returns whether the signature of each entry is valid, in the order of the entries. */
+  public List<Boolean> verify(final List<Entry> entries) {
+    final List<ECP> publicKeys = new ArrayList<>(entries.size());
+    final List<ECP2> messageHashes = new ArrayList<>(entries.size());
+    final List<ECP2> signatures = new ArrayList<>(entries.size());
+    for (final Entry entry : entries) {
+      publicKeys.add(entry.publicKey.getPublicKey().g1Point().ecpPoint());
+      messageHashes.add(entry.messageHash.ecp2Point());
+      signatures.add(entry.signature.getSignature().g2Point().ecp2Point());
+    }
+
+    final boolean[] valid = new boolean[entries.size()];
+    if (!entries.isEmpty()) {
+      verifyRange(publicKeys, messageHashes, signatures, 0, entries.size(), false, valid);
+    }
+    return Booleans.asList(valid);
+  }
+
+  /**
+   * Marks the valid entries of the range, returning whether all were valid. A range already known
+   * to hold an invalid entry skips straight to bisection.
+   */
+  private boolean verifyRange(
+      final List<ECP> publicKeys,
+      final List<ECP2> messageHashes,
+      final List<ECP2> signatures,
+      final int from,
+      final int to,
+      final boolean knownInvalid,
+      final boolean[] valid) {
+    if (!knownInvalid && verifyBatch(publicKeys, messageHashes, signatures, from, to)) {
+      for (int i = from; i < to; i++) {
+        valid[i] = true;
+      }
+      return true;
+    }
+    if (to - from == 1) {
+      return false;
+    }
+
+    final int mid = (from + to) >>> 1;
+    final boolean lowerValid =
+        verifyRange(publicKeys, messageHashes, signatures, from, mid, false, valid);
+    // when the lower half is valid the upper half must hold the invalid entry
+    verifyRange(publicKeys, messageHashes, signatures, mid, to, lowerValid, valid);
+    return false;
+  }
+
+  private boolean verifyBatch(
+      final List<ECP> publicKeys,
+      final List<ECP2> messageHashes,
+      final List<ECP2> signatures,
+      final int from,
+      final int to) {
+    final ECP2 signatureSum = new ECP2();
+    FP12 millerLoops = null;
+    for (int i = from; i < to; i++) {
+      if (publicKeys.get(i).is_infinity()) {
+        return false;
+      }
+      final BIG r = randomScalar();
+      signatureSum.add(signatures.get(i).mul(r));
+      final FP12 millerLoop = PAIR.ate(messageHashes.get(i), publicKeys.get(i).mul(r));
+      if (millerLoops == null) {
+        millerLoops = millerLoop;
+      } else {
+        millerLoops.mul(millerLoop);
+      }
+    }
+
+    // the product with e(-g1, sum of r·signature) is unity exactly when the two sides are equal
+    final ECP negatedGenerator = ECP.generator();
+    negatedGenerator.neg();
+    millerLoops.mul(PAIR.ate(signatureSum, negatedGenerator));
+    return PAIR.fexp(millerLoops).isunity();
+  }
+
+  private BIG randomScalar() {
+    final byte[] scalar = new byte[BIG.MODBYTES];
+    final byte[] randomBytes = new byte[SCALAR_BYTES];
+    do {
+      random.nextBytes(randomBytes);
+    } while (Bytes.wrap(randomBytes).isZero());
+    System.arraycopy(randomBytes, 0, scalar, BIG.MODBYTES - SCALAR_BYTES, SCALAR_BYTES);
+    return BIG.fromBytes(scalar);
+  }
+}
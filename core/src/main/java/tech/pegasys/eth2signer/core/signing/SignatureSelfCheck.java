@@ -0,0 +1,211 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.signing;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.eth2signer.core.metrics.Eth2SignerMetricCategory;
+import tech.pegasys.eth2signer.core.util.MicroBatchQueue;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.bls.mikuli.G2Point;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+
+/**
+ * Verifies produced signatures before they are released, guarding against faults corrupting a
+ * signature, checking them in micro-batches with a {@link BatchVerifier}.
+ *
+ * <p>Signatures are gathered into batches by a {@link MicroBatchQueue}, and each batch is split
+ * into one shard per verifier thread so checking keeps pace with signing on every core. A batch is
+ * checked once the window has passed since its first signature was queued, or it is full. The
+ * window is the latency budget less the recent time taken to check a batch, so a signature
+ * normally waits no longer than the budget. When checking alone exceeds the budget the window is
+ * zero and batches only hold the signatures queued while the previous check ran.
+ *
+ * <p>Signers pass on the message they hashed to G2, so checking costs no second hash.
+ */
+public class SignatureSelfCheck {
+
+  public static final int MAX_SHARD_SIZE = 256;
+
+  private static final Logger LOG = LogManager.getLogger();
+  // weight of the latest batch in the moving average of check times
+  private static final double CHECK_TIME_SMOOTHING = 0.2;
+
+  private final long latencyBudgetNanos;
+  private final List<BatchVerifier> batchVerifiers = new ArrayList<>();
+  private final ExecutorService verifierPool;
+  private final MicroBatchQueue<PendingSignature> batches;
+  private final OperationTimer checkTimer;
+  private final Counter verifiedCounter;
+  private final Counter failureCounter;
+  // only accessed by the batching thread
+  private double checkNanosEstimate;
+
+  public SignatureSelfCheck(final Duration latencyBudget, final MetricsSystem metricsSystem) {
+    this(latencyBudget, Runtime.getRuntime().availableProcessors(), metricsSystem);
+  }
+
+  SignatureSelfCheck(
+      final Duration latencyBudget, final int verifierCount, final MetricsSystem metricsSystem) {
+    checkArgument(!latencyBudget.isNegative(), "Latency budget must not be negative");
+    checkArgument(verifierCount > 0, "Verifier count must be positive");
+    this.latencyBudgetNanos = latencyBudget.toNanos();
+    for (int i = 0; i < verifierCount; i++) {
+      batchVerifiers.add(new BatchVerifier());
+    }
+    this.verifierPool =
+        Executors.newFixedThreadPool(
+            verifierCount,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("signature-self-check-%d")
+                .build());
+    this.batches =
+        new MicroBatchQueue<>(
+            "signature-self-check-batcher",
+            verifierCount * MAX_SHARD_SIZE,
+            () -> latencyBudgetNanos - (long) checkNanosEstimate,
+            this::check);
+
+    checkTimer =
+        metricsSystem.createTimer(
+            Eth2SignerMetricCategory.SIGNING,
+            "self_check_time",
+            "Time to verify a batch of produced signatures");
+    verifiedCounter =
+        metricsSystem.createCounter(
+            Eth2SignerMetricCategory.SIGNING,
+            "self_checked_signatures",
+            "Number of produced signatures verified before release");
+    failureCounter =
+        metricsSystem.createCounter(
+            Eth2SignerMetricCategory.SIGNING,
+            "self_check_failures",
+            "Number of produced signatures which failed verification and were withheld");
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.SIGNING,
+        "self_check_batch_size",
+        "Number of signatures in the most recently verified batch",
+        () -> batches.getLastBatchSize());
+  }
+
+  public void start() {
+    batches.start();
+  }
+
+  /**
+   * Queues the signature for verification, returning a future completed once its batch has been
+   * checked, or failed with an {@link IllegalStateException} if the signature is invalid.
+   *
+   * @param hashedMessage the message as hashed to G2 for signing
+   */
+  public CompletableFuture<Void> verify(
+      final BLSPublicKey publicKey, final G2Point hashedMessage, final BLSSignature signature) {
+    final CompletableFuture<Void> verified = new CompletableFuture<>();
+    final PendingSignature pending =
+        new PendingSignature(
+            new BatchVerifier.Entry(publicKey, hashedMessage, signature), publicKey, verified);
+    if (!batches.add(pending)) {
+      verified.completeExceptionally(new IllegalStateException("Signature self check is closed"));
+    }
+    return verified;
+  }
+
+  /** Checks outstanding signatures and stops the verifier threads. */
+  public void close() {
+    final List<PendingSignature> unchecked = batches.close();
+    verifierPool.shutdown();
+    final IllegalStateException closedException =
+        new IllegalStateException("Signature self check is closed");
+    unchecked.forEach(pending -> pending.verified.completeExceptionally(closedException));
+  }
+
+  private void check(final List<PendingSignature> batch) {
+    final long start = System.nanoTime();
+    final List<Boolean> valid;
+    try (final TimingContext ignored = checkTimer.startTimer()) {
+      valid = verifyShards(batch);
+    } catch (final RuntimeException e) {
+      final Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+      LOG.error("Failed to verify batch of {} produced signatures", batch.size(), cause);
+      batch.forEach(pending -> pending.verified.completeExceptionally(cause));
+      return;
+    }
+    final long checkNanos = System.nanoTime() - start;
+    checkNanosEstimate += CHECK_TIME_SMOOTHING * (checkNanos - checkNanosEstimate);
+
+    verifiedCounter.inc(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      final PendingSignature pending = batch.get(i);
+      if (valid.get(i)) {
+        pending.verified.complete(null);
+      } else {
+        LOG.error(
+            "Produced signature for {} failed verification and was withheld", pending.publicKey);
+        failureCounter.inc();
+        pending.verified.completeExceptionally(
+            new IllegalStateException("Signature failed verification for " + pending.publicKey));
+      }
+    }
+  }
+
+  // each shard is bisected independently, so an invalid signature only costs its own shard
+  private List<Boolean> verifyShards(final List<PendingSignature> batch) {
+    final int shardSize = (batch.size() + batchVerifiers.size() - 1) / batchVerifiers.size();
+    final List<List<PendingSignature>> shards = Lists.partition(batch, shardSize);
+    final List<CompletableFuture<List<Boolean>>> verifiedShards = new ArrayList<>(shards.size());
+    for (int i = 0; i < shards.size(); i++) {
+      final BatchVerifier batchVerifier = batchVerifiers.get(i);
+      final List<BatchVerifier.Entry> entries =
+          shards.get(i).stream().map(pending -> pending.entry).collect(Collectors.toList());
+      verifiedShards.add(
+          CompletableFuture.supplyAsync(() -> batchVerifier.verify(entries), verifierPool));
+    }
+    final List<Boolean> valid = new ArrayList<>(batch.size());
+    verifiedShards.forEach(shard -> valid.addAll(shard.join()));
+    return valid;
+  }
+
+  private static class PendingSignature {
+    private final BatchVerifier.Entry entry;
+    private final BLSPublicKey publicKey;
+    private final CompletableFuture<Void> verified;
+
+    private PendingSignature(
+        final BatchVerifier.Entry entry,
+        final BLSPublicKey publicKey,
+        final CompletableFuture<Void> verified) {
+      this.entry = entry;
+      this.publicKey = publicKey;
+      this.verified = verified;
+    }
+  }
+}
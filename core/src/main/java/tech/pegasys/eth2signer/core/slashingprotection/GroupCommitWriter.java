@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.slashingprotection;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.eth2signer.core.metrics.Eth2SignerMetricCategory;
+import tech.pegasys.eth2signer.core.util.MicroBatchQueue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+
+/**
+ * Appends records to a file on a single writer thread, committing them in groups with one write
+ * and one fsync per group.
+ *
+ * <p>Records are gathered into groups by a {@link MicroBatchQueue}, so a group is committed once
+ * the commit window has passed since its first record was queued or it reaches the maximum batch
+ * size, and records queued while a commit is in progress join the next group. Each record's future
+ * is completed when its group is durable, releasing all the responses waiting on the group
+ * together.
+ *
+ * <p>A failed commit truncates the file back to the end of the last durable group, so a torn write
+ * cannot hide later records from replay, and then fails every later append. The page cache cannot
+ * be trusted after a failed fsync, so the writer stays failed until the log is reopened.
+ */
+class GroupCommitWriter {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Path file;
+  private final FileChannel channel;
+  private final ByteBuffer buffer;
+  private final MicroBatchQueue<PendingRecord> groups;
+  private final OperationTimer commitTimer;
+  private final Counter commitCounter;
+  private final Counter recordCounter;
+  private volatile IOException failure;
+
+  GroupCommitWriter(
+      final Path file,
+      final FileChannel channel,
+      final Duration commitWindow,
+      final int maxBatchSize,
+      final MetricsSystem metricsSystem) {
+    checkArgument(!commitWindow.isNegative(), "Commit window must not be negative");
+    checkArgument(maxBatchSize > 0, "Maximum batch size must be positive");
+    this.file = file;
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocateDirect(maxBatchSize * SlashingProtectionRecord.SIZE);
+    final long commitWindowNanos = commitWindow.toNanos();
+    this.groups =
+        new MicroBatchQueue<>(
+            "slashing-protection-log", maxBatchSize, () -> commitWindowNanos, this::commit);
+
+    commitTimer =
+        metricsSystem.createTimer(
+            Eth2SignerMetricCategory.SIGNING,
+            "slashing_protection_commit_time",
+            "Time to write and fsync a group of slashing protection records");
+    commitCounter =
+        metricsSystem.createCounter(
+            Eth2SignerMetricCategory.SIGNING,
+            "slashing_protection_commits",
+            "Number of groups of slashing protection records committed");
+    recordCounter =
+        metricsSystem.createCounter(
+            Eth2SignerMetricCategory.SIGNING,
+            "slashing_protection_committed_records",
+            "Number of slashing protection records committed");
+    metricsSystem.createGauge(
+        Eth2SignerMetricCategory.SIGNING,
+        "slashing_protection_commit_batch_size",
+        "Number of records in the most recently committed group",
+        () -> groups.getLastBatchSize());
+  }
+
+  void start() {
+    groups.start();
+  }
+
+  /** Queues the record, returning a future completed once its group has been committed. */
+  CompletableFuture<Void> append(final SlashingProtectionRecord record) {
+    final CompletableFuture<Void> durable = new CompletableFuture<>();
+    if (failure != null) {
+      durable.completeExceptionally(failedException());
+    } else if (!groups.add(new PendingRecord(record, durable))) {
+      durable.completeExceptionally(new IOException("Slashing protection log is closed"));
+    }
+    return durable;
+  }
+
+  /** Commits outstanding records and closes the file. */
+  void close() {
+    final List<PendingRecord> uncommitted = groups.close();
+    try {
+      channel.close();
+    } catch (final IOException e) {
+      LOG.warn("Failed to close slashing protection log {}", file, e);
+    }
+    final IOException closedException = new IOException("Slashing protection log is closed");
+    uncommitted.forEach(pending -> pending.durable.completeExceptionally(closedException));
+  }
+
+  private void commit(final List<PendingRecord> batch) {
+    if (failure != null) {
+      final IOException failedException = failedException();
+      batch.forEach(pending -> pending.durable.completeExceptionally(failedException));
+      return;
+    }
+    buffer.clear();
+    batch.forEach(pending -> pending.record.writeTo(buffer));
+    buffer.flip();
+    long committedSize = -1;
+    try (final TimingContext ignored = commitTimer.startTimer()) {
+      committedSize = channel.position();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(false);
+    } catch (final IOException e) {
+      LOG.error("Failed to write slashing protection log {}, refusing further appends", file, e);
+      failure = e;
+      truncateTo(committedSize);
+      batch.forEach(pending -> pending.durable.completeExceptionally(e));
+      return;
+    }
+    commitCounter.inc();
+    recordCounter.inc(batch.size());
+    batch.forEach(pending -> pending.durable.complete(null));
+  }
+
+  // removes any part of the failed group which reached the file, so replay reads up to the last
+  // durable group rather than stopping at a torn record
+  private void truncateTo(final long committedSize) {
+    if (committedSize < 0) {
+      return;
+    }
+    try {
+      channel.truncate(committedSize);
+      channel.force(false);
+    } catch (final IOException e) {
+      LOG.error("Failed to truncate slashing protection log {} after a failed write", file, e);
+    }
+  }
+
+  private IOException failedException() {
+    return new IOException("Slashing protection log failed a previous write", failure);
+  }
+
+  private static class PendingRecord {
+    private final SlashingProtectionRecord record;
+    private final CompletableFuture<Void> durable;
+
+    private PendingRecord(
+        final SlashingProtectionRecord record, final CompletableFuture<Void> durable) {
+      this.record = record;
+      this.durable = durable;
+    }
+  }
+}
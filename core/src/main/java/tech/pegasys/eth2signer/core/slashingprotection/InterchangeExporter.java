@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.slashingprotection;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map.Entry;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Exports the signing history of validators as an EIP-3076 slashing protection interchange file.
+ *
+ * <p>Only watermarks are held, so each validator's history is its highest signed block and an
+ * attestation at its highest source and target epochs, which is sufficient for the receiving
+ * signer to refuse anything this one would. The file is streamed, so memory use is independent of
+ * the number of validators.
+ */
+public class InterchangeExporter {
+
+  private final SlashingProtection slashingProtection;
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  public InterchangeExporter(final SlashingProtection slashingProtection) {
+    this.slashingProtection = slashingProtection;
+  }
+
+  /**
+   * Writes the interchange file to the stream, which is left open.
+   *
+   * @param genesisValidatorsRoot the root of the chain the history belongs to, for the metadata
+   * @return the number of validators exported
+   */
+  public int exportTo(final OutputStream output, final Bytes32 genesisValidatorsRoot)
+      throws IOException {
+    int exported = 0;
+    try (final JsonGenerator generator = jsonFactory.createGenerator(output, JsonEncoding.UTF8)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.writeStartObject();
+      generator.writeObjectFieldStart("metadata");
+      generator.writeStringField("interchange_format_version", InterchangeImporter.FORMAT_VERSION);
+      generator.writeStringField("genesis_validators_root", genesisValidatorsRoot.toHexString());
+      generator.writeEndObject();
+
+      generator.writeArrayFieldStart("data");
+      for (final Entry<Bytes, ValidatorWatermark> entry :
+          slashingProtection.getWatermarks().entrySet()) {
+        writeValidator(generator, entry.getKey(), entry.getValue());
+        exported++;
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+    return exported;
+  }
+
+  private void writeValidator(
+      final JsonGenerator generator, final Bytes publicKey, final ValidatorWatermark watermark)
+      throws IOException {
+    final List<SlashingProtectionRecord> records = watermark.toRecords(publicKey);
+    generator.writeStartObject();
+    generator.writeStringField("pubkey", publicKey.toHexString());
+    generator.writeArrayFieldStart("signed_blocks");
+    for (final SlashingProtectionRecord record : records) {
+      if (record.getType() == SlashingProtectionRecord.Type.BLOCK) {
+        generator.writeStartObject();
+        generator.writeStringField("slot", Long.toUnsignedString(record.getSlot()));
+        writeSigningRoot(generator, record.getSigningRoot());
+        generator.writeEndObject();
+      }
+    }
+    generator.writeEndArray();
+    generator.writeArrayFieldStart("signed_attestations");
+    for (final SlashingProtectionRecord record : records) {
+      if (record.getType() == SlashingProtectionRecord.Type.ATTESTATION) {
+        generator.writeStartObject();
+        generator.writeStringField("source_epoch", Long.toUnsignedString(record.getSourceEpoch()));
+        generator.writeStringField("target_epoch", Long.toUnsignedString(record.getTargetEpoch()));
+        writeSigningRoot(generator, record.getSigningRoot());
+        generator.writeEndObject();
+      }
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  // imported histories without signing roots are held with a zero root, which is not exported
+  private void writeSigningRoot(final JsonGenerator generator, final Bytes32 signingRoot)
+      throws IOException {
+    if (!signingRoot.isZero()) {
+      generator.writeStringField("signing_root", signingRoot.toHexString());
+    }
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.slashingprotection;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Imports the signing history of validators from an EIP-3076 slashing protection interchange file.
+ *
+ * <p>The file is streamed, reading the history of one validator at a time. Each validator's history
+ * is verified and reduced to its watermarks on a pool of threads, with a bounded number in flight,
+ * and the watermarks are inserted in batches. Memory use is independent of the size of the file.
+ * The metadata must precede the data, as is conventional, so the file is checked before anything
+ * is imported.
+ */
+public class InterchangeImporter {
+
+  static final String FORMAT_VERSION = "5";
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int BATCH_SIZE = 1024;
+
+  private final SlashingProtection slashingProtection;
+  private final Optional<Bytes32> genesisValidatorsRoot;
+  private final int parallelism;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * @param genesisValidatorsRoot if present, the root the metadata of imported files must match
+   * @param parallelism the number of threads verifying validators
+   */
+  public InterchangeImporter(
+      final SlashingProtection slashingProtection,
+      final Optional<Bytes32> genesisValidatorsRoot,
+      final int parallelism) {
+    this.slashingProtection = slashingProtection;
+    this.genesisValidatorsRoot = genesisValidatorsRoot;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Imports the interchange file read from the stream. Validators imported before an invalid entry
+   * is found remain imported, which only ever makes slashing protection more conservative.
+   *
+   * @return the number of validators imported
+   * @throws IllegalArgumentException if the file is not a valid interchange file
+   */
+  public int importFrom(final InputStream input) throws IOException {
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("interchange-import-%d")
+                .build());
+    try (final JsonParser parser = objectMapper.getFactory().createParser(input)) {
+      checkArgument(parser.nextToken() == JsonToken.START_OBJECT, "Expected an object");
+      boolean metadataRead = false;
+      int imported = 0;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String field = parser.getCurrentName();
+        parser.nextToken();
+        if ("metadata".equals(field)) {
+          verifyMetadata(objectMapper.readTree(parser));
+          metadataRead = true;
+        } else if ("data".equals(field)) {
+          checkArgument(metadataRead, "metadata must precede data");
+          imported += importData(parser, executor);
+        } else {
+          parser.skipChildren();
+        }
+      }
+      checkArgument(metadataRead, "metadata is missing");
+      return imported;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void verifyMetadata(final JsonNode metadata) {
+    final String version = required(metadata, "interchange_format_version").asText();
+    checkArgument(
+        FORMAT_VERSION.equals(version), "Unsupported interchange format version %s", version);
+    final Bytes32 root =
+        Bytes32.fromHexStringStrict(required(metadata, "genesis_validators_root").asText());
+    genesisValidatorsRoot.ifPresent(
+        expected ->
+            checkArgument(
+                expected.equals(root),
+                "Genesis validators root %s does not match %s",
+                root,
+                expected));
+    LOG.info("Importing slashing protection interchange for genesis validators root {}", root);
+  }
+
+  private int importData(final JsonParser parser, final ExecutorService executor)
+      throws IOException {
+    checkArgument(parser.currentToken() == JsonToken.START_ARRAY, "data must be an array");
+    // bounds the validators read ahead of verification, keeping memory use constant
+    final Semaphore inFlight = new Semaphore(parallelism * 2);
+    final List<Future<List<SlashingProtectionRecord>>> pending = new ArrayList<>();
+    int validators = 0;
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      final JsonNode validator = objectMapper.readTree(parser);
+      acquire(inFlight);
+      pending.add(
+          executor.submit(
+              () -> {
+                try {
+                  return verify(validator);
+                } finally {
+                  inFlight.release();
+                }
+              }));
+      validators++;
+      if (pending.size() >= BATCH_SIZE) {
+        insert(pending);
+      }
+    }
+    checkArgument(parser.currentToken() == JsonToken.END_ARRAY, "data must hold objects");
+    insert(pending);
+    return validators;
+  }
+
+  private void insert(final List<Future<List<SlashingProtectionRecord>>> pending) {
+    final List<SlashingProtectionRecord> batch = new ArrayList<>(pending.size() * 2);
+    for (final Future<List<SlashingProtectionRecord>> future : pending) {
+      batch.addAll(await(future));
+    }
+    slashingProtection.importRecords(batch);
+    pending.clear();
+  }
+
+  /** Verifies the history of one validator and reduces it to records of its watermarks. */
+  private static List<SlashingProtectionRecord> verify(final JsonNode validator) {
+    final Bytes publicKey = Bytes.fromHexString(required(validator, "pubkey").asText());
+    checkArgument(
+        publicKey.size() == SlashingProtectionRecord.PUBLIC_KEY_SIZE,
+        "Invalid public key %s",
+        publicKey);
+
+    ValidatorWatermark watermark = ValidatorWatermark.NONE;
+    for (final JsonNode block : validator.path("signed_blocks")) {
+      watermark =
+          watermark.apply(
+              SlashingProtectionRecord.block(publicKey, uint64(block, "slot"), signingRoot(block)));
+    }
+    for (final JsonNode attestation : validator.path("signed_attestations")) {
+      final long sourceEpoch = uint64(attestation, "source_epoch");
+      final long targetEpoch = uint64(attestation, "target_epoch");
+      checkArgument(
+          Long.compareUnsigned(sourceEpoch, targetEpoch) <= 0,
+          "Attestation of %s has source after target",
+          publicKey);
+      watermark =
+          watermark.apply(
+              SlashingProtectionRecord.attestation(
+                  publicKey, sourceEpoch, targetEpoch, signingRoot(attestation)));
+    }
+    return watermark.toRecords(publicKey);
+  }
+
+  // a history without signing roots only permits signing above it, as no real root is zero
+  private static Bytes32 signingRoot(final JsonNode entry) {
+    final JsonNode signingRoot = entry.get("signing_root");
+    return signingRoot == null || signingRoot.isNull()
+        ? Bytes32.ZERO
+        : Bytes32.fromHexStringStrict(signingRoot.asText());
+  }
+
+  private static long uint64(final JsonNode entry, final String field) {
+    try {
+      return Long.parseUnsignedLong(required(entry, field).asText());
+    } catch (final NumberFormatException e) {
+      throw new IllegalArgumentException(field + " is not a uint64", e);
+    }
+  }
+
+  private static JsonNode required(final JsonNode node, final String field) {
+    final JsonNode value = node.get(field);
+    checkArgument(value != null && !value.isNull(), "%s is missing", field);
+    return value;
+  }
+
+  private static void acquire(final Semaphore semaphore) throws IOException {
+    try {
+      semaphore.acquire();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted importing interchange", e);
+    }
+  }
+
+  private static <T> T await(final Future<T> future) {
+    try {
+      return future.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted importing interchange", e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof IllegalArgumentException) {
+        throw (IllegalArgumentException) e.getCause();
+      }
+      throw new IllegalStateException("Failed to verify validator", e.getCause());
+    }
+  }
+}
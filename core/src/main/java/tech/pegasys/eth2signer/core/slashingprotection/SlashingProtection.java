@@ -0,0 +1,334 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.slashingprotection;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import tech.pegasys.eth2signer.core.InitializationException;
+import tech.pegasys.eth2signer.core.eth2.AttestationData;
+import tech.pegasys.eth2signer.core.eth2.BeaconBlockHeader;
+import tech.pegasys.eth2signer.core.eth2.Eth2SigningRequest;
+import tech.pegasys.eth2signer.core.metrics.Eth2SignerMetricCategory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+
+import com.google.common.util.concurrent.Striped;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+/**
+ * Refuses to sign blocks and attestations which could get a validator slashed.
+ *
+ * <p>The highest signed slot and epochs of each validator are held in memory, so a check costs a
+ * map lookup. Each permitted signing is appended to a write-ahead log in the data path and is
+ * durable before the check returns, and the log is replayed and compacted on startup. Checks are
+ * serialised per validator by a striped lock, so independent validators never contend.
+ *
+ * <p>A lock file in the data path is held exclusively until {@link #close()}, so a second signer or
+ * an import or export cannot compact the log underneath a running signer.
+ */
+public class SlashingProtection {
+
+  public static final String LOG_FILE_NAME = "slashing-protection.log";
+  public static final String LOCK_FILE_NAME = "slashing-protection.lock";
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int LOCK_STRIPES = 1024;
+
+  private final Map<Bytes, ValidatorWatermark> watermarks;
+  private final FileLock dataPathLock;
+  private final Optional<WriteAheadLog> writeAheadLog;
+  private final Striped<Lock> locks = Striped.lock(LOCK_STRIPES);
+  private final LabelledMetric<Counter> refusedCounter;
+
+  private SlashingProtection(
+      final Map<Bytes, ValidatorWatermark> watermarks,
+      final FileLock dataPathLock,
+      final Optional<WriteAheadLog> writeAheadLog,
+      final MetricsSystem metricsSystem) {
+    this.watermarks = watermarks;
+    this.dataPathLock = dataPathLock;
+    this.writeAheadLog = writeAheadLog;
+    this.refusedCounter =
+        metricsSystem.createLabelledCounter(
+            Eth2SignerMetricCategory.SIGNING,
+            "slashing_protection_refusals",
+            "Number of signing requests refused by slashing protection",
+            "type");
+  }
+
+  /**
+   * Recovers the watermarks from the log in the data path, creating it if it does not exist.
+   *
+   * @param commitWindow how long to gather records into a group before committing them together
+   * @param maxBatchSize the number of records after which a group is committed without waiting
+   * @throws InitializationException if the data path is locked by another process, or a record
+   *     before the last in the log is corrupt, in which case the log is left unchanged
+   */
+  public static SlashingProtection load(
+      final Path dataPath,
+      final Duration commitWindow,
+      final int maxBatchSize,
+      final MetricsSystem metricsSystem) {
+    final Path logFile = dataPath.resolve(LOG_FILE_NAME);
+    final FileLock dataPathLock = lockDataPath(dataPath);
+    try {
+      final List<SlashingProtectionRecord> records = WriteAheadLog.read(logFile);
+      final Map<Bytes, ValidatorWatermark> watermarks = toWatermarks(records);
+
+      // only the watermarks are needed, so the log is compacted to one record of each per key
+      final List<SlashingProtectionRecord> compacted = new ArrayList<>();
+      watermarks.forEach(
+          (publicKey, watermark) -> compacted.addAll(watermark.toRecords(publicKey)));
+      final WriteAheadLog writeAheadLog =
+          WriteAheadLog.rewrite(logFile, compacted, commitWindow, maxBatchSize, metricsSystem);
+      LOG.info(
+          "Loaded slashing protection for {} validators from {} records in {}",
+          watermarks.size(),
+          records.size(),
+          logFile);
+      return new SlashingProtection(
+          watermarks, dataPathLock, Optional.of(writeAheadLog), metricsSystem);
+    } catch (final IOException e) {
+      release(dataPathLock);
+      throw new InitializationException("Unable to load slashing protection log " + logFile, e);
+    } catch (final RuntimeException e) {
+      release(dataPathLock);
+      throw e;
+    }
+  }
+
+  /**
+   * Recovers the watermarks from the log in the data path without compacting or opening it for
+   * appending, so they can be exported. Signing requests are refused.
+   *
+   * @throws InitializationException if the data path is locked by another process
+   */
+  public static SlashingProtection loadReadOnly(
+      final Path dataPath, final MetricsSystem metricsSystem) {
+    final Path logFile = dataPath.resolve(LOG_FILE_NAME);
+    final FileLock dataPathLock = lockDataPath(dataPath);
+    try {
+      final Map<Bytes, ValidatorWatermark> watermarks =
+          toWatermarks(WriteAheadLog.read(logFile));
+      return new SlashingProtection(watermarks, dataPathLock, Optional.empty(), metricsSystem);
+    } catch (final IOException e) {
+      release(dataPathLock);
+      throw new InitializationException("Unable to read slashing protection log " + logFile, e);
+    } catch (final RuntimeException e) {
+      release(dataPathLock);
+      throw e;
+    }
+  }
+
+  private static Map<Bytes, ValidatorWatermark> toWatermarks(
+      final List<SlashingProtectionRecord> records) {
+    final Map<Bytes, ValidatorWatermark> watermarks = new ConcurrentHashMap<>();
+    records.forEach(
+        record ->
+            watermarks.merge(
+                record.getPublicKey(),
+                ValidatorWatermark.NONE.apply(record),
+                (existing, ignored) -> existing.apply(record)));
+    return watermarks;
+  }
+
+  private static FileLock lockDataPath(final Path dataPath) {
+    final Path lockFile = dataPath.resolve(LOCK_FILE_NAME);
+    final FileChannel channel;
+    try {
+      channel = FileChannel.open(lockFile, CREATE, WRITE);
+    } catch (final IOException e) {
+      throw new InitializationException("Unable to open slashing protection lock " + lockFile, e);
+    }
+    FileLock lock;
+    try {
+      lock = channel.tryLock();
+    } catch (final OverlappingFileLockException e) {
+      // already held within this process
+      lock = null;
+    } catch (final IOException e) {
+      closeQuietly(channel);
+      throw new InitializationException("Unable to lock slashing protection in " + dataPath, e);
+    }
+    if (lock == null) {
+      closeQuietly(channel);
+      throw new InitializationException(
+          "Slashing protection in "
+              + dataPath
+              + " is in use by another process, which must be stopped first");
+    }
+    return lock;
+  }
+
+  // closing the channel releases its lock
+  private static void release(final FileLock lock) {
+    closeQuietly(lock.channel());
+  }
+
+  private static void closeQuietly(final FileChannel channel) {
+    try {
+      channel.close();
+    } catch (final IOException e) {
+      LOG.warn("Failed to close slashing protection lock", e);
+    }
+  }
+
+  /**
+   * Checks the request against the validator's history, recording it if it may be signed. Requests
+   * for objects which cannot be slashed are always permitted.
+   *
+   * @return true if the request may be signed, once it has been durably recorded
+   */
+  public boolean maySign(final String publicKey, final Eth2SigningRequest request) {
+    final Bytes32 signingRoot = request.getSigningRoot();
+    switch (request.getType()) {
+      case BLOCK:
+        final BeaconBlockHeader block = (BeaconBlockHeader) request.getObject();
+        return maySignBlock(Bytes.fromHexString(publicKey), block.getSlot(), signingRoot);
+      case ATTESTATION:
+        final AttestationData attestation = (AttestationData) request.getObject();
+        return maySignAttestation(
+            Bytes.fromHexString(publicKey),
+            attestation.getSource().getEpoch(),
+            attestation.getTarget().getEpoch(),
+            signingRoot);
+      default:
+        return true;
+    }
+  }
+
+  public boolean maySignBlock(final Bytes publicKey, final long slot, final Bytes32 signingRoot) {
+    final CompletableFuture<Void> durable;
+    final Lock lock = locks.get(publicKey);
+    lock.lock();
+    try {
+      final ValidatorWatermark watermark =
+          watermarks.getOrDefault(publicKey, ValidatorWatermark.NONE);
+      if (!watermark.maySignBlock(slot, signingRoot)) {
+        LOG.warn(
+            "Refusing to sign block at slot {} for {}", Long.toUnsignedString(slot), publicKey);
+        refusedCounter.labels("block").inc();
+        return false;
+      }
+      durable = record(watermark, SlashingProtectionRecord.block(publicKey, slot, signingRoot));
+    } finally {
+      lock.unlock();
+    }
+    awaitDurable(durable);
+    return true;
+  }
+
+  public boolean maySignAttestation(
+      final Bytes publicKey,
+      final long sourceEpoch,
+      final long targetEpoch,
+      final Bytes32 signingRoot) {
+    final CompletableFuture<Void> durable;
+    final Lock lock = locks.get(publicKey);
+    lock.lock();
+    try {
+      final ValidatorWatermark watermark =
+          watermarks.getOrDefault(publicKey, ValidatorWatermark.NONE);
+      if (!watermark.maySignAttestation(sourceEpoch, targetEpoch, signingRoot)) {
+        LOG.warn(
+            "Refusing to sign attestation with source {} and target {} for {}",
+            Long.toUnsignedString(sourceEpoch),
+            Long.toUnsignedString(targetEpoch),
+            publicKey);
+        refusedCounter.labels("attestation").inc();
+        return false;
+      }
+      durable =
+          record(
+              watermark,
+              SlashingProtectionRecord.attestation(
+                  publicKey, sourceEpoch, targetEpoch, signingRoot));
+    } finally {
+      lock.unlock();
+    }
+    awaitDurable(durable);
+    return true;
+  }
+
+  /**
+   * Raises the watermarks of each record's validator to include it, returning once all the records
+   * are durable. Used to import signing history from another signer.
+   */
+  void importRecords(final Collection<SlashingProtectionRecord> records) {
+    final List<CompletableFuture<Void>> durable = new ArrayList<>(records.size());
+    for (final SlashingProtectionRecord record : records) {
+      final Lock lock = locks.get(record.getPublicKey());
+      lock.lock();
+      try {
+        durable.add(
+            record(
+                watermarks.getOrDefault(record.getPublicKey(), ValidatorWatermark.NONE), record));
+      } finally {
+        lock.unlock();
+      }
+    }
+    awaitDurable(CompletableFuture.allOf(durable.toArray(CompletableFuture[]::new)));
+  }
+
+  /** A weakly consistent view of every validator's watermark, as exported to other signers. */
+  Map<Bytes, ValidatorWatermark> getWatermarks() {
+    return Collections.unmodifiableMap(watermarks);
+  }
+
+  /** Writes outstanding records, closes the log and releases the data path. */
+  public void close() {
+    writeAheadLog.ifPresent(WriteAheadLog::close);
+    release(dataPathLock);
+  }
+
+  // the watermark is raised before the record is durable, so a concurrent request for the same
+  // validator is checked against it without waiting, and a failed write errs on the side of refusal
+  private CompletableFuture<Void> record(
+      final ValidatorWatermark watermark, final SlashingProtectionRecord record) {
+    if (writeAheadLog.isEmpty()) {
+      throw new IllegalStateException("Slashing protection was loaded read only");
+    }
+    watermarks.put(record.getPublicKey(), watermark.apply(record));
+    return writeAheadLog.get().append(record);
+  }
+
+  private void awaitDurable(final CompletableFuture<Void> durable) {
+    try {
+      durable.join();
+    } catch (final CompletionException e) {
+      throw new IllegalStateException("Unable to record signing for slashing protection", e);
+    }
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.slashingprotection;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * A signed block or attestation as written to the write-ahead log.
+ *
+ * <p>Records have a fixed size and end in a CRC32 of their contents, so a record torn by a crash
+ * part way through a write is detected and discarded on recovery.
+ */
+final class SlashingProtectionRecord {
+
+  static final int PUBLIC_KEY_SIZE = 48;
+  static final int SIZE = 1 + PUBLIC_KEY_SIZE + Long.BYTES * 2 + Bytes32.SIZE + Integer.BYTES;
+
+  enum Type {
+    BLOCK,
+    ATTESTATION
+  }
+
+  private final Type type;
+  private final Bytes publicKey;
+  private final long first;
+  private final long second;
+  private final Bytes32 signingRoot;
+
+  private SlashingProtectionRecord(
+      final Type type,
+      final Bytes publicKey,
+      final long first,
+      final long second,
+      final Bytes32 signingRoot) {
+    this.type = type;
+    this.publicKey = publicKey;
+    this.first = first;
+    this.second = second;
+    this.signingRoot = signingRoot;
+  }
+
+  static SlashingProtectionRecord block(
+      final Bytes publicKey, final long slot, final Bytes32 signingRoot) {
+    return new SlashingProtectionRecord(Type.BLOCK, publicKey, slot, 0, signingRoot);
+  }
+
+  static SlashingProtectionRecord attestation(
+      final Bytes publicKey,
+      final long sourceEpoch,
+      final long targetEpoch,
+      final Bytes32 signingRoot) {
+    return new SlashingProtectionRecord(
+        Type.ATTESTATION, publicKey, sourceEpoch, targetEpoch, signingRoot);
+  }
+
+  Type getType() {
+    return type;
+  }
+
+  Bytes getPublicKey() {
+    return publicKey;
+  }
+
+  long getSlot() {
+    return first;
+  }
+
+  long getSourceEpoch() {
+    return first;
+  }
+
+  long getTargetEpoch() {
+    return second;
+  }
+
+  Bytes32 getSigningRoot() {
+    return signingRoot;
+  }
+
+  void writeTo(final ByteBuffer buffer) {
+    final int start = buffer.position();
+    buffer.put((byte) type.ordinal());
+    buffer.put(publicKey.toArrayUnsafe());
+    buffer.putLong(first);
+    buffer.putLong(second);
+    buffer.put(signingRoot.toArrayUnsafe());
+    buffer.putInt(checksum(buffer, start));
+  }
+
+  /** Reads the next record, or empty if it is incomplete or corrupt. */
+  static Optional<SlashingProtectionRecord> readFrom(final ByteBuffer buffer) {
+    if (buffer.remaining() < SIZE) {
+      return Optional.empty();
+    }
+    final int start = buffer.position();
+    final int expectedChecksum = buffer.getInt(start + SIZE - Integer.BYTES);
+    buffer.position(start + SIZE - Integer.BYTES);
+    if (checksum(buffer, start) != expectedChecksum) {
+      buffer.position(start);
+      return Optional.empty();
+    }
+    buffer.position(start);
+
+    final int ordinal = buffer.get();
+    if (ordinal < 0 || ordinal >= Type.values().length) {
+      buffer.position(start);
+      return Optional.empty();
+    }
+    final byte[] publicKey = new byte[PUBLIC_KEY_SIZE];
+    buffer.get(publicKey);
+    final long first = buffer.getLong();
+    final long second = buffer.getLong();
+    final byte[] signingRoot = new byte[Bytes32.SIZE];
+    buffer.get(signingRoot);
+    buffer.getInt();
+    return Optional.of(
+        new SlashingProtectionRecord(
+            Type.values()[ordinal],
+            Bytes.wrap(publicKey),
+            first,
+            second,
+            Bytes32.wrap(signingRoot)));
+  }
+
+  /** The CRC32 of the bytes from start to the current position of the buffer. */
+  private static int checksum(final ByteBuffer buffer, final int start) {
+    final CRC32 crc = new CRC32();
+    final ByteBuffer contents = buffer.duplicate();
+    contents.limit(buffer.position()).position(start);
+    crc.update(contents);
+    return (int) crc.getValue();
+  }
+}
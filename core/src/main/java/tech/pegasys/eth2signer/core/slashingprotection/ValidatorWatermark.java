@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.slashingprotection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * The highest block slot and attestation source and target epochs signed by a validator, with the
+ * signing roots signed at them so an identical request may be signed again.
+ *
+ * <p>Slots and epochs are uint64 so are compared unsigned. Instances are immutable, a signing
+ * produces a new watermark which replaces the old one.
+ */
+final class ValidatorWatermark {
+
+  static final ValidatorWatermark NONE = new ValidatorWatermark(null, 0, null, 0, 0);
+
+  private final Bytes32 blockSigningRoot;
+  private final long blockSlot;
+  private final Bytes32 attestationSigningRoot;
+  private final long sourceEpoch;
+  private final long targetEpoch;
+
+  private ValidatorWatermark(
+      final Bytes32 blockSigningRoot,
+      final long blockSlot,
+      final Bytes32 attestationSigningRoot,
+      final long sourceEpoch,
+      final long targetEpoch) {
+    this.blockSigningRoot = blockSigningRoot;
+    this.blockSlot = blockSlot;
+    this.attestationSigningRoot = attestationSigningRoot;
+    this.sourceEpoch = sourceEpoch;
+    this.targetEpoch = targetEpoch;
+  }
+
+  /** A block may be signed above the highest signed slot, or again with the same signing root. */
+  boolean maySignBlock(final long slot, final Bytes32 signingRoot) {
+    if (blockSigningRoot == null) {
+      return true;
+    }
+    final int comparison = Long.compareUnsigned(slot, blockSlot);
+    return comparison > 0 || (comparison == 0 && signingRoot.equals(blockSigningRoot));
+  }
+
+  /**
+   * An attestation may be signed if its source does not precede the highest signed source and its
+   * target is above the highest signed target, or it is the attestation signed at that target.
+   * This refuses every double and surround vote, along with some votes that would be safe.
+   */
+  boolean maySignAttestation(
+      final long sourceEpoch, final long targetEpoch, final Bytes32 signingRoot) {
+    if (Long.compareUnsigned(sourceEpoch, targetEpoch) > 0) {
+      return false;
+    }
+    if (attestationSigningRoot == null) {
+      return true;
+    }
+    if (Long.compareUnsigned(sourceEpoch, this.sourceEpoch) < 0) {
+      return false;
+    }
+    final int comparison = Long.compareUnsigned(targetEpoch, this.targetEpoch);
+    return comparison > 0 || (comparison == 0 && signingRoot.equals(attestationSigningRoot));
+  }
+
+  ValidatorWatermark apply(final SlashingProtectionRecord record) {
+    switch (record.getType()) {
+      case BLOCK:
+        if (blockSigningRoot != null && Long.compareUnsigned(record.getSlot(), blockSlot) <= 0) {
+          return this;
+        }
+        return new ValidatorWatermark(
+            record.getSigningRoot(),
+            record.getSlot(),
+            attestationSigningRoot,
+            sourceEpoch,
+            targetEpoch);
+      case ATTESTATION:
+        if (attestationSigningRoot == null) {
+          return new ValidatorWatermark(
+              blockSigningRoot,
+              blockSlot,
+              record.getSigningRoot(),
+              record.getSourceEpoch(),
+              record.getTargetEpoch());
+        }
+        final boolean newTarget = Long.compareUnsigned(record.getTargetEpoch(), targetEpoch) > 0;
+        return new ValidatorWatermark(
+            blockSigningRoot,
+            blockSlot,
+            newTarget ? record.getSigningRoot() : attestationSigningRoot,
+            maxUnsigned(record.getSourceEpoch(), sourceEpoch),
+            newTarget ? record.getTargetEpoch() : targetEpoch);
+      default:
+        throw new IllegalStateException("Unknown record type " + record.getType());
+    }
+  }
+
+  /** The records from which this watermark is rebuilt, used to compact the log. */
+  List<SlashingProtectionRecord> toRecords(final Bytes publicKey) {
+    final List<SlashingProtectionRecord> records = new ArrayList<>(2);
+    if (blockSigningRoot != null) {
+      records.add(SlashingProtectionRecord.block(publicKey, blockSlot, blockSigningRoot));
+    }
+    if (attestationSigningRoot != null) {
+      records.add(
+          SlashingProtectionRecord.attestation(
+              publicKey, sourceEpoch, targetEpoch, attestationSigningRoot));
+    }
+    return records;
+  }
+
+  private static long maxUnsigned(final long a, final long b) {
+    return Long.compareUnsigned(a, b) >= 0 ? a : b;
+  }
+}
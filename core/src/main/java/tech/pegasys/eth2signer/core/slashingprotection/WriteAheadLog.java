@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.slashingprotection;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import tech.pegasys.eth2signer.core.InitializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+/**
+ * An append-only log of slashing protection records, replayed on startup and then appended to by a
+ * {@link GroupCommitWriter}. An append completes only once its record is durable.
+ */
+class WriteAheadLog {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int READ_BATCH_SIZE = 1024;
+
+  private final GroupCommitWriter writer;
+
+  private WriteAheadLog(final GroupCommitWriter writer) {
+    this.writer = writer;
+  }
+
+  /**
+   * Reads the records of an existing log, discarding an incomplete or corrupt final record, which
+   * is left by a crash part way through a write.
+   *
+   * @throws InitializationException if a record before the last is corrupt, as discarding the
+   *     records after it would lower the watermarks
+   */
+  static List<SlashingProtectionRecord> read(final Path file) throws IOException {
+    final List<SlashingProtectionRecord> records = new ArrayList<>();
+    if (!Files.exists(file)) {
+      return records;
+    }
+    try (final FileChannel channel = FileChannel.open(file, READ)) {
+      final ByteBuffer readBuffer =
+          ByteBuffer.allocate(READ_BATCH_SIZE * SlashingProtectionRecord.SIZE);
+      while (channel.read(readBuffer) > 0) {
+        readBuffer.flip();
+        Optional<SlashingProtectionRecord> record;
+        while ((record = SlashingProtectionRecord.readFrom(readBuffer)).isPresent()) {
+          records.add(record.get());
+        }
+        if (readBuffer.remaining() >= SlashingProtectionRecord.SIZE) {
+          final long offset = (long) records.size() * SlashingProtectionRecord.SIZE;
+          if (channel.size() - offset > SlashingProtectionRecord.SIZE) {
+            throw new InitializationException(
+                "Corrupt slashing protection record at offset "
+                    + offset
+                    + " of "
+                    + file
+                    + " is followed by further records, so the log must be restored or its "
+                    + "history imported before signing");
+          }
+          LOG.warn("Discarding corrupt slashing protection record at the end of {}", file);
+          return records;
+        }
+        readBuffer.compact();
+      }
+      if (readBuffer.position() > 0) {
+        LOG.warn("Discarding incomplete slashing protection record at the end of {}", file);
+      }
+    }
+    return records;
+  }
+
+  /**
+   * Replaces the log with one holding only the given records, written to a temporary file which is
+   * fsynced and moved into place, then opens it for appending. The caller must hold the data path
+   * lock, as a process still appending to the replaced file would lose its records.
+   */
+  static WriteAheadLog rewrite(
+      final Path file,
+      final Collection<SlashingProtectionRecord> records,
+      final Duration commitWindow,
+      final int maxBatchSize,
+      final MetricsSystem metricsSystem)
+      throws IOException {
+    final Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+    try (final FileChannel channel =
+        FileChannel.open(compacted, CREATE, WRITE, TRUNCATE_EXISTING)) {
+      final ByteBuffer writeBuffer = ByteBuffer.allocate(SlashingProtectionRecord.SIZE);
+      for (final SlashingProtectionRecord record : records) {
+        writeBuffer.clear();
+        record.writeTo(writeBuffer);
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+          channel.write(writeBuffer);
+        }
+      }
+      channel.force(true);
+    }
+    Files.move(
+        compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    final FileChannel channel = FileChannel.open(file, WRITE);
+    channel.position(channel.size());
+    final GroupCommitWriter writer =
+        new GroupCommitWriter(file, channel, commitWindow, maxBatchSize, metricsSystem);
+    writer.start();
+    return new WriteAheadLog(writer);
+  }
+
+  /** Queues the record, returning a future completed once it has been written and fsynced. */
+  CompletableFuture<Void> append(final SlashingProtectionRecord record) {
+    return writer.append(record);
+  }
+
+  /** Writes outstanding records and closes the log. */
+  void close() {
+    writer.close();
+  }
+}
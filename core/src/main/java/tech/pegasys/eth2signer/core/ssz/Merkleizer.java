@@ -0,0 +1,193 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.ssz;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * SSZ hash tree roots of the basic types, vectors and bitlists which make up the objects signed by
+ * validators.
+ *
+ * <p>Each thread reuses its own digest and scratch buffer, each tree layer is hashed in place over
+ * the layer below it, and the roots of all zero subtrees are computed once, so merkleizing a
+ * container allocates nothing but its result.
+ */
+public final class Merkleizer {
+
+  public static final int CHUNK_SIZE = 32;
+
+  private static final int MAX_DEPTH = 64;
+  private static final byte[][] ZERO_HASHES = new byte[MAX_DEPTH + 1][];
+  private static final ThreadLocal<HashContext> CONTEXT = ThreadLocal.withInitial(HashContext::new);
+
+  static {
+    final HashContext context = new HashContext();
+    ZERO_HASHES[0] = new byte[CHUNK_SIZE];
+    for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+      final byte[] hash = new byte[CHUNK_SIZE];
+      context.hash(ZERO_HASHES[depth - 1], 0, ZERO_HASHES[depth - 1], 0, hash, 0);
+      ZERO_HASHES[depth] = hash;
+    }
+  }
+
+  private Merkleizer() {}
+
+  /** The root of a tree of the given depth whose leaves are all zero. */
+  public static Bytes32 zeroHash(final int depth) {
+    return Bytes32.wrap(ZERO_HASHES[depth]);
+  }
+
+  public static Bytes32 hash(final Bytes32 left, final Bytes32 right) {
+    final byte[] result = new byte[CHUNK_SIZE];
+    CONTEXT.get().hash(left.toArrayUnsafe(), 0, right.toArrayUnsafe(), 0, result, 0);
+    return Bytes32.wrap(result);
+  }
+
+  /** The root of a container or vector, whose chunks are padded to the next power of two. */
+  public static Bytes32 merkleize(final List<Bytes32> chunks) {
+    return merkleize(chunks, chunks.size());
+  }
+
+  /** The root of the chunks, padded with zero chunks to the limit rounded to a power of two. */
+  public static Bytes32 merkleize(final List<Bytes32> chunks, final long limit) {
+    checkArgument(chunks.size() <= limit, "%s chunks exceed limit of %s", chunks.size(), limit);
+    final int depth = depth(limit);
+    if (chunks.isEmpty()) {
+      return zeroHash(depth);
+    }
+
+    final HashContext context = CONTEXT.get();
+    final byte[] layer = context.buffer(chunks.size() * CHUNK_SIZE);
+    for (int i = 0; i < chunks.size(); i++) {
+      System.arraycopy(chunks.get(i).toArrayUnsafe(), 0, layer, i * CHUNK_SIZE, CHUNK_SIZE);
+    }
+
+    int count = chunks.size();
+    for (int level = 0; level < depth; level++) {
+      final int parents = (count + 1) / 2;
+      for (int i = 0; i < parents; i++) {
+        final int left = 2 * i * CHUNK_SIZE;
+        if (2 * i + 1 < count) {
+          context.hash(layer, left, layer, left + CHUNK_SIZE, layer, i * CHUNK_SIZE);
+        } else {
+          context.hash(layer, left, ZERO_HASHES[level], 0, layer, i * CHUNK_SIZE);
+        }
+      }
+      count = parents;
+    }
+    return Bytes32.wrap(Arrays.copyOf(layer, CHUNK_SIZE));
+  }
+
+  public static Bytes32 mixInLength(final Bytes32 root, final long length) {
+    return hash(root, uint64(length));
+  }
+
+  public static Bytes32 uint64(final long value) {
+    final byte[] chunk = new byte[CHUNK_SIZE];
+    ByteBuffer.wrap(chunk).order(ByteOrder.LITTLE_ENDIAN).putLong(value);
+    return Bytes32.wrap(chunk);
+  }
+
+  /** The root of a fixed length byte vector, such as a fork version, root or signature. */
+  public static Bytes32 byteVector(final Bytes value) {
+    if (value.size() <= CHUNK_SIZE) {
+      return Bytes32.rightPad(value);
+    }
+    return merkleize(pack(value, value.size()));
+  }
+
+  /**
+   * The root of an SSZ encoded bitlist, whose last set bit marks its length.
+   *
+   * @param encoded the SSZ encoding, including the length delimiting bit
+   * @param maxLength the maximum number of bits of the list type
+   */
+  public static Bytes32 bitlist(final Bytes encoded, final long maxLength) {
+    checkArgument(!encoded.isEmpty(), "Bitlist encoding is empty");
+    final int lastByte = encoded.get(encoded.size() - 1) & 0xff;
+    checkArgument(lastByte != 0, "Bitlist encoding has no length delimiting bit");
+    final int delimiter = 31 - Integer.numberOfLeadingZeros(lastByte);
+    final long length = (encoded.size() - 1) * 8L + delimiter;
+    checkArgument(length <= maxLength, "Bitlist of %s bits exceeds %s", length, maxLength);
+
+    // clear the delimiting bit, leaving the bits packed little endian into bytes
+    final byte[] bits = encoded.toArray();
+    bits[bits.length - 1] = (byte) (lastByte & ~(1 << delimiter));
+    final int bitsSize = (int) ((length + 7) / 8);
+    final Bytes packedBits = Bytes.wrap(bits, 0, bitsSize);
+    final long chunkLimit = (maxLength + 255) / 256;
+    return mixInLength(merkleize(pack(packedBits, bitsSize), chunkLimit), length);
+  }
+
+  private static List<Bytes32> pack(final Bytes value, final int size) {
+    final int chunkCount = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    final Bytes32[] chunks = new Bytes32[chunkCount];
+    for (int i = 0; i < chunkCount; i++) {
+      final int offset = i * CHUNK_SIZE;
+      chunks[i] = Bytes32.rightPad(value.slice(offset, Math.min(CHUNK_SIZE, size - offset)));
+    }
+    return Arrays.asList(chunks);
+  }
+
+  private static int depth(final long limit) {
+    return limit <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(limit - 1);
+  }
+
+  private static class HashContext {
+    private final MessageDigest digest;
+    private byte[] buffer = new byte[16 * CHUNK_SIZE];
+
+    private HashContext() {
+      try {
+        digest = MessageDigest.getInstance("SHA-256");
+      } catch (final NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 is not available", e);
+      }
+    }
+
+    private byte[] buffer(final int size) {
+      if (buffer.length < size) {
+        buffer = new byte[Integer.highestOneBit(size - 1) << 1];
+      }
+      return buffer;
+    }
+
+    /** Hashes the two chunks into the output, which may overlap either input. */
+    private void hash(
+        final byte[] left,
+        final int leftOffset,
+        final byte[] right,
+        final int rightOffset,
+        final byte[] output,
+        final int outputOffset) {
+      digest.update(left, leftOffset, CHUNK_SIZE);
+      digest.update(right, rightOffset, CHUNK_SIZE);
+      try {
+        digest.digest(output, outputOffset, CHUNK_SIZE);
+      } catch (final DigestException e) {
+        throw new IllegalStateException("Unable to hash chunks", e);
+      }
+    }
+  }
+}
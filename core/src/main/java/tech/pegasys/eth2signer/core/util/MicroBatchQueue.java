@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Hands queued items to an action in micro-batches on a single background thread, so a costly
+ * operation such as an fsync or a pairing is shared by every item in a batch.
+ *
+ * <p>A batch opens with the first item taken after the previous batch, and is handed over once the
+ * window has passed since that item was queued, or the batch is full. Items queued while the action
+ * runs join the next batch, so with a zero window batches still grow with load. The window is read
+ * as each batch opens, so it may adapt to how long the action takes.
+ *
+ * <p>The action is responsible for completing each item; an exception it throws is logged and the
+ * batch dropped.
+ */
+public class MicroBatchQueue<T> {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Queued<T> close = new Queued<>(null);
+  // orders each add against close, so that no item is queued after the close marker
+  private final Object closeLock = new Object();
+  private final int maxBatchSize;
+  private final LongSupplier windowNanos;
+  private final Consumer<List<T>> action;
+  private final BlockingQueue<Queued<T>> queue = new LinkedBlockingQueue<>();
+  private final Thread thread;
+  private volatile int lastBatchSize;
+  private volatile boolean closed;
+
+  /**
+   * @param threadName the name of the thread running the action
+   * @param maxBatchSize the number of items after which a batch is handed over without waiting
+   * @param windowNanos how long to wait for more items after the first of a batch is queued
+   * @param action processes each batch, in the order the items were queued
+   */
+  public MicroBatchQueue(
+      final String threadName,
+      final int maxBatchSize,
+      final LongSupplier windowNanos,
+      final Consumer<List<T>> action) {
+    checkArgument(maxBatchSize > 0, "Maximum batch size must be positive");
+    this.maxBatchSize = maxBatchSize;
+    this.windowNanos = windowNanos;
+    this.action = action;
+    this.thread =
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat(threadName)
+            .build()
+            .newThread(this::processBatches);
+  }
+
+  public void start() {
+    thread.start();
+  }
+
+  /** Queues the item for the next batch, returning false if the queue has been closed. */
+  public boolean add(final T item) {
+    synchronized (closeLock) {
+      if (closed) {
+        return false;
+      }
+      queue.add(new Queued<>(item));
+      return true;
+    }
+  }
+
+  /** The number of items in the most recently processed batch. */
+  public int getLastBatchSize() {
+    return lastBatchSize;
+  }
+
+  /**
+   * Processes the items already queued and stops the thread, returning any items added too late to
+   * be processed, which the caller must complete.
+   */
+  public List<T> close() {
+    synchronized (closeLock) {
+      closed = true;
+      queue.add(close);
+    }
+    // the thread is not interrupted, as that could abandon a batch part way through the action
+    try {
+      thread.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return queue.stream()
+        .filter(queued -> queued != close)
+        .map(queued -> queued.item)
+        .collect(Collectors.toList());
+  }
+
+  private void processBatches() {
+    final List<Queued<T>> batch = new ArrayList<>(maxBatchSize);
+    boolean closing = false;
+    while (!closing) {
+      try {
+        gather(batch);
+      } catch (final InterruptedException e) {
+        return;
+      }
+      closing = batch.remove(close);
+      if (!batch.isEmpty()) {
+        process(batch.stream().map(queued -> queued.item).collect(Collectors.toList()));
+        batch.clear();
+      }
+    }
+  }
+
+  private void gather(final List<Queued<T>> batch) throws InterruptedException {
+    final Queued<T> first = queue.take();
+    batch.add(first);
+    final long windowEnd = first.queuedAt + Math.max(0, windowNanos.getAsLong());
+    while (true) {
+      queue.drainTo(batch, maxBatchSize - batch.size());
+      final long remainingNanos = windowEnd - System.nanoTime();
+      if (batch.size() >= maxBatchSize || remainingNanos <= 0 || closed) {
+        return;
+      }
+      final Queued<T> next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  private void process(final List<T> items) {
+    lastBatchSize = items.size();
+    try {
+      action.accept(items);
+    } catch (final RuntimeException e) {
+      LOG.error("Failed to process batch of {} items on {}", items.size(), thread.getName(), e);
+    }
+  }
+
+  private static class Queued<T> {
+    private final T item;
+    private final long queuedAt = System.nanoTime();
+
+    private Queued(final T item) {
+      this.item = item;
+    }
+  }
+}
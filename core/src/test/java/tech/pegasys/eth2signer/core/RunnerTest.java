@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core;
+
+import static java.nio.file.attribute.PosixFilePermission.OWNER_READ;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.net.SocketAddress;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RunnerTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void staleUnixSocketIsRemoved() throws Exception {
+    final Path socketPath = tempDir.resolve("eth2signer.sock");
+    final Vertx vertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+    try {
+      listenOnUnixSocket(vertx, socketPath);
+      assertThat(socketPath).exists();
+
+      Runner.removeStaleUnixSocket(socketPath);
+
+      assertThat(socketPath).doesNotExist();
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  void unixSocketIsRestrictedToOwner() throws Exception {
+    final Path socketPath = tempDir.resolve("eth2signer.sock");
+    final Vertx vertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+    try {
+      listenOnUnixSocket(vertx, socketPath);
+
+      Runner.restrictUnixSocketToOwner(socketPath);
+
+      assertThat(Files.getPosixFilePermissions(socketPath))
+          .containsExactlyInAnyOrder(OWNER_READ, OWNER_WRITE);
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  void missingUnixSocketIsIgnored() {
+    final Path socketPath = tempDir.resolve("eth2signer.sock");
+
+    Runner.removeStaleUnixSocket(socketPath);
+
+    assertThat(socketPath).doesNotExist();
+  }
+
+  @Test
+  void regularFileAtUnixSocketPathIsNotRemoved() throws Exception {
+    final Path socketPath = Files.createFile(tempDir.resolve("eth2signer.sock"));
+
+    assertThatThrownBy(() -> Runner.removeStaleUnixSocket(socketPath))
+        .isInstanceOf(InitializationException.class)
+        .hasMessageContaining("is not a socket");
+    assertThat(socketPath).exists();
+  }
+
+  @Test
+  void directoryAtUnixSocketPathIsNotRemoved() {
+    assertThatThrownBy(() -> Runner.removeStaleUnixSocket(tempDir))
+        .isInstanceOf(InitializationException.class)
+        .hasMessageContaining("is not a socket");
+    assertThat(tempDir).isDirectory();
+  }
+
+  private static void listenOnUnixSocket(final Vertx vertx, final Path socketPath)
+      throws Exception {
+    assumeTrue(vertx.isNativeTransportEnabled(), "Native transport is unavailable");
+    final CompletableFuture<Void> listening = new CompletableFuture<>();
+    vertx
+        .createHttpServer()
+        .requestHandler(request -> request.response().end())
+        .listen(
+            SocketAddress.domainSocketAddress(socketPath.toString()),
+            result -> {
+              if (result.succeeded()) {
+                listening.complete(null);
+              } else {
+                listening.completeExceptionally(result.cause());
+              }
+            });
+    listening.get(10, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.bench;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class BenchResultTest {
+
+  @Test
+  void percentilesUseNearestRank() {
+    final LatencyRecorder recorder = new LatencyRecorder();
+    LongStream.rangeClosed(1, 2000).map(i -> 2001 - i).forEach(recorder::record);
+    final BenchResult result =
+        new BenchResult(0, Duration.ofSeconds(2), recorder.sortedLatencies());
+
+    assertThat(result.getSuccessCount()).isEqualTo(2000);
+    assertThat(result.getThroughput()).isEqualTo(1000.0);
+    assertThat(result.getLatency(50)).isEqualTo(Duration.ofNanos(1000));
+    assertThat(result.getLatency(99.9)).isEqualTo(Duration.ofNanos(1998));
+    assertThat(result.getMaxLatency()).isEqualTo(Duration.ofNanos(2000));
+    assertThat(result.getLatency(0)).isEqualTo(Duration.ofNanos(1));
+  }
+
+  @Test
+  void emptyResultHasZeroLatency() {
+    final BenchResult result = new BenchResult(3, Duration.ofSeconds(1), new long[0]);
+
+    assertThat(result.getThroughput()).isZero();
+    assertThat(result.getMaxLatency()).isEqualTo(Duration.ZERO);
+  }
+
+  @Test
+  void fractionWithinCountsFailuresAsLate() {
+    final BenchResult result =
+        new BenchResult(2, Duration.ofSeconds(1), new long[] {10, 20, 20, 20, 30, 40, 50, 60});
+
+    assertThat(result.getFractionWithin(Duration.ofNanos(20))).isEqualTo(0.4);
+    assertThat(result.getFractionWithin(Duration.ofNanos(25))).isEqualTo(0.4);
+    assertThat(result.getFractionWithin(Duration.ofNanos(5))).isZero();
+    assertThat(result.getFractionWithin(Duration.ofNanos(60))).isEqualTo(0.8);
+  }
+
+  @Test
+  void labelWithoutRequestsHasEmptyResult() {
+    final BenchResult attestations = new BenchResult(1, Duration.ofSeconds(1), new long[] {5});
+    final BenchResult result =
+        new BenchResult(
+            1, Duration.ofSeconds(1), new long[] {5}, Map.of("attestation", attestations));
+
+    assertThat(result.forLabel("attestation")).isSameAs(attestations);
+    assertThat(result.forLabel("block").getSuccessCount()).isZero();
+    assertThat(result.forLabel("block").getErrorCount()).isZero();
+    assertThat(result.forLabel("block").getFractionWithin(Duration.ZERO)).isEqualTo(1.0);
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.eth2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.Test;
+
+class DomainTableTest {
+
+  private static final Bytes VERSION = Bytes.fromHexString("0x00000001");
+  private static final Bytes OTHER_VERSION = Bytes.fromHexString("0x00000002");
+  private static final Bytes32 ROOT =
+      Bytes32.fromHexString("0x04700007fabc8282644aed6d1c7c9e21d38a03a0c4ba193f3afe428824b3a673");
+
+  private final DomainTable domainTable = new DomainTable(new NoOpMetricsSystem());
+
+  @Test
+  void domainsMatchComputedDomains() {
+    for (final Eth2SigningType type : Eth2SigningType.values()) {
+      assertThat(domainTable.getDomain(type, VERSION, ROOT))
+          .isEqualTo(Eth2Spec.computeDomain(type.getDomainType(), VERSION, ROOT));
+      assertThat(domainTable.getDomain(type, OTHER_VERSION, Bytes32.ZERO))
+          .isEqualTo(Eth2Spec.computeDomain(type.getDomainType(), OTHER_VERSION, Bytes32.ZERO));
+    }
+  }
+
+  @Test
+  void domainsArePrecomputedForEachPair() {
+    final Bytes32 domain = domainTable.getDomain(Eth2SigningType.BLOCK, VERSION, ROOT);
+    domainTable.getDomain(Eth2SigningType.BLOCK, OTHER_VERSION, ROOT);
+
+    // an equal but distinct version finds the domains already computed for the pair
+    assertThat(domainTable.getDomain(Eth2SigningType.BLOCK, Bytes.of(0, 0, 0, 1), ROOT))
+        .isSameAs(domain);
+  }
+}
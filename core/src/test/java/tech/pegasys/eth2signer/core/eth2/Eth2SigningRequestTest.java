@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.eth2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+
+import io.vertx.core.json.JsonObject;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.Test;
+
+class Eth2SigningRequestTest {
+
+  private static final String GENESIS_VALIDATORS_ROOT =
+      "0x04700007fabc8282644aed6d1c7c9e21d38a03a0c4ba193f3afe428824b3a673";
+
+  private final DomainTable domainTable = new DomainTable(new NoOpMetricsSystem());
+
+  @Test
+  void blockSigningRootUsesPreviousForkVersionBeforeForkEpoch() {
+    final JsonObject block =
+        new JsonObject()
+            .put("slot", "3199")
+            .put("proposer_index", "42")
+            .put("parent_root", root(4))
+            .put("state_root", root(5))
+            .put("body_root", root(6));
+
+    assertSigningRoot(
+        Eth2SigningType.BLOCK,
+        block,
+        "0x0d34a0f01d069bdf45f8cf1111787452267de06822b6158926927789a0f9cd8d");
+  }
+
+  @Test
+  void attestationSigningRootUsesCurrentForkVersionFromTargetEpoch() {
+    assertSigningRoot(
+        Eth2SigningType.ATTESTATION,
+        attestationData(),
+        "0xad7b6c83e1ebfc637a279e77a50c9ede27953c6b03933fc0d460e9ee5bab4a85");
+  }
+
+  @Test
+  void aggregateAndProofSigningRoot() {
+    final JsonObject aggregate =
+        new JsonObject()
+            .put("aggregation_bits", "0xff01")
+            .put("data", attestationData())
+            .put("signature", filled(0xaa, 96));
+    final JsonObject aggregateAndProof =
+        new JsonObject()
+            .put("aggregator_index", "11")
+            .put("aggregate", aggregate)
+            .put("selection_proof", filled(0xbb, 96));
+
+    assertSigningRoot(
+        Eth2SigningType.AGGREGATE_AND_PROOF,
+        aggregateAndProof,
+        "0xe66fe3f25f37c98280b9861373bd299691547e824df235bc57effaa8365b97b1");
+  }
+
+  @Test
+  void randaoRevealSigningRoot() {
+    assertSigningRoot(
+        Eth2SigningType.RANDAO_REVEAL,
+        new JsonObject().put("epoch", "5"),
+        "0x3e8bc75191cb2e63c56888e5a566364bddf61984f3959b35ba0eff8443360793");
+  }
+
+  @Test
+  void voluntaryExitSigningRoot() {
+    assertSigningRoot(
+        Eth2SigningType.VOLUNTARY_EXIT,
+        new JsonObject().put("epoch", "120").put("validator_index", "9"),
+        "0x19a5a0fc716921daf5d1416bc0d3497d7459aefc368581ee0783a9f566046ec1");
+  }
+
+  @Test
+  void missingObjectIsRejected() {
+    final JsonObject body = body(Eth2SigningType.RANDAO_REVEAL, new JsonObject().put("epoch", "5"));
+    body.remove(Eth2SigningType.RANDAO_REVEAL.getName());
+
+    assertThatThrownBy(() -> fromJson(Eth2SigningType.RANDAO_REVEAL, body))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void missingGenesisValidatorsRootIsRejected() {
+    final JsonObject body = body(Eth2SigningType.RANDAO_REVEAL, new JsonObject().put("epoch", "5"));
+    body.remove("genesis_validators_root");
+
+    assertThatThrownBy(() -> fromJson(Eth2SigningType.RANDAO_REVEAL, body))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void malformedUInt64IsRejected() {
+    final JsonObject body =
+        body(Eth2SigningType.RANDAO_REVEAL, new JsonObject().put("epoch", "-1"));
+
+    assertThatThrownBy(() -> fromJson(Eth2SigningType.RANDAO_REVEAL, body))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void assertSigningRoot(
+      final Eth2SigningType type, final JsonObject object, final String expectedSigningRoot) {
+    final Eth2SigningRequest request = fromJson(type, body(type, object));
+
+    assertThat(request.getSigningRoot()).isEqualTo(Bytes32.fromHexString(expectedSigningRoot));
+  }
+
+  private Eth2SigningRequest fromJson(final Eth2SigningType type, final JsonObject body) {
+    return Eth2SigningRequest.fromJson(type, body, domainTable);
+  }
+
+  private JsonObject body(final Eth2SigningType type, final JsonObject object) {
+    final JsonObject fork =
+        new JsonObject()
+            .put("previous_version", "0x00000001")
+            .put("current_version", "0x00000002")
+            .put("epoch", "100");
+    return new JsonObject()
+        .put("fork", fork)
+        .put("genesis_validators_root", GENESIS_VALIDATORS_ROOT)
+        .put(type.getName(), object);
+  }
+
+  private JsonObject attestationData() {
+    return new JsonObject()
+        .put("slot", "3200")
+        .put("index", "7")
+        .put("beacon_block_root", root(3))
+        .put("source", new JsonObject().put("epoch", "99").put("root", root(1)))
+        .put("target", new JsonObject().put("epoch", "100").put("root", root(2)));
+  }
+
+  private static String root(final int value) {
+    return filled(value, 32);
+  }
+
+  private static String filled(final int value, final int size) {
+    final byte[] bytes = new byte[size];
+    Arrays.fill(bytes, (byte) value);
+    return Bytes.wrap(bytes).toHexString();
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.eth2signer.core.http.RequestDeadline.DEADLINE_HEADER;
+import static tech.pegasys.eth2signer.core.http.RequestDeadlineHandler.STAGE_RECEIVED;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RequestDeadlineHandlerTest {
+
+  private static final long NOW = 1_000_000L;
+
+  private final RoutingContext context = mock(RoutingContext.class);
+  private final HttpServerRequest request = mock(HttpServerRequest.class);
+  private final HttpServerResponse response = mock(HttpServerResponse.class);
+  private final Counter receivedCounter = mock(Counter.class);
+  private RequestDeadlineHandler handler;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setup() {
+    final MetricsSystem metricsSystem = mock(MetricsSystem.class);
+    final LabelledMetric<Counter> expiredRequests = mock(LabelledMetric.class);
+    when(metricsSystem.createLabelledCounter(any(), eq("expired_requests"), anyString(), any()))
+        .thenReturn(expiredRequests);
+    when(expiredRequests.labels(STAGE_RECEIVED)).thenReturn(receivedCounter);
+
+    when(context.request()).thenReturn(request);
+    when(context.response()).thenReturn(response);
+    when(response.setStatusCode(anyInt())).thenReturn(response);
+    when(response.putHeader(anyString(), anyString())).thenReturn(response);
+
+    handler =
+        new RequestDeadlineHandler(
+            metricsSystem, Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+  }
+
+  @Test
+  void expiredRequestIsRejectedBeforeReachingTheSigningHandler() {
+    when(request.getHeader(DEADLINE_HEADER)).thenReturn(String.valueOf(NOW - 1));
+
+    handler.handle(context);
+
+    verify(response).setStatusCode(RequestDeadlineHandler.DEADLINE_EXCEEDED_STATUS_CODE);
+    verify(receivedCounter).inc();
+    verify(context, never()).next();
+  }
+
+  @Test
+  void requestWithinDeadlineContinuesWithDeadlineAttached() {
+    when(request.getHeader(DEADLINE_HEADER)).thenReturn(String.valueOf(NOW + 1));
+
+    handler.handle(context);
+
+    verify(context).next();
+    verify(context).put(anyString(), any(RequestDeadline.class));
+    verify(response, never()).setStatusCode(anyInt());
+    verify(receivedCounter, never()).inc();
+  }
+
+  @Test
+  void malformedDeadlineIsBadRequest() {
+    when(request.getHeader(DEADLINE_HEADER)).thenReturn("soon");
+
+    handler.handle(context);
+
+    verify(response).setStatusCode(400);
+    verify(receivedCounter, never()).inc();
+    verify(context, never()).next();
+  }
+
+  @Test
+  void requestWithoutDeadlineHasNone() {
+    assertThat(RequestDeadlineHandler.getDeadline(context)).isSameAs(RequestDeadline.NONE);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.eth2signer.core.http.RequestDeadline.DEADLINE_HEADER;
+import static tech.pegasys.eth2signer.core.http.RequestDeadline.TIMEOUT_HEADER;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import io.vertx.core.http.HttpServerRequest;
+import org.junit.jupiter.api.Test;
+
+class RequestDeadlineTest {
+
+  private static final long NOW = 1_000_000L;
+  private final Clock clock = Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC);
+  private final HttpServerRequest request = mock(HttpServerRequest.class);
+
+  @Test
+  void requestWithoutHeadersHasNoDeadline() {
+    assertThat(RequestDeadline.fromRequest(request, clock)).isSameAs(RequestDeadline.NONE);
+    assertThat(RequestDeadline.NONE.hasExpired()).isFalse();
+  }
+
+  @Test
+  void deadlineInThePastHasExpired() {
+    when(request.getHeader(DEADLINE_HEADER)).thenReturn(String.valueOf(NOW - 1));
+
+    assertThat(RequestDeadline.fromRequest(request, clock).hasExpired()).isTrue();
+  }
+
+  @Test
+  void deadlineInTheFutureHasNotExpired() {
+    when(request.getHeader(DEADLINE_HEADER)).thenReturn(String.valueOf(NOW + 1));
+
+    assertThat(RequestDeadline.fromRequest(request, clock).hasExpired()).isFalse();
+  }
+
+  @Test
+  void timeoutIsRelativeToReceipt() {
+    when(request.getHeader(TIMEOUT_HEADER)).thenReturn("500");
+    final RequestDeadline deadline = RequestDeadline.fromRequest(request, clock);
+
+    assertThat(deadline.hasExpired()).isFalse();
+    assertThat(new RequestDeadline(NOW + 500, offsetClock(501)).hasExpired()).isTrue();
+  }
+
+  @Test
+  void earliestOfDeadlineAndTimeoutIsUsed() {
+    when(request.getHeader(DEADLINE_HEADER)).thenReturn(String.valueOf(NOW - 1));
+    when(request.getHeader(TIMEOUT_HEADER)).thenReturn("10000");
+
+    assertThat(RequestDeadline.fromRequest(request, clock).hasExpired()).isTrue();
+  }
+
+  @Test
+  void invalidHeaderValueIsRejected() {
+    when(request.getHeader(TIMEOUT_HEADER)).thenReturn("soon");
+
+    assertThatThrownBy(() -> RequestDeadline.fromRequest(request, clock))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining(TIMEOUT_HEADER);
+  }
+
+  @Test
+  void negativeHeaderValueIsRejected() {
+    when(request.getHeader(DEADLINE_HEADER)).thenReturn("-1");
+
+    assertThatThrownBy(() -> RequestDeadline.fromRequest(request, clock))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining(DEADLINE_HEADER);
+  }
+
+  private Clock offsetClock(final long offsetMillis) {
+    return Clock.fixed(Instant.ofEpochMilli(NOW + offsetMillis), ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.eth2signer.core.eth2.DomainTable;
+import tech.pegasys.eth2signer.core.http.RequestDeadlineHandler;
+import tech.pegasys.eth2signer.core.metrics.LatencyHistograms;
+import tech.pegasys.eth2signer.core.signing.ArtifactSigner;
+import tech.pegasys.eth2signer.core.signing.ArtifactSignerProvider;
+import tech.pegasys.eth2signer.core.slashingprotection.SlashingProtection;
+import tech.pegasys.teku.bls.BLSKeyPair;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Optional;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.api.RequestParameter;
+import io.vertx.ext.web.api.RequestParameters;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class SignCommitteeHandlerTest {
+
+  private static final long VERIFY_TIMEOUT_MILLIS = 5_000;
+  private static final BLSKeyPair KEY_PAIR = BLSKeyPair.random(1);
+  private static final BLSKeyPair OTHER_KEY_PAIR = BLSKeyPair.random(2);
+  private static final String PUBLIC_KEY = KEY_PAIR.getPublicKey().toString();
+  private static final String OTHER_PUBLIC_KEY = OTHER_KEY_PAIR.getPublicKey().toString();
+
+  private final ArtifactSignerProvider signerProvider = mock(ArtifactSignerProvider.class);
+  private final SlashingProtection slashingProtection = mock(SlashingProtection.class);
+  private final RoutingContext routingContext = mock(RoutingContext.class);
+  private final HttpServerResponse response = mock(HttpServerResponse.class);
+  private final RequestParameter body = mock(RequestParameter.class);
+  private Vertx vertx;
+
+  @BeforeEach
+  void setup() {
+    vertx = Vertx.vertx();
+    final RequestParameters params = mock(RequestParameters.class);
+    when(routingContext.get("parsedParameters")).thenReturn(params);
+    when(routingContext.vertx()).thenReturn(vertx);
+    when(routingContext.response()).thenReturn(response);
+    when(response.putHeader(any(CharSequence.class), any(CharSequence.class))).thenReturn(response);
+    when(params.body()).thenReturn(body);
+    when(signerProvider.getSigner(PUBLIC_KEY))
+        .thenReturn(Optional.of(new ArtifactSigner(KEY_PAIR)));
+    when(signerProvider.getSigner(OTHER_PUBLIC_KEY))
+        .thenReturn(Optional.of(new ArtifactSigner(OTHER_KEY_PAIR)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  void repeatedPublicKeyIsRejected() {
+    givenBody(untypedRequest(PUBLIC_KEY, OTHER_PUBLIC_KEY, PUBLIC_KEY.substring(2).toUpperCase()));
+
+    handler(Optional.empty()).handle(routingContext);
+
+    verify(routingContext).fail(400);
+    verifyNoInteractions(signerProvider);
+  }
+
+  @Test
+  void untypedDataIsSignedWithoutSlashingProtection() {
+    givenBody(untypedRequest(PUBLIC_KEY, OTHER_PUBLIC_KEY));
+
+    handler(Optional.empty()).handle(routingContext);
+
+    assertThat(signatures()).hasSize(2);
+  }
+
+  @Test
+  void untypedDataIsRefusedWithSlashingProtection() {
+    givenBody(untypedRequest(PUBLIC_KEY, OTHER_PUBLIC_KEY));
+
+    handler(Optional.of(slashingProtection)).handle(routingContext);
+
+    verify(routingContext).fail(SignForPublicKeyHandler.SLASHING_PROTECTION_VIOLATION_STATUS_CODE);
+    verifyNoInteractions(signerProvider, slashingProtection);
+  }
+
+  @Test
+  void attestationIsCheckedForEachKey() {
+    when(slashingProtection.maySign(anyString(), any())).thenReturn(true);
+    givenBody(attestationRequest(PUBLIC_KEY, OTHER_PUBLIC_KEY));
+
+    handler(Optional.of(slashingProtection)).handle(routingContext);
+
+    assertThat(signatures()).hasSize(2);
+    verify(slashingProtection).maySign(eq(PUBLIC_KEY), any());
+    verify(slashingProtection).maySign(eq(OTHER_PUBLIC_KEY), any());
+  }
+
+  @Test
+  void slashableAttestationForAnyKeyRefusesRequest() {
+    when(slashingProtection.maySign(eq(PUBLIC_KEY), any())).thenReturn(true);
+    when(slashingProtection.maySign(eq(OTHER_PUBLIC_KEY), any())).thenReturn(false);
+    givenBody(attestationRequest(PUBLIC_KEY, OTHER_PUBLIC_KEY));
+
+    handler(Optional.of(slashingProtection)).handle(routingContext);
+
+    verify(routingContext, timeout(VERIFY_TIMEOUT_MILLIS))
+        .fail(SignForPublicKeyHandler.SLASHING_PROTECTION_VIOLATION_STATUS_CODE);
+    verify(response, never()).end(anyString());
+  }
+
+  private SignCommitteeHandler handler(final Optional<SlashingProtection> slashingProtection) {
+    final NoOpMetricsSystem metricsSystem = new NoOpMetricsSystem();
+    return new SignCommitteeHandler(
+        signerProvider,
+        new RequestDeadlineHandler(metricsSystem, Clock.systemUTC()),
+        new LatencyHistograms(),
+        Optional.empty(),
+        slashingProtection,
+        new DomainTable(metricsSystem),
+        false);
+  }
+
+  private void givenBody(final JsonObject requestBody) {
+    when(body.getJsonObject()).thenReturn(requestBody);
+  }
+
+  private JsonArray signatures() {
+    final ArgumentCaptor<String> responseBody = ArgumentCaptor.forClass(String.class);
+    verify(response, timeout(VERIFY_TIMEOUT_MILLIS)).end(responseBody.capture());
+    verify(routingContext, never()).fail(anyInt());
+    return new JsonArray(responseBody.getValue());
+  }
+
+  private static JsonObject untypedRequest(final String... publicKeys) {
+    return new JsonObject()
+        .put("data", "0x48656c6c6f")
+        .put("publicKeys", new JsonArray(Arrays.asList(publicKeys)));
+  }
+
+  private static JsonObject attestationRequest(final String... publicKeys) {
+    final JsonObject fork =
+        new JsonObject()
+            .put("previous_version", "0x00000001")
+            .put("current_version", "0x00000002")
+            .put("epoch", "100");
+    final JsonObject attestation =
+        new JsonObject()
+            .put("slot", "3200")
+            .put("index", "7")
+            .put("beacon_block_root", root(3))
+            .put("source", new JsonObject().put("epoch", "99").put("root", root(1)))
+            .put("target", new JsonObject().put("epoch", "100").put("root", root(2)));
+    return new JsonObject()
+        .put("fork", fork)
+        .put("genesis_validators_root", root(4))
+        .put("attestation", attestation)
+        .put("publicKeys", new JsonArray(Arrays.asList(publicKeys)));
+  }
+
+  private static String root(final int value) {
+    final byte[] bytes = new byte[32];
+    Arrays.fill(bytes, (byte) value);
+    return Bytes.wrap(bytes).toHexString();
+  }
+}
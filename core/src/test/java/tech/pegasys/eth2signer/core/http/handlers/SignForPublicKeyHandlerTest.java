@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.eth2signer.core.eth2.DomainTable;
+import tech.pegasys.eth2signer.core.eth2.Eth2SigningRequest;
+import tech.pegasys.eth2signer.core.http.RequestDeadline;
+import tech.pegasys.eth2signer.core.http.RequestDeadlineHandler;
+import tech.pegasys.eth2signer.core.http.SlashingProtectionViolationException;
+import tech.pegasys.eth2signer.core.jfr.SignEvent;
+import tech.pegasys.eth2signer.core.metrics.LatencyHistograms;
+import tech.pegasys.eth2signer.core.signing.ArtifactSigner;
+import tech.pegasys.eth2signer.core.signing.ArtifactSignerProvider;
+import tech.pegasys.eth2signer.core.slashingprotection.SlashingProtection;
+import tech.pegasys.teku.bls.BLSKeyPair;
+
+import java.time.Clock;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Vertx;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SignForPublicKeyHandlerTest {
+
+  private static final BLSKeyPair KEY_PAIR = BLSKeyPair.random(1);
+  private static final String PUBLIC_KEY = KEY_PAIR.getPublicKey().toString();
+  private static final Bytes DATA = Bytes.fromHexString("0x48656c6c6f");
+
+  private final ArtifactSignerProvider signerProvider = mock(ArtifactSignerProvider.class);
+  private final SlashingProtection slashingProtection = mock(SlashingProtection.class);
+  private final Eth2SigningRequest attestation = mock(Eth2SigningRequest.class);
+  private Vertx vertx;
+
+  @BeforeEach
+  void setup() {
+    vertx = Vertx.vertx();
+    when(signerProvider.getSigner(anyString()))
+        .thenReturn(Optional.of(new ArtifactSigner(KEY_PAIR)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  void untypedDataIsSignedWithoutSlashingProtection() throws Exception {
+    final AsyncResult<Optional<String>> result = sign(Optional.empty(), Optional.empty());
+
+    assertThat(result.succeeded()).isTrue();
+    assertThat(result.result()).contains(new ArtifactSigner(KEY_PAIR).sign(DATA).toString());
+  }
+
+  @Test
+  void untypedDataIsRefusedWithSlashingProtection() throws Exception {
+    final AsyncResult<Optional<String>> result =
+        sign(Optional.of(slashingProtection), Optional.empty());
+
+    assertThat(result.failed()).isTrue();
+    assertThat(result.cause()).isInstanceOf(SlashingProtectionViolationException.class);
+    verify(signerProvider, never()).getSigner(anyString());
+    verifyNoInteractions(slashingProtection);
+  }
+
+  @Test
+  void typedRequestIsSignedWhenPermittedBySlashingProtection() throws Exception {
+    when(slashingProtection.maySign(PUBLIC_KEY, attestation)).thenReturn(true);
+
+    final AsyncResult<Optional<String>> result =
+        sign(Optional.of(slashingProtection), Optional.of(attestation));
+
+    assertThat(result.succeeded()).isTrue();
+    assertThat(result.result()).isPresent();
+  }
+
+  @Test
+  void typedRequestIsRefusedWhenSlashable() throws Exception {
+    when(slashingProtection.maySign(PUBLIC_KEY, attestation)).thenReturn(false);
+
+    final AsyncResult<Optional<String>> result =
+        sign(Optional.of(slashingProtection), Optional.of(attestation));
+
+    assertThat(result.failed()).isTrue();
+    assertThat(result.cause()).isInstanceOf(SlashingProtectionViolationException.class);
+    verify(slashingProtection).maySign(any(), any());
+  }
+
+  private AsyncResult<Optional<String>> sign(
+      final Optional<SlashingProtection> slashingProtection,
+      final Optional<Eth2SigningRequest> typedRequest)
+      throws Exception {
+    final NoOpMetricsSystem metricsSystem = new NoOpMetricsSystem();
+    final SignForPublicKeyHandler handler =
+        new SignForPublicKeyHandler(
+            signerProvider,
+            new RequestDeadlineHandler(metricsSystem, Clock.systemUTC()),
+            metricsSystem,
+            new LatencyHistograms(),
+            slashingProtection,
+            Optional.empty(),
+            new DomainTable(metricsSystem));
+    final CompletableFuture<AsyncResult<Optional<String>>> result = new CompletableFuture<>();
+    handler.sign(
+        vertx,
+        PUBLIC_KEY,
+        SignForPublicKeyHandler.SIGN_OPERATION,
+        typedRequest,
+        DATA,
+        RequestDeadline.NONE,
+        System.nanoTime(),
+        new SignEvent(PUBLIC_KEY),
+        result::complete);
+    return result.get(10, TimeUnit.SECONDS);
+  }
+}
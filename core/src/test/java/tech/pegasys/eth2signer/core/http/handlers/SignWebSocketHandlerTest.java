@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.http.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.eth2signer.core.http.RequestDeadlineHandler.STAGE_DEQUEUED;
+
+import tech.pegasys.eth2signer.core.http.DeadlineExceededException;
+import tech.pegasys.eth2signer.core.http.RequestDeadlineHandler;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class SignWebSocketHandlerTest {
+
+  private static final int MAX_IN_FLIGHT = 2;
+  private static final String REQUEST = "{\"id\":%d,\"publicKey\":\"0xab\",\"data\":\"0x01\"}";
+
+  private final SignForPublicKeyHandler signingHandler = mock(SignForPublicKeyHandler.class);
+  private final ServerWebSocket webSocket = mock(ServerWebSocket.class);
+  private final SignWebSocketHandler handler =
+      new SignWebSocketHandler(
+          signingHandler,
+          new RequestDeadlineHandler(new NoOpMetricsSystem(), Clock.systemUTC()),
+          MAX_IN_FLIGHT);
+  private final List<Handler<AsyncResult<Optional<String>>>> pending = new ArrayList<>();
+  private Handler<String> messageHandler;
+  private Handler<Void> drainHandler;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setup() {
+    final RoutingContext routingContext = mock(RoutingContext.class);
+    final HttpServerRequest request = mock(HttpServerRequest.class);
+    when(routingContext.request()).thenReturn(request);
+    when(routingContext.vertx()).thenReturn(mock(Vertx.class));
+    when(request.version()).thenReturn(HttpVersion.HTTP_1_1);
+    when(request.getHeader(HttpHeaders.UPGRADE)).thenReturn("websocket");
+    when(request.getHeader(HttpHeaders.CONNECTION)).thenReturn("keep-alive, Upgrade");
+    when(request.upgrade()).thenReturn(webSocket);
+    doAnswer(
+            invocation -> {
+              pending.add(invocation.getArgument(8));
+              return null;
+            })
+        .when(signingHandler)
+        .sign(any(), anyString(), anyString(), any(), any(), any(), anyLong(), any(), any());
+
+    handler.handle(routingContext);
+
+    final ArgumentCaptor<Handler<String>> messageCaptor = ArgumentCaptor.forClass(Handler.class);
+    verify(webSocket).textMessageHandler(messageCaptor.capture());
+    messageHandler = messageCaptor.getValue();
+    final ArgumentCaptor<Handler<Void>> drainCaptor = ArgumentCaptor.forClass(Handler.class);
+    verify(webSocket).drainHandler(drainCaptor.capture());
+    drainHandler = drainCaptor.getValue();
+  }
+
+  @Test
+  void requestWithoutUpgradeHeadersIsRejected() {
+    final RoutingContext routingContext = mock(RoutingContext.class);
+    final HttpServerRequest request = mock(HttpServerRequest.class);
+    when(routingContext.request()).thenReturn(request);
+    when(request.version()).thenReturn(HttpVersion.HTTP_1_1);
+
+    handler.handle(routingContext);
+
+    verify(routingContext).fail(400);
+    verify(request, never()).upgrade();
+  }
+
+  @Test
+  void readingIsPausedAtMaximumInFlightAndResumedAsRequestsComplete() {
+    messageHandler.handle(String.format(REQUEST, 1));
+    verify(webSocket, never()).pause();
+    messageHandler.handle(String.format(REQUEST, 2));
+    verify(webSocket).pause();
+
+    pending.get(0).handle(Future.succeededFuture(Optional.of("0x02")));
+
+    verify(webSocket)
+        .writeTextMessage(new JsonObject().put("id", 1).put("signature", "0x02").encode());
+    verify(webSocket).resume();
+  }
+
+  @Test
+  void readingIsPausedUntilFullWriteQueueDrains() {
+    when(webSocket.writeQueueFull()).thenReturn(true);
+    messageHandler.handle(String.format(REQUEST, 1));
+    pending.get(0).handle(Future.succeededFuture(Optional.of("0x02")));
+
+    verify(webSocket).pause();
+    verify(webSocket, never()).resume();
+
+    when(webSocket.writeQueueFull()).thenReturn(false);
+    drainHandler.handle(null);
+    verify(webSocket).resume();
+  }
+
+  @Test
+  void expiredRequestIsAnsweredWithDeadlineExceeded() {
+    messageHandler.handle(String.format(REQUEST, 1));
+
+    pending.get(0).handle(Future.failedFuture(new DeadlineExceededException(STAGE_DEQUEUED)));
+
+    final ArgumentCaptor<String> response = ArgumentCaptor.forClass(String.class);
+    verify(webSocket).writeTextMessage(response.capture());
+    assertThat(new JsonObject(response.getValue()).getJsonObject("error").getInteger("code"))
+        .isEqualTo(RequestDeadlineHandler.DEADLINE_EXCEEDED_STATUS_CODE);
+  }
+
+  @Test
+  void requestsAreSignedThroughTheSharedSigningPath() {
+    messageHandler.handle(String.format(REQUEST, 1));
+
+    verify(signingHandler)
+        .sign(
+            any(),
+            eq("0xab"),
+            eq(SignWebSocketHandler.SIGN_WEBSOCKET_OPERATION),
+            eq(Optional.empty()),
+            any(),
+            any(),
+            anyLong(),
+            any(),
+            any());
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EventLoopLagProbeTest {
+
+  private static final Duration INTERVAL = Duration.ofMillis(10);
+  private static final Duration BLOCKED_THRESHOLD = Duration.ofMillis(100);
+  private static final long VERIFY_TIMEOUT_MILLIS = 5_000;
+
+  private final List<Long> lagNanos = new CopyOnWriteArrayList<>();
+  private final Counter blockedCounter = mock(Counter.class);
+  private Vertx vertx;
+  private EventLoopLagProbe probe;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setup() {
+    final MetricsSystem metricsSystem = mock(MetricsSystem.class);
+    final LabelledMetric<OperationTimer> lagTimers = mock(LabelledMetric.class);
+    // records the real lag, as the probe's timer would
+    final OperationTimer lagTimer =
+        () -> {
+          final long startedAt = System.nanoTime();
+          return () -> {
+            lagNanos.add(System.nanoTime() - startedAt);
+            return 0;
+          };
+        };
+    final LabelledMetric<Counter> blockedCounters = mock(LabelledMetric.class);
+    when(metricsSystem.createLabelledTimer(any(), eq("event_loop_lag"), anyString(), any()))
+        .thenReturn(lagTimers);
+    when(metricsSystem.createLabelledCounter(any(), eq("event_loop_blocked"), anyString(), any()))
+        .thenReturn(blockedCounters);
+    when(lagTimers.labels("0")).thenReturn(lagTimer);
+    when(blockedCounters.labels("0")).thenReturn(blockedCounter);
+
+    vertx = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(1));
+    probe = new EventLoopLagProbe(metricsSystem, vertx, INTERVAL, BLOCKED_THRESHOLD);
+    probe.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    probe.stop();
+    vertx.close();
+  }
+
+  @Test
+  void lagIsRecordedForAnIdleEventLoop() throws InterruptedException {
+    Thread.sleep(INTERVAL.toMillis() * 10);
+
+    assertThat(lagNanos).isNotEmpty();
+    assertThat(lagNanos).allMatch(lag -> lag < BLOCKED_THRESHOLD.toNanos());
+    verify(blockedCounter, never()).inc();
+  }
+
+  @Test
+  void blockedEventLoopIsCountedOncePerBlockedPeriod() throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    vertx.runOnContext(
+        v -> {
+          started.countDown();
+          try {
+            release.await();
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    started.await(VERIFY_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+    verify(blockedCounter, timeout(VERIFY_TIMEOUT_MILLIS)).inc();
+    // several more probes run while the event loop stays blocked
+    Thread.sleep(BLOCKED_THRESHOLD.toMillis());
+    release.countDown();
+
+    // the waiting task is run once the event loop is released, recording the time it was blocked
+    final long blockedNanos = BLOCKED_THRESHOLD.toNanos();
+    verify(blockedCounter).inc();
+    waitUntil(() -> lagNanos.stream().anyMatch(lag -> lag > blockedNanos));
+  }
+
+  private void waitUntil(final BooleanSupplier condition) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(VERIFY_TIMEOUT_MILLIS);
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).as("Timed out waiting for condition").isLessThan(deadline);
+      Thread.sleep(INTERVAL.toMillis());
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.function.DoubleSupplier;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.ServerWebSocket;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class HttpServerStreamMetricsTest {
+
+  private final MetricsSystem metricsSystem = mock(MetricsSystem.class);
+  private final Counter http1StreamsOpened = mock(Counter.class);
+  private final Counter http2StreamsOpened = mock(Counter.class);
+  private final Counter streamsReset = mock(Counter.class);
+  private HttpServerStreamMetrics streamMetrics;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setup() {
+    final LabelledMetric<Counter> streamsOpened = mock(LabelledMetric.class);
+    when(streamsOpened.labels(anyString())).thenReturn(mock(Counter.class));
+    when(streamsOpened.labels(HttpVersion.HTTP_1_1.name())).thenReturn(http1StreamsOpened);
+    when(streamsOpened.labels(HttpVersion.HTTP_2.name())).thenReturn(http2StreamsOpened);
+    when(metricsSystem.createLabelledCounter(
+            any(), eq("server_streams_opened"), anyString(), any()))
+        .thenReturn(streamsOpened);
+    when(metricsSystem.createCounter(any(), eq("server_streams_reset"), anyString()))
+        .thenReturn(streamsReset);
+
+    streamMetrics = new HttpServerStreamMetrics(metricsSystem);
+  }
+
+  @Test
+  void streamsAreCountedByHttpVersion() {
+    streamMetrics.streamOpened(HttpVersion.HTTP_2);
+    streamMetrics.streamOpened(HttpVersion.HTTP_2);
+    streamMetrics.streamOpened(HttpVersion.HTTP_1_1);
+
+    verify(http2StreamsOpened, times(2)).inc();
+    verify(http1StreamsOpened).inc();
+    assertThat(gauge("server_active_streams").getAsDouble()).isEqualTo(3);
+  }
+
+  @Test
+  void endedAndResetStreamsAreNoLongerActive() {
+    streamMetrics.streamOpened(HttpVersion.HTTP_2);
+    streamMetrics.streamOpened(HttpVersion.HTTP_2);
+
+    streamMetrics.streamEnded();
+    assertThat(gauge("server_active_streams").getAsDouble()).isEqualTo(1);
+    verifyNoInteractions(streamsReset);
+
+    streamMetrics.streamReset();
+    assertThat(gauge("server_active_streams").getAsDouble()).isZero();
+    verify(streamsReset).inc();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void upgradedStreamIsNoLongerActive() {
+    final LabelledMetric<OperationTimer> requestTimers = mock(LabelledMetric.class);
+    final OperationTimer requestTimer = mock(OperationTimer.class);
+    final TimingContext timingContext = mock(TimingContext.class);
+    when(metricsSystem.createLabelledTimer(any(), eq("server_request_time"), anyString(), any()))
+        .thenReturn(requestTimers);
+    when(requestTimers.labels(any())).thenReturn(requestTimer);
+    when(requestTimer.startTimer()).thenReturn(timingContext);
+    final HttpServerRequest request = mock(HttpServerRequest.class);
+    when(request.version()).thenReturn(HttpVersion.HTTP_1_1);
+    when(request.method()).thenReturn(HttpMethod.GET);
+    when(request.path()).thenReturn("/signer/ws");
+    final HttpServerMetricsAdapter adapter =
+        new HttpServerMetricsAdapter(metricsSystem, streamMetrics, new RouteTemplates());
+
+    final TimingContext requestMetric = adapter.requestBegin(null, request);
+    assertThat(gauge("server_active_streams").getAsDouble()).isEqualTo(1);
+
+    adapter.connected(null, requestMetric, mock(ServerWebSocket.class));
+    assertThat(gauge("server_active_streams").getAsDouble()).isZero();
+    verify(timingContext).stopTimer();
+    verifyNoInteractions(streamsReset);
+  }
+
+  @Test
+  void multiplexedStreamsShareAConnection() {
+    streamMetrics.connectionOpened();
+    streamMetrics.streamOpened(HttpVersion.HTTP_2);
+    streamMetrics.streamOpened(HttpVersion.HTTP_2);
+
+    assertThat(gauge("server_active_connections").getAsDouble()).isEqualTo(1);
+    assertThat(gauge("server_active_streams").getAsDouble()).isEqualTo(2);
+
+    streamMetrics.connectionClosed();
+    assertThat(gauge("server_active_connections").getAsDouble()).isZero();
+  }
+
+  private DoubleSupplier gauge(final String name) {
+    final ArgumentCaptor<DoubleSupplier> supplier = ArgumentCaptor.forClass(DoubleSupplier.class);
+    verify(metricsSystem).createGauge(any(), eq(name), anyString(), supplier.capture());
+    return supplier.getValue();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.eth2signer.core.http.handlers.LatencyHandler;
+
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class LatencyHandlerTest {
+
+  private static final String OPERATION = "sign";
+
+  private final LatencyHistograms latencyHistograms = new LatencyHistograms();
+  private final LatencyHandler handler = new LatencyHandler(latencyHistograms);
+  private final RoutingContext context = mock(RoutingContext.class);
+  private final HttpServerRequest request = mock(HttpServerRequest.class);
+  private final HttpServerResponse response = mock(HttpServerResponse.class);
+
+  @BeforeEach
+  void setup() {
+    when(context.request()).thenReturn(request);
+    when(context.response()).thenReturn(response);
+    when(response.putHeader(any(CharSequence.class), any(CharSequence.class))).thenReturn(response);
+    latencyHistograms.record(OPERATION, TimeUnit.MILLISECONDS.toNanos(5));
+    latencyHistograms.rotate();
+  }
+
+  @Test
+  void latencyIsSummarisedPerOperationAndWindow() {
+    handler.getLatency(context);
+
+    final JsonObject summary = new JsonObject(responseBody());
+    final JsonObject oneMinute = summary.getJsonObject(OPERATION).getJsonObject("1m");
+    assertThat(oneMinute.getLong("count")).isEqualTo(1);
+    assertThat(oneMinute.getDouble("p50")).isCloseTo(5.0, within(0.01));
+    assertThat(summary.getJsonObject(OPERATION).fieldNames()).containsExactly("1m", "5m", "15m");
+  }
+
+  @Test
+  void distributionIsSentForKnownOperationAndWindow() {
+    when(context.pathParam(LatencyHandler.OPERATION_PARAM)).thenReturn(OPERATION);
+    when(request.getParam("window")).thenReturn("5m");
+
+    handler.getDistribution(context);
+
+    verify(context, never()).fail(anyInt());
+    assertThat(responseBody()).contains("Value");
+  }
+
+  @Test
+  void unknownWindowIsRejected() {
+    when(context.pathParam(LatencyHandler.OPERATION_PARAM)).thenReturn(OPERATION);
+    when(request.getParam("window")).thenReturn("2m");
+
+    handler.getDistribution(context);
+
+    verify(context).fail(400);
+    verify(response, never()).end(anyString());
+  }
+
+  @Test
+  void unknownOperationIsNotFound() {
+    when(context.pathParam(LatencyHandler.OPERATION_PARAM)).thenReturn("unknown");
+
+    handler.getDistribution(context);
+
+    verify(context).fail(404);
+    verify(response, never()).end(anyString());
+  }
+
+  private String responseBody() {
+    final ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+    verify(response).end(body.capture());
+    return body.getValue();
+  }
+}
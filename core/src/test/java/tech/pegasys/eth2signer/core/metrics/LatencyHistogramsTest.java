@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withPercentage;
+
+import tech.pegasys.eth2signer.core.metrics.LatencyHistograms.Window;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramsTest {
+
+  private static final String OPERATION = "sign";
+
+  private final LatencyHistograms latencyHistograms = new LatencyHistograms();
+
+  @Test
+  void unknownOperationHasNoHistogram() {
+    assertThat(latencyHistograms.getHistogram(OPERATION, Window.ONE_MINUTE)).isEmpty();
+    assertThat(latencyHistograms.getOperations()).isEmpty();
+  }
+
+  @Test
+  void latenciesAreVisibleOnceTheirIntervalCompletes() {
+    latencyHistograms.record(OPERATION, millis(5));
+    assertThat(histogram(Window.ONE_MINUTE).getTotalCount()).isZero();
+
+    latencyHistograms.rotate();
+
+    assertThat(histogram(Window.ONE_MINUTE).getTotalCount()).isEqualTo(1);
+    assertThat(latencyHistograms.getOperations()).containsExactly(OPERATION);
+  }
+
+  @Test
+  void percentilesAreExactToThreeSignificantDigits() {
+    IntStream.rangeClosed(1, 1000).forEach(i -> latencyHistograms.record(OPERATION, millis(i)));
+    latencyHistograms.rotate();
+
+    final Histogram histogram = histogram(Window.ONE_MINUTE);
+    assertThat(histogram.getValueAtPercentile(99.9)).isCloseTo(millis(999), withPercentage(0.1));
+    assertThat(histogram.getMaxValue()).isCloseTo(millis(1000), withPercentage(0.1));
+  }
+
+  @Test
+  void windowsOnlyIncludeTheirMostRecentIntervals() {
+    latencyHistograms.record(OPERATION, millis(100));
+    latencyHistograms.rotate();
+    // two minutes of intervals without requests
+    IntStream.range(0, 12).forEach(i -> latencyHistograms.rotate());
+    latencyHistograms.record(OPERATION, millis(1));
+    latencyHistograms.rotate();
+
+    assertThat(histogram(Window.ONE_MINUTE).getTotalCount()).isEqualTo(1);
+    assertThat(histogram(Window.FIVE_MINUTES).getTotalCount()).isEqualTo(2);
+    assertThat(histogram(Window.FIFTEEN_MINUTES).getTotalCount()).isEqualTo(2);
+  }
+
+  @Test
+  void intervalsOlderThanTheLargestWindowAreDiscarded() {
+    latencyHistograms.record(OPERATION, millis(100));
+    IntStream.range(0, 91).forEach(i -> latencyHistograms.rotate());
+
+    assertThat(histogram(Window.FIFTEEN_MINUTES).getTotalCount()).isZero();
+  }
+
+  private Histogram histogram(final Window window) {
+    return latencyHistograms.getHistogram(OPERATION, window).orElseThrow();
+  }
+
+  private static long millis(final long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
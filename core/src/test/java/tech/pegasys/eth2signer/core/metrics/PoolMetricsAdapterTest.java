@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.metrics;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class PoolMetricsAdapterTest {
+
+  private final OperationTimer queueTimer = mock(OperationTimer.class);
+  private final OperationTimer usageTimer = mock(OperationTimer.class);
+  private final TimingContext queued = mock(TimingContext.class);
+  private final TimingContext used = mock(TimingContext.class);
+  private final Counter rejectedCounter = mock(Counter.class);
+  private final PoolMetricsAdapter poolMetrics =
+      new PoolMetricsAdapter(queueTimer, usageTimer, rejectedCounter);
+
+  @BeforeEach
+  void setup() {
+    when(queueTimer.startTimer()).thenReturn(queued);
+    when(usageTimer.startTimer()).thenReturn(used);
+  }
+
+  @Test
+  void queueTimeEndsWhenTaskBeginsAndUsageTimeWhenItEnds() {
+    final TimingContext queueContext = poolMetrics.submitted();
+    verify(queued, never()).stopTimer();
+
+    final TimingContext usageContext = poolMetrics.begin(queueContext);
+    verify(used, never()).stopTimer();
+
+    poolMetrics.end(usageContext, true);
+
+    final InOrder inOrder = inOrder(queueTimer, queued, usageTimer, used);
+    inOrder.verify(queueTimer).startTimer();
+    inOrder.verify(queued).stopTimer();
+    inOrder.verify(usageTimer).startTimer();
+    inOrder.verify(used).stopTimer();
+    verify(rejectedCounter, never()).inc();
+  }
+
+  @Test
+  void failedTaskStillEndsUsageTime() {
+    poolMetrics.end(poolMetrics.begin(poolMetrics.submitted()), false);
+
+    verify(used).stopTimer();
+  }
+
+  @Test
+  void rejectedTaskIsCountedWithoutUsageTime() {
+    poolMetrics.rejected(poolMetrics.submitted());
+
+    verify(rejectedCounter).inc();
+    verify(usageTimer, never()).startTimer();
+  }
+}
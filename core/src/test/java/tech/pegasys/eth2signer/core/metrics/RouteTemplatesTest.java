@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.http.HttpMethod;
+import org.junit.jupiter.api.Test;
+
+class RouteTemplatesTest {
+
+  private final RouteTemplates routeTemplates =
+      new RouteTemplates()
+          .add("/upcheck", HttpMethod.GET)
+          .add("/signer/publicKeys", HttpMethod.GET)
+          .add("/signer/sign/{publicKey}", HttpMethod.POST);
+
+  @Test
+  void pathWithParameterResolvesToTemplate() {
+    assertThat(routeTemplates.resolve("/signer/sign/0x1234")).contains("/signer/sign/{publicKey}");
+  }
+
+  @Test
+  void pathWithoutParameterResolvesToItself() {
+    assertThat(routeTemplates.resolve("/signer/publicKeys")).contains("/signer/publicKeys");
+  }
+
+  @Test
+  void unknownPathDoesNotResolve() {
+    assertThat(routeTemplates.resolve("/signer/sign/0x1234/extra")).isEmpty();
+    assertThat(routeTemplates.resolve("/signer/sign/")).isEmpty();
+    assertThat(routeTemplates.resolve("/unknown")).isEmpty();
+  }
+
+  @Test
+  void methodsAreCollectedPerTemplate() {
+    routeTemplates.add("/upcheck", HttpMethod.HEAD);
+
+    assertThat(routeTemplates.getMethodsByTemplate().get("/upcheck"))
+        .containsExactlyInAnyOrder(HttpMethod.GET, HttpMethod.HEAD);
+  }
+}
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import tech.pegasys.eth2signer.TrackingLogAppender;
+import tech.pegasys.eth2signer.core.multikey.DirectoryBackedArtifactSignerProvider.PinResult;
 import tech.pegasys.eth2signer.core.multikey.metadata.SigningMetadataException;
 import tech.pegasys.eth2signer.core.multikey.metadata.parser.SignerParser;
 import tech.pegasys.eth2signer.core.signing.ArtifactSigner;
@@ -30,14 +31,18 @@ import tech.pegasys.teku.bls.BLSSecretKey;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Logger;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -66,13 +71,14 @@ class DirectoryBackedArtifactSignerProviderTest {
       "315ed405fafe339603932eebe8dbfd650ce5dafa561f6928664c75db85f97857";
 
   private final ArtifactSigner artifactSigner = createArtifactSigner(PRIVATE_KEY1);
+  private final MetricsSystem metricsSystem = new NoOpMetricsSystem();
   private DirectoryBackedArtifactSignerProvider signerProvider;
 
   @BeforeEach
   void setup() {
     signerProvider =
         new DirectoryBackedArtifactSignerProvider(
-            configsDirectory, FILE_EXTENSION, signerParser, 0);
+            configsDirectory, FILE_EXTENSION, signerParser, 0, metricsSystem);
   }
 
   @Test
@@ -164,7 +170,7 @@ class DirectoryBackedArtifactSignerProviderTest {
   void failedWithDirectoryErrorReturnEmptySigner() throws IOException {
     final DirectoryBackedArtifactSignerProvider signerProvider =
         new DirectoryBackedArtifactSignerProvider(
-            configsDirectory.resolve("idontexist"), FILE_EXTENSION, signerParser, 5);
+            configsDirectory.resolve("idontexist"), FILE_EXTENSION, signerParser, 5, metricsSystem);
     createFileInConfigsDirectory(PUBLIC_KEY1);
 
     final Optional<ArtifactSigner> signer = signerProvider.getSigner(PUBLIC_KEY1);
@@ -219,7 +225,7 @@ class DirectoryBackedArtifactSignerProviderTest {
   void signIdentifiersUsesCache() throws IOException {
     final DirectoryBackedArtifactSignerProvider signerProvider =
         new DirectoryBackedArtifactSignerProvider(
-            configsDirectory, FILE_EXTENSION, signerParser, 1);
+            configsDirectory, FILE_EXTENSION, signerParser, 1, metricsSystem);
     final LoadingCache<String, ArtifactSigner> artifactSignerCache =
         signerProvider.getArtifactSignerCache();
     artifactSignerCache.put(PUBLIC_KEY1, artifactSigner);
@@ -230,6 +236,25 @@ class DirectoryBackedArtifactSignerProviderTest {
     verify(signerParser, never()).parse(any());
   }
 
+  @Test
+  void cacheStatisticsAreRecorded() throws IOException {
+    final DirectoryBackedArtifactSignerProvider signerProvider =
+        new DirectoryBackedArtifactSignerProvider(
+            configsDirectory, FILE_EXTENSION, signerParser, 1, metricsSystem);
+    createFileInConfigsDirectory(PUBLIC_KEY1);
+    when(signerParser.parse(any())).thenReturn(artifactSigner);
+
+    signerProvider.getSigner(PUBLIC_KEY1);
+    signerProvider.getSigner(PUBLIC_KEY1);
+    signerProvider.getSigner(PUBLIC_KEY2);
+
+    final CacheStats stats = signerProvider.getArtifactSignerCache().stats();
+    assertThat(stats.hitCount()).isEqualTo(1);
+    assertThat(stats.missCount()).isEqualTo(2);
+    assertThat(stats.loadSuccessCount()).isEqualTo(1);
+    assertThat(stats.loadExceptionCount()).isEqualTo(1);
+  }
+
   @Test
   void signerIdentifiersReturnedForAllValidMetadataFilesInDirectory() throws IOException {
     createFileInConfigsDirectory(PUBLIC_KEY1);
@@ -283,7 +308,7 @@ class DirectoryBackedArtifactSignerProviderTest {
   void signerLoadedIntoCacheForValidMetadataFile() throws IOException {
     DirectoryBackedArtifactSignerProvider signerProvider =
         new DirectoryBackedArtifactSignerProvider(
-            configsDirectory, FILE_EXTENSION, signerParser, 1);
+            configsDirectory, FILE_EXTENSION, signerParser, 1, metricsSystem);
     createFileInConfigsDirectory(PUBLIC_KEY1);
     when(signerParser.parse(any())).thenReturn(artifactSigner);
     final String identifier = "0x" + PUBLIC_KEY1;
@@ -323,7 +348,7 @@ class DirectoryBackedArtifactSignerProviderTest {
   void signerCacheIsUsedIfAlreadyInCache() {
     final DirectoryBackedArtifactSignerProvider signerProvider =
         new DirectoryBackedArtifactSignerProvider(
-            configsDirectory, FILE_EXTENSION, signerParser, 1);
+            configsDirectory, FILE_EXTENSION, signerParser, 1, metricsSystem);
     final String identifier = "0x" + PUBLIC_KEY1;
     final LoadingCache<String, ArtifactSigner> artifactSignerCache =
         signerProvider.getArtifactSignerCache();
@@ -345,7 +370,7 @@ class DirectoryBackedArtifactSignerProviderTest {
 
     final DirectoryBackedArtifactSignerProvider signerProvider =
         new DirectoryBackedArtifactSignerProvider(
-            configsDirectory, FILE_EXTENSION, signerParser, 2);
+            configsDirectory, FILE_EXTENSION, signerParser, 2, metricsSystem);
     final LoadingCache<String, ArtifactSigner> signerCache =
         signerProvider.getArtifactSignerCache();
 
@@ -370,11 +395,77 @@ class DirectoryBackedArtifactSignerProviderTest {
     assertThat(signerCache.asMap()).containsValues(signer2.get(), signer3.get());
   }
 
+  @Test
+  void pinnedSignerIsReturnedWithoutLoading() throws IOException {
+    final DirectoryBackedArtifactSignerProvider signerProvider =
+        new DirectoryBackedArtifactSignerProvider(
+            configsDirectory, FILE_EXTENSION, signerParser, 1, metricsSystem);
+    createFileInConfigsDirectory(PUBLIC_KEY1);
+    when(signerParser.parse(any())).thenReturn(artifactSigner);
+
+    assertThat(signerProvider.pinSigner("0x" + PUBLIC_KEY1, Instant.ofEpochSecond(100)))
+        .isEqualTo(PinResult.PINNED);
+    final Optional<ArtifactSigner> signer = signerProvider.getSigner(PUBLIC_KEY1);
+
+    // the cache holds no signers, so the signer is only held by its pin
+    assertThat(signer).containsSame(artifactSigner);
+    assertThat(signerProvider.getArtifactSignerCache().size()).isEqualTo(0);
+    verify(signerParser).parse(pathEndsWith(PUBLIC_KEY1));
+  }
+
+  @Test
+  void pinningUnknownSignerFails() {
+    final DirectoryBackedArtifactSignerProvider signerProvider =
+        new DirectoryBackedArtifactSignerProvider(
+            configsDirectory, FILE_EXTENSION, signerParser, 1, metricsSystem);
+
+    assertThat(signerProvider.pinSigner(PUBLIC_KEY1, Instant.ofEpochSecond(100)))
+        .isEqualTo(PinResult.NOT_FOUND);
+    assertThat(signerProvider.unpinSignersBefore(Instant.ofEpochSecond(200))).isEqualTo(0);
+  }
+
+  @Test
+  void signersAreNotPinnedBeyondCacheLimit() throws IOException {
+    final DirectoryBackedArtifactSignerProvider signerProvider =
+        new DirectoryBackedArtifactSignerProvider(
+            configsDirectory, FILE_EXTENSION, signerParser, 1, metricsSystem);
+    createFileInConfigsDirectory(PUBLIC_KEY1);
+    createFileInConfigsDirectory(PUBLIC_KEY2);
+    when(signerParser.parse(any())).thenReturn(artifactSigner);
+
+    assertThat(signerProvider.pinSigner(PUBLIC_KEY1, Instant.ofEpochSecond(100)))
+        .isEqualTo(PinResult.PINNED);
+    assertThat(signerProvider.pinSigner(PUBLIC_KEY2, Instant.ofEpochSecond(100)))
+        .isEqualTo(PinResult.LIMIT_REACHED);
+    // extending an existing pin is not limited
+    assertThat(signerProvider.pinSigner(PUBLIC_KEY1, Instant.ofEpochSecond(200)))
+        .isEqualTo(PinResult.PINNED);
+    verify(signerParser).parse(pathEndsWith(PUBLIC_KEY1));
+  }
+
+  @Test
+  void signerIsReleasedIntoCacheOncePinExpires() throws IOException {
+    final DirectoryBackedArtifactSignerProvider signerProvider =
+        new DirectoryBackedArtifactSignerProvider(
+            configsDirectory, FILE_EXTENSION, signerParser, 1, metricsSystem);
+    createFileInConfigsDirectory(PUBLIC_KEY1);
+    when(signerParser.parse(any())).thenReturn(artifactSigner);
+
+    signerProvider.pinSigner(PUBLIC_KEY1, Instant.ofEpochSecond(100));
+    signerProvider.pinSigner(PUBLIC_KEY1, Instant.ofEpochSecond(200));
+    assertThat(signerProvider.unpinSignersBefore(Instant.ofEpochSecond(150))).isEqualTo(0);
+    assertThat(signerProvider.unpinSignersBefore(Instant.ofEpochSecond(250))).isEqualTo(1);
+
+    assertThat(signerProvider.getArtifactSignerCache().getIfPresent(PUBLIC_KEY1))
+        .isSameAs(artifactSigner);
+    verify(signerParser).parse(pathEndsWith(PUBLIC_KEY1));
+  }
+
   @Test
   void cacheAllSignersPopulatesCacheForAllIdentifiers() throws IOException {
     DirectoryBackedArtifactSignerProvider signerProvider =
         new DirectoryBackedArtifactSignerProvider(
-            configsDirectory, FILE_EXTENSION, signerParser, 3);
+            configsDirectory, FILE_EXTENSION, signerParser, 3, metricsSystem);
     createFileInConfigsDirectory(PUBLIC_KEY1);
     createFileInConfigsDirectory(PUBLIC_KEY2);
     createFileInConfigsDirectory(PUBLIC_KEY3);
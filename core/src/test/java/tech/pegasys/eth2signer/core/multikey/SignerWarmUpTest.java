@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.multikey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.eth2signer.core.multikey.SignerWarmUp.DUTY_WINDOW;
+import static tech.pegasys.eth2signer.core.multikey.SignerWarmUp.MAX_HORIZON;
+
+import tech.pegasys.eth2signer.core.multikey.DirectoryBackedArtifactSignerProvider.PinResult;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SignerWarmUpTest {
+
+  private static final Instant NOW = Instant.parse("2020-12-01T12:00:00Z");
+  private static final long MAX_PINNED_SIGNERS = 2;
+
+  private final DirectoryBackedArtifactSignerProvider signerProvider =
+      mock(DirectoryBackedArtifactSignerProvider.class);
+  private final SignerWarmUp signerWarmUp =
+      new SignerWarmUp(
+          signerProvider, Clock.fixed(NOW, ZoneOffset.UTC), new NoOpMetricsSystem());
+
+  @BeforeEach
+  void setup() {
+    when(signerProvider.getMaxPinnedSigners()).thenReturn(MAX_PINNED_SIGNERS);
+    when(signerProvider.pinSigner(any(), any())).thenReturn(PinResult.PINNED);
+  }
+
+  @AfterEach
+  void tearDown() {
+    signerWarmUp.stop();
+  }
+
+  @Test
+  void useBeyondHorizonIsRejected() {
+    assertThat(signerWarmUp.latestExpectedUse()).isEqualTo(NOW.plus(MAX_HORIZON));
+
+    assertThatThrownBy(() -> signerWarmUp.warmUp("0xab", NOW.plus(MAX_HORIZON).plusMillis(1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(signerWarmUp.pendingLoadCount()).isZero();
+  }
+
+  @Test
+  void useWhoseDutyWindowHasPassedIsNotAccepted() {
+    assertThat(signerWarmUp.warmUp("0xab", NOW.minus(DUTY_WINDOW))).isFalse();
+
+    assertThat(signerWarmUp.pendingLoadCount()).isZero();
+    verify(signerProvider, never()).pinSigner(any(), any());
+  }
+
+  @Test
+  void signerUsedWithinLeadTimeIsPinnedAtOnce() {
+    final Instant expectedUse = NOW.plus(Duration.ofMinutes(1));
+
+    assertThat(signerWarmUp.warmUp("0xab", expectedUse)).isTrue();
+
+    verify(signerProvider, timeout(5000)).pinSigner("ab", expectedUse.plus(DUTY_WINDOW));
+  }
+
+  @Test
+  void repeatedRequestsForKeyShareOnePendingLoad() {
+    assertThat(signerWarmUp.warmUp("0xab", NOW.plus(MAX_HORIZON))).isTrue();
+    assertThat(signerWarmUp.warmUp("0xab", NOW.plus(MAX_HORIZON).minusSeconds(1))).isTrue();
+    assertThat(signerWarmUp.warmUp("ab", NOW.plus(MAX_HORIZON))).isTrue();
+
+    assertThat(signerWarmUp.pendingLoadCount()).isEqualTo(1);
+  }
+
+  @Test
+  void earlierUseMovesPendingLoadAndKeepsLaterPin() {
+    assertThat(signerWarmUp.warmUp("0xab", NOW.plus(MAX_HORIZON))).isTrue();
+    assertThat(signerWarmUp.warmUp("0xab", NOW.plus(Duration.ofMinutes(1)))).isTrue();
+
+    verify(signerProvider, timeout(5000))
+        .pinSigner("ab", NOW.plus(MAX_HORIZON).plus(DUTY_WINDOW));
+  }
+
+  @Test
+  void pendingLoadsAreLimitedToPinnedSignerLimit() {
+    assertThat(signerWarmUp.warmUp("0x01", NOW.plus(MAX_HORIZON))).isTrue();
+    assertThat(signerWarmUp.warmUp("0x02", NOW.plus(MAX_HORIZON))).isTrue();
+
+    assertThat(signerWarmUp.warmUp("0x03", NOW.plus(MAX_HORIZON))).isFalse();
+    assertThat(signerWarmUp.pendingLoadCount()).isEqualTo(MAX_PINNED_SIGNERS);
+  }
+}
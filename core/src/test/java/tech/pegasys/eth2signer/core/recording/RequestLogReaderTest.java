@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.recording;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import io.vertx.core.http.HttpMethod;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RequestLogReaderTest {
+
+  private static final String PUBLIC_KEY =
+      "0x989d34725a2bfc3f15105f3f5fc8741f436c25ee1ee4f948e425d6bc"
+          + "b8c56bce6e06c269635b7e985a7ffa639e2409bf";
+
+  private final RequestRecord signRecord =
+      new RequestRecord(
+          1_000L,
+          HttpMethod.POST,
+          "/signer/sign/{publicKey}",
+          PUBLIC_KEY,
+          200,
+          78,
+          1_500_000L,
+          Optional.of(Bytes.fromHexString("0x7b7d")));
+  private final RequestRecord upcheckRecord =
+      new RequestRecord(1_010L, HttpMethod.GET, "/upcheck", "", 200, 0, 250_000L, Optional.empty());
+
+  @TempDir Path tempDir;
+
+  @Test
+  void recordsAreReadInOrderWritten() throws IOException {
+    final Path logFile = writeLog(signRecord, upcheckRecord);
+
+    final List<RequestRecord> records = RequestLogReader.readAll(logFile);
+
+    assertThat(records).hasSize(2);
+    assertThat(records.get(0)).usingRecursiveComparison().isEqualTo(signRecord);
+    assertThat(records.get(1)).usingRecursiveComparison().isEqualTo(upcheckRecord);
+  }
+
+  @Test
+  void truncatedRecordEndsLog() throws IOException {
+    final Path logFile = writeLog(signRecord, upcheckRecord);
+    final byte[] bytes = Files.readAllBytes(logFile);
+    Files.write(logFile, Arrays.copyOf(bytes, bytes.length - 3));
+
+    final List<RequestRecord> records = RequestLogReader.readAll(logFile);
+
+    assertThat(records).hasSize(1);
+    assertThat(records.get(0)).usingRecursiveComparison().isEqualTo(signRecord);
+  }
+
+  @Test
+  void fileWithoutHeaderIsRejected() throws IOException {
+    final Path logFile = tempDir.resolve("requests.bin");
+    Files.write(logFile, new byte[] {1, 2, 3, 4, 5, 6});
+
+    assertThatThrownBy(() -> RequestLogReader.readAll(logFile))
+        .isInstanceOf(IOException.class)
+        .hasMessage("Not a request log");
+  }
+
+  private Path writeLog(final RequestRecord... records) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final DataOutputStream out = new DataOutputStream(bytes)) {
+      RequestLogFormat.writeHeader(out);
+      for (final RequestRecord record : records) {
+        RequestLogFormat.writeRecord(out, record);
+      }
+    }
+    return Files.write(tempDir.resolve("requests.bin"), bytes.toByteArray());
+  }
+}
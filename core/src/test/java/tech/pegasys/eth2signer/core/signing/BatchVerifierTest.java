@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.signing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.bls.BLSSignature;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class BatchVerifierTest {
+
+  private static final int ENTRY_COUNT = 10;
+
+  private final BatchVerifier batchVerifier = new BatchVerifier();
+
+  @Test
+  void validSignaturesAreVerified() {
+    final List<BatchVerifier.Entry> entries = validEntries();
+
+    assertThat(batchVerifier.verify(entries)).hasSize(ENTRY_COUNT).containsOnly(true);
+  }
+
+  @Test
+  void emptyBatchIsVerified() {
+    assertThat(batchVerifier.verify(Collections.emptyList())).isEmpty();
+  }
+
+  @Test
+  void invalidSignaturesAreIdentified() {
+    final List<BatchVerifier.Entry> entries = validEntries();
+    entries.set(2, entry(2, message(2), message(3)));
+    entries.set(7, entry(7, message(7), message(7), BLSKeyPair.random(ENTRY_COUNT)));
+
+    final List<Boolean> valid = batchVerifier.verify(entries);
+
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      assertThat(valid.get(i)).as("entry %d", i).isEqualTo(i != 2 && i != 7);
+    }
+  }
+
+  @Test
+  void allInvalidSignaturesAreIdentified() {
+    final List<BatchVerifier.Entry> entries = new ArrayList<>();
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      entries.add(entry(i, message(i), message(i + 1)));
+    }
+
+    assertThat(batchVerifier.verify(entries)).hasSize(ENTRY_COUNT).containsOnly(false);
+  }
+
+  private List<BatchVerifier.Entry> validEntries() {
+    final List<BatchVerifier.Entry> entries = new ArrayList<>();
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      entries.add(entry(i, message(i), message(i)));
+    }
+    return entries;
+  }
+
+  private BatchVerifier.Entry entry(final int seed, final Bytes message, final Bytes signed) {
+    return entry(seed, message, signed, BLSKeyPair.random(seed));
+  }
+
+  private BatchVerifier.Entry entry(
+      final int seed, final Bytes message, final Bytes signed, final BLSKeyPair signingKey) {
+    final BLSSignature signature = BLS.sign(signingKey.getSecretKey(), signed);
+    return new BatchVerifier.Entry(BLSKeyPair.random(seed).getPublicKey(), message, signature);
+  }
+
+  private Bytes message(final int index) {
+    return Bytes.of(index);
+  }
+}
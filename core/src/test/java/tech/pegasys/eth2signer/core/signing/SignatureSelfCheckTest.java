@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.signing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSKeyPair;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SignatureSelfCheckTest {
+
+  private static final Bytes MESSAGE = Bytes.of(1, 2, 3);
+  private static final BLSKeyPair KEY_PAIR = BLSKeyPair.random(1);
+
+  private final SignatureSelfCheck selfCheck =
+      new SignatureSelfCheck(Duration.ofMillis(5), 2, new NoOpMetricsSystem());
+
+  @AfterEach
+  void tearDown() {
+    selfCheck.close();
+  }
+
+  @Test
+  void validSignaturesAreReleased() throws Exception {
+    selfCheck.start();
+
+    final CompletableFuture<Void> first = verify(MESSAGE, MESSAGE);
+    final CompletableFuture<Void> second = verify(Bytes.of(4), Bytes.of(4));
+
+    first.get(5, TimeUnit.SECONDS);
+    second.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void invalidSignatureIsWithheldWithoutFailingItsBatch() throws Exception {
+    selfCheck.start();
+
+    final CompletableFuture<Void> valid = verify(MESSAGE, MESSAGE);
+    final CompletableFuture<Void> invalid = verify(MESSAGE, Bytes.of(4));
+
+    valid.get(5, TimeUnit.SECONDS);
+    assertThatThrownBy(() -> invalid.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void batchIsShardedAcrossVerifiers() throws Exception {
+    selfCheck.start();
+
+    final List<CompletableFuture<Void>> valid = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      valid.add(verify(Bytes.of(i), Bytes.of(i)));
+    }
+    final CompletableFuture<Void> invalid = verify(MESSAGE, Bytes.of(4));
+
+    CompletableFuture.allOf(valid.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+    assertThatThrownBy(() -> invalid.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void signaturesQueuedOnceClosedAreRejected() {
+    selfCheck.start();
+    selfCheck.close();
+
+    assertThat(verify(MESSAGE, MESSAGE)).isCompletedExceptionally();
+  }
+
+  private CompletableFuture<Void> verify(final Bytes message, final Bytes signed) {
+    return selfCheck.verify(
+        KEY_PAIR.getPublicKey(),
+        ArtifactSigner.hashMessage(message),
+        BLS.sign(KEY_PAIR.getSecretKey(), signed));
+  }
+}
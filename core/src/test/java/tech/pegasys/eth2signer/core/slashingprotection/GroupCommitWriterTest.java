@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.slashingprotection;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GroupCommitWriterTest {
+
+  private static final Bytes PUBLIC_KEY = Bytes.wrap(new byte[48]);
+
+  @TempDir Path directory;
+
+  @Test
+  void groupIsCommittedOnceWindowHasPassed() throws Exception {
+    final GroupCommitWriter writer = createWriter(Duration.ofMillis(200), 16);
+
+    final CompletableFuture<Void> first = writer.append(record(1));
+    final CompletableFuture<Void> second = writer.append(record(2));
+    Thread.sleep(50);
+    assertThat(first).isNotDone();
+    assertThat(second).isNotDone();
+
+    first.get(5, TimeUnit.SECONDS);
+    assertThat(second).isCompleted();
+    writer.close();
+    assertThat(Files.size(logFile())).isEqualTo(2L * SlashingProtectionRecord.SIZE);
+  }
+
+  @Test
+  void fullGroupIsCommittedWithoutWaitingForWindow() throws Exception {
+    final GroupCommitWriter writer = createWriter(Duration.ofHours(1), 2);
+
+    final CompletableFuture<Void> first = writer.append(record(1));
+    final CompletableFuture<Void> second = writer.append(record(2));
+
+    CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+    writer.close();
+  }
+
+  @Test
+  void outstandingRecordsAreCommittedOnClose() throws Exception {
+    final GroupCommitWriter writer = createWriter(Duration.ofHours(1), 16);
+
+    final CompletableFuture<Void> pending = writer.append(record(1));
+    writer.close();
+
+    assertThat(pending).isCompleted();
+    assertThat(Files.size(logFile())).isEqualTo(SlashingProtectionRecord.SIZE);
+    assertThat(writer.append(record(2))).isCompletedExceptionally();
+  }
+
+  @Test
+  void failedCommitTruncatesTornWriteAndFailsLaterAppends() throws Exception {
+    final FileChannel channel = mock(FileChannel.class);
+    when(channel.position()).thenReturn(2L * SlashingProtectionRecord.SIZE);
+    when(channel.write(any(ByteBuffer.class)))
+        .thenAnswer(
+            invocation -> {
+              // a partial write, leaving a torn record in the file
+              final ByteBuffer buffer = invocation.getArgument(0);
+              buffer.position(buffer.position() + 10);
+              return 10;
+            });
+    doThrow(new IOException("fsync failed")).when(channel).force(false);
+    final GroupCommitWriter writer =
+        new GroupCommitWriter(logFile(), channel, Duration.ZERO, 1, new NoOpMetricsSystem());
+    writer.start();
+
+    final CompletableFuture<Void> failed = writer.append(record(1));
+
+    assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IOException.class);
+    verify(channel).truncate(2L * SlashingProtectionRecord.SIZE);
+    assertThat(writer.append(record(2))).isCompletedExceptionally();
+  }
+
+  private GroupCommitWriter createWriter(final Duration window, final int maxBatchSize)
+      throws IOException {
+    final GroupCommitWriter writer =
+        new GroupCommitWriter(
+            logFile(),
+            FileChannel.open(logFile(), CREATE, WRITE),
+            window,
+            maxBatchSize,
+            new NoOpMetricsSystem());
+    writer.start();
+    return writer;
+  }
+
+  private SlashingProtectionRecord record(final long slot) {
+    return SlashingProtectionRecord.block(PUBLIC_KEY, slot, Bytes32.ZERO);
+  }
+
+  private Path logFile() {
+    return directory.resolve("log");
+  }
+}
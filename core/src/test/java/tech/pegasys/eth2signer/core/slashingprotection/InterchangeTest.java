@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.slashingprotection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InterchangeTest {
+
+  private static final Bytes32 GENESIS_VALIDATORS_ROOT =
+      Bytes32.fromHexString("0x04700007fabc8282644aed6d1c7c9e21d38a03a0c4ba193f3afe428824b3a673");
+  private static final Bytes PUBLIC_KEY = Bytes.wrap(new byte[48]).not();
+  private static final Bytes OTHER_PUBLIC_KEY = Bytes.wrap(new byte[48]);
+  private static final Bytes32 ROOT = Bytes32.fromHexString("0x01");
+  private static final Bytes32 OTHER_ROOT = Bytes32.fromHexString("0x02");
+
+  @TempDir Path dataPath;
+  private SlashingProtection slashingProtection;
+
+  @BeforeEach
+  void setup() {
+    slashingProtection = load(dataPath);
+  }
+
+  @AfterEach
+  void teardown() {
+    slashingProtection.close();
+  }
+
+  @Test
+  void historyIsReducedToWatermarks() throws IOException {
+    final JsonObject validator =
+        new JsonObject()
+            .put("pubkey", PUBLIC_KEY.toHexString())
+            .put("signed_blocks", new JsonArray().add(block("5")).add(block("9")).add(block("7")))
+            .put(
+                "signed_attestations",
+                new JsonArray().add(attestation("2", "3")).add(attestation("4", "6")));
+
+    assertThat(importFrom(interchange(new JsonArray().add(validator)))).isEqualTo(1);
+
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 9, ROOT)).isFalse();
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, ROOT)).isTrue();
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 3, 7, ROOT)).isFalse();
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 4, 6, ROOT)).isFalse();
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 4, 7, ROOT)).isTrue();
+    assertThat(slashingProtection.maySignBlock(OTHER_PUBLIC_KEY, 1, ROOT)).isTrue();
+  }
+
+  @Test
+  void importOnlyRaisesExistingWatermarks() throws IOException {
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 20, ROOT)).isTrue();
+    final JsonObject validator =
+        new JsonObject()
+            .put("pubkey", PUBLIC_KEY.toHexString())
+            .put("signed_blocks", new JsonArray().add(block("10")));
+
+    importFrom(interchange(new JsonArray().add(validator)));
+
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 15, OTHER_ROOT)).isFalse();
+  }
+
+  @Test
+  void exportedHistoryIsImportedByAnotherSigner() throws IOException {
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, ROOT)).isTrue();
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 3, 4, ROOT)).isTrue();
+    assertThat(slashingProtection.maySignAttestation(OTHER_PUBLIC_KEY, 5, 6, ROOT)).isTrue();
+
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final InterchangeExporter exporter = new InterchangeExporter(slashingProtection);
+    assertThat(exporter.exportTo(output, GENESIS_VALIDATORS_ROOT)).isEqualTo(2);
+
+    final Path otherDataPath = Files.createDirectory(dataPath.resolve("other"));
+    final SlashingProtection other = load(otherDataPath);
+    try {
+      new InterchangeImporter(other, Optional.of(GENESIS_VALIDATORS_ROOT), 2)
+          .importFrom(new ByteArrayInputStream(output.toByteArray()));
+
+      assertThat(other.maySignBlock(PUBLIC_KEY, 10, OTHER_ROOT)).isFalse();
+      assertThat(other.maySignBlock(PUBLIC_KEY, 10, ROOT)).isTrue();
+      assertThat(other.maySignAttestation(PUBLIC_KEY, 3, 4, OTHER_ROOT)).isFalse();
+      assertThat(other.maySignAttestation(OTHER_PUBLIC_KEY, 5, 6, OTHER_ROOT)).isFalse();
+      assertThat(other.maySignAttestation(OTHER_PUBLIC_KEY, 6, 7, OTHER_ROOT)).isTrue();
+    } finally {
+      other.close();
+    }
+  }
+
+  @Test
+  void mismatchedGenesisValidatorsRootIsRejected() {
+    final String file = interchange(new JsonArray());
+
+    assertThatThrownBy(
+            () ->
+                new InterchangeImporter(slashingProtection, Optional.of(Bytes32.ZERO), 2)
+                    .importFrom(new ByteArrayInputStream(file.getBytes(UTF_8))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Genesis validators root");
+  }
+
+  @Test
+  void unsupportedVersionIsRejected() {
+    final JsonObject file =
+        new JsonObject()
+            .put(
+                "metadata",
+                new JsonObject()
+                    .put("interchange_format_version", "4")
+                    .put("genesis_validators_root", GENESIS_VALIDATORS_ROOT.toHexString()))
+            .put("data", new JsonArray());
+
+    assertThatThrownBy(() -> importFrom(file.encode()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("version");
+  }
+
+  @Test
+  void dataBeforeMetadataIsRejected() {
+    final String file =
+        "{\"data\": [], \"metadata\": {\"interchange_format_version\": \"5\", "
+            + "\"genesis_validators_root\": \""
+            + GENESIS_VALIDATORS_ROOT.toHexString()
+            + "\"}}";
+
+    assertThatThrownBy(() -> importFrom(file)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void attestationWithSourceAfterTargetIsRejected() {
+    final JsonObject validator =
+        new JsonObject()
+            .put("pubkey", PUBLIC_KEY.toHexString())
+            .put("signed_attestations", new JsonArray().add(attestation("5", "4")));
+
+    assertThatThrownBy(() -> importFrom(interchange(new JsonArray().add(validator))))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private int importFrom(final String file) throws IOException {
+    return new InterchangeImporter(slashingProtection, Optional.empty(), 2)
+        .importFrom(new ByteArrayInputStream(file.getBytes(UTF_8)));
+  }
+
+  private static String interchange(final JsonArray data) {
+    return new JsonObject()
+        .put(
+            "metadata",
+            new JsonObject()
+                .put("interchange_format_version", "5")
+                .put("genesis_validators_root", GENESIS_VALIDATORS_ROOT.toHexString()))
+        .put("data", data)
+        .encode();
+  }
+
+  private static JsonObject block(final String slot) {
+    return new JsonObject().put("slot", slot);
+  }
+
+  private static JsonObject attestation(final String sourceEpoch, final String targetEpoch) {
+    return new JsonObject().put("source_epoch", sourceEpoch).put("target_epoch", targetEpoch);
+  }
+
+  private static SlashingProtection load(final Path path) {
+    return SlashingProtection.load(path, Duration.ZERO, 16, new NoOpMetricsSystem());
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.slashingprotection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.eth2signer.core.InitializationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SlashingProtectionTest {
+
+  private static final Bytes PUBLIC_KEY = Bytes.wrap(new byte[48]).not();
+  private static final Bytes OTHER_PUBLIC_KEY = Bytes.wrap(new byte[48]);
+  private static final Bytes32 ROOT = Bytes32.fromHexString("0x01");
+  private static final Bytes32 OTHER_ROOT = Bytes32.fromHexString("0x02");
+
+  @TempDir Path dataPath;
+  private SlashingProtection slashingProtection;
+
+  @BeforeEach
+  void setup() {
+    slashingProtection = load();
+  }
+
+  @AfterEach
+  void teardown() {
+    slashingProtection.close();
+  }
+
+  @Test
+  void blockMayOnlyBeSignedAboveHighestSignedSlot() {
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, ROOT)).isTrue();
+
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 9, OTHER_ROOT)).isFalse();
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, OTHER_ROOT)).isFalse();
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 11, OTHER_ROOT)).isTrue();
+  }
+
+  @Test
+  void identicalBlockMayBeSignedAgain() {
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, ROOT)).isTrue();
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, ROOT)).isTrue();
+  }
+
+  @Test
+  void doubleVoteIsRefused() {
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 1, 2, ROOT)).isTrue();
+
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 1, 2, OTHER_ROOT)).isFalse();
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 1, 2, ROOT)).isTrue();
+  }
+
+  @Test
+  void surroundingAndSurroundedVotesAreRefused() {
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 3, 4, ROOT)).isTrue();
+
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 2, 5, OTHER_ROOT)).isFalse();
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 3, 3, OTHER_ROOT)).isFalse();
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 4, 5, OTHER_ROOT)).isTrue();
+  }
+
+  @Test
+  void sourceAfterTargetIsRefused() {
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 5, 4, ROOT)).isFalse();
+  }
+
+  @Test
+  void validatorsAreProtectedIndependently() {
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, ROOT)).isTrue();
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 3, 4, ROOT)).isTrue();
+
+    assertThat(slashingProtection.maySignBlock(OTHER_PUBLIC_KEY, 1, OTHER_ROOT)).isTrue();
+    assertThat(slashingProtection.maySignAttestation(OTHER_PUBLIC_KEY, 0, 1, OTHER_ROOT)).isTrue();
+  }
+
+  @Test
+  void slotsAndEpochsAreComparedUnsigned() {
+    final long largeSlot = Long.parseUnsignedLong("18446744073709551614");
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, largeSlot, ROOT)).isTrue();
+
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 1, OTHER_ROOT)).isFalse();
+  }
+
+  @Test
+  void watermarksSurviveRestart() {
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, ROOT)).isTrue();
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 3, 4, ROOT)).isTrue();
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 4, 5, ROOT)).isTrue();
+    restart();
+
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, OTHER_ROOT)).isFalse();
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, ROOT)).isTrue();
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 3, 6, OTHER_ROOT)).isFalse();
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 4, 5, ROOT)).isTrue();
+    assertThat(slashingProtection.maySignAttestation(PUBLIC_KEY, 5, 6, OTHER_ROOT)).isTrue();
+  }
+
+  @Test
+  void logIsCompactedOnRestart() throws IOException {
+    for (int slot = 1; slot <= 100; slot++) {
+      assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, slot, ROOT)).isTrue();
+    }
+    restart();
+
+    assertThat(Files.size(logFile())).isEqualTo(SlashingProtectionRecord.SIZE);
+  }
+
+  @Test
+  void incompleteRecordAtEndOfLogIsDiscarded() throws IOException {
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, ROOT)).isTrue();
+    slashingProtection.close();
+    Files.write(logFile(), new byte[SlashingProtectionRecord.SIZE - 1], StandardOpenOption.APPEND);
+    slashingProtection = load();
+
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, OTHER_ROOT)).isFalse();
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 11, OTHER_ROOT)).isTrue();
+  }
+
+  @Test
+  void corruptRecordAtEndOfLogIsDiscarded() throws IOException {
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, ROOT)).isTrue();
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 11, ROOT)).isTrue();
+    slashingProtection.close();
+    corruptRecord(1);
+    slashingProtection = load();
+
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, OTHER_ROOT)).isFalse();
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 11, OTHER_ROOT)).isTrue();
+  }
+
+  @Test
+  void corruptRecordInMiddleOfLogStopsStartup() throws IOException {
+    for (int slot = 10; slot <= 12; slot++) {
+      assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, slot, ROOT)).isTrue();
+    }
+    slashingProtection.close();
+    corruptRecord(1);
+    final byte[] corruptLog = Files.readAllBytes(logFile());
+
+    assertThatThrownBy(this::load)
+        .isInstanceOf(InitializationException.class)
+        .hasMessageContaining("Corrupt slashing protection record");
+    assertThatThrownBy(() -> SlashingProtection.loadReadOnly(dataPath, new NoOpMetricsSystem()))
+        .isInstanceOf(InitializationException.class)
+        .hasMessageContaining("Corrupt slashing protection record");
+    assertThat(Files.readAllBytes(logFile())).isEqualTo(corruptLog);
+
+    // the data path is not left locked, so the signer starts once the log is repaired
+    Files.write(logFile(), Arrays.copyOf(corruptLog, SlashingProtectionRecord.SIZE));
+    slashingProtection = load();
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, OTHER_ROOT)).isFalse();
+  }
+
+  @Test
+  void dataPathInUseIsRejected() {
+    assertThatThrownBy(this::load)
+        .isInstanceOf(InitializationException.class)
+        .hasMessageContaining("in use by another process");
+    assertThatThrownBy(() -> SlashingProtection.loadReadOnly(dataPath, new NoOpMetricsSystem()))
+        .isInstanceOf(InitializationException.class);
+
+    restart();
+    assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, 10, ROOT)).isTrue();
+  }
+
+  @Test
+  void readOnlyLoadLeavesLogInPlace() throws IOException {
+    for (int slot = 1; slot <= 3; slot++) {
+      assertThat(slashingProtection.maySignBlock(PUBLIC_KEY, slot, ROOT)).isTrue();
+    }
+    slashingProtection.close();
+
+    slashingProtection = SlashingProtection.loadReadOnly(dataPath, new NoOpMetricsSystem());
+
+    assertThat(Files.size(logFile())).isEqualTo(3L * SlashingProtectionRecord.SIZE);
+    assertThat(slashingProtection.getWatermarks()).containsOnlyKeys(PUBLIC_KEY);
+    assertThatThrownBy(() -> slashingProtection.maySignBlock(PUBLIC_KEY, 4, ROOT))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private void restart() {
+    slashingProtection.close();
+    slashingProtection = load();
+  }
+
+  private SlashingProtection load() {
+    return SlashingProtection.load(dataPath, Duration.ZERO, 16, new NoOpMetricsSystem());
+  }
+
+  private void corruptRecord(final int index) throws IOException {
+    final byte[] log = Files.readAllBytes(logFile());
+    log[index * SlashingProtectionRecord.SIZE + 1] ^= 0xff;
+    Files.write(logFile(), log);
+  }
+
+  private Path logFile() {
+    return dataPath.resolve(SlashingProtection.LOG_FILE_NAME);
+  }
+}
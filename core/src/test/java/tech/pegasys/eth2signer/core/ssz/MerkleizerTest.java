@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.ssz;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+class MerkleizerTest {
+
+  @Test
+  void zeroHashIsHashOfZeroChunks() {
+    assertThat(Merkleizer.zeroHash(0)).isEqualTo(Bytes32.ZERO);
+    assertThat(Merkleizer.zeroHash(1))
+        .isEqualTo(
+            Bytes32.fromHexString(
+                "0xf5a5fd42d16a20302798ef6ed309979b43003d2320d9f0e8ea9831a92759fb4b"));
+  }
+
+  @Test
+  void chunksArePaddedToNextPowerOfTwo() {
+    final Bytes32 root = Merkleizer.merkleize(List.of(chunk(1), chunk(2), chunk(3)));
+
+    assertThat(root)
+        .isEqualTo(
+            Merkleizer.hash(
+                Merkleizer.hash(chunk(1), chunk(2)), Merkleizer.hash(chunk(3), Bytes32.ZERO)));
+    assertThat(root)
+        .isEqualTo(
+            Bytes32.fromHexString(
+                "0xd6cfa0d1046a0f4c1f9a6dc57afb0f4577680c106a48cf04125e7ba8606da219"));
+  }
+
+  @Test
+  void chunksArePaddedToLimit() {
+    assertThat(Merkleizer.merkleize(List.of(chunk(1)), 5))
+        .isEqualTo(
+            Bytes32.fromHexString(
+                "0x1816c247cd225822fc9794454debb9f0d557c0ca1207b1319fdf70fd2312c134"));
+    assertThat(Merkleizer.merkleize(List.of(), 4)).isEqualTo(Merkleizer.zeroHash(2));
+  }
+
+  @Test
+  void chunksExceedingLimitAreRejected() {
+    assertThatThrownBy(() -> Merkleizer.merkleize(List.of(chunk(1), chunk(2)), 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void uint64IsLittleEndian() {
+    assertThat(Merkleizer.uint64(0x0102))
+        .isEqualTo(Bytes32.rightPad(Bytes.fromHexString("0x0201")));
+  }
+
+  @Test
+  void byteVectorsLongerThanAChunkAreMerkleized() {
+    final Bytes signature = Bytes.wrap(filled(0xaa, 96));
+
+    assertThat(Merkleizer.byteVector(signature))
+        .isEqualTo(
+            Bytes32.fromHexString(
+                "0x31e174b330d124df75b7fbe184191693a4c9820e5f82bcaa41f6f22bd3f2fb68"));
+  }
+
+  @Test
+  void emptyBitlistIsZeroTreeMixedWithZeroLength() {
+    assertThat(Merkleizer.bitlist(Bytes.of(1), 2048))
+        .isEqualTo(
+            Bytes32.fromHexString(
+                "0xe8e527e84f666163a90ef900e013f56b0a4d020148b2224057b719f351b003a6"));
+  }
+
+  @Test
+  void bitlistWithoutDelimiterIsRejected() {
+    assertThatThrownBy(() -> Merkleizer.bitlist(Bytes.of(1, 0), 2048))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void bitlistLongerThanLimitIsRejected() {
+    assertThatThrownBy(() -> Merkleizer.bitlist(Bytes.of(0xff, 0x01), 4))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Bytes32 chunk(final int value) {
+    return Bytes32.wrap(filled(value, 32));
+  }
+
+  private static byte[] filled(final int value, final int size) {
+    final byte[] bytes = new byte[size];
+    Arrays.fill(bytes, (byte) value);
+    return bytes;
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.eth2signer.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class MicroBatchQueueTest {
+
+  private final BlockingQueue<List<Integer>> batches = new LinkedBlockingQueue<>();
+
+  @Test
+  void itemsWithinWindowAreBatchedTogether() throws Exception {
+    final MicroBatchQueue<Integer> queue = createQueue(Duration.ofMillis(200), 16);
+
+    queue.add(1);
+    queue.add(2);
+    queue.add(3);
+
+    assertThat(batches.poll(5, TimeUnit.SECONDS)).containsExactly(1, 2, 3);
+    assertThat(queue.getLastBatchSize()).isEqualTo(3);
+    queue.close();
+  }
+
+  @Test
+  void fullBatchIsProcessedWithoutWaitingForWindow() throws Exception {
+    final MicroBatchQueue<Integer> queue = createQueue(Duration.ofHours(1), 2);
+
+    queue.add(1);
+    queue.add(2);
+
+    assertThat(batches.poll(5, TimeUnit.SECONDS)).containsExactly(1, 2);
+    queue.close();
+  }
+
+  @Test
+  void queuedItemsAreProcessedOnCloseAndLaterItemsRefused() {
+    final MicroBatchQueue<Integer> queue = createQueue(Duration.ofHours(1), 16);
+
+    queue.add(1);
+    assertThat(queue.close()).isEmpty();
+
+    assertThat(batches).containsExactly(List.of(1));
+    assertThat(queue.add(2)).isFalse();
+  }
+
+  @Test
+  void everyItemAddedConcurrentlyWithCloseIsProcessedOrReturned() throws Exception {
+    final MicroBatchQueue<Integer> queue = createQueue(Duration.ZERO, 16);
+    final Queue<Integer> accepted = new ConcurrentLinkedQueue<>();
+    final AtomicInteger nextItem = new AtomicInteger();
+    final List<Thread> adders = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      final Thread adder =
+          new Thread(
+              () -> {
+                int item = nextItem.getAndIncrement();
+                while (queue.add(item)) {
+                  accepted.add(item);
+                  item = nextItem.getAndIncrement();
+                }
+              });
+      adder.start();
+      adders.add(adder);
+    }
+    while (nextItem.get() < 10_000) {
+      Thread.onSpinWait();
+    }
+
+    final List<Integer> returned = queue.close();
+    for (final Thread adder : adders) {
+      adder.join();
+    }
+
+    final List<Integer> processed = new ArrayList<>(returned);
+    batches.forEach(processed::addAll);
+    assertThat(processed).containsExactlyInAnyOrderElementsOf(accepted);
+  }
+
+  private MicroBatchQueue<Integer> createQueue(final Duration window, final int maxBatchSize) {
+    final MicroBatchQueue<Integer> queue =
+        new MicroBatchQueue<>("test-batcher", maxBatchSize, window::toNanos, batches::add);
+    queue.start();
+    return queue;
+  }
+}